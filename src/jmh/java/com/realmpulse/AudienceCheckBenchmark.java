@@ -0,0 +1,132 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * "Seen by the current audience" check for one outgoing ghost line: the shared AudienceHistory
+ * index against the old scan over each online player's own tail of seen lines. The old scan is
+ * modelled with precomputed fingerprints, so it is, if anything, faster here than it was.
+ * Run with: mvn -Pjmh compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AudienceCheckBenchmark {
+
+    private static final int WINDOW = 120;
+    private static final int TAIL_SCAN = 24;
+    private static final String[] WORDS = {
+        "anyone", "farm", "iron", "nether", "portal", "trade", "villager", "base", "route", "boss",
+        "diamond", "gear", "need", "help", "later", "tonight", "spawn", "raid", "loot", "build",
+        "\u88c5\u5907", "\u526f\u672c", "\u8def\u7ebf", "\u6750\u6599", "\u519c\u573a"
+    };
+
+    @Param({"50", "500"})
+    public int players;
+
+    @Param({"0.82", "0.55"})
+    public double threshold;
+
+    private AudienceHistory history;
+    private List<LinkedList<SimilarityFingerprint>> perPlayerSeen;
+    private SimilarityFingerprint[] candidates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        List<UUID> online = new ArrayList<>(players);
+        perPlayerSeen = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            online.add(new UUID(0L, i));
+            perPlayerSeen.add(new LinkedList<>());
+        }
+        history = new AudienceHistory(online);
+        List<String> broadcast = new ArrayList<>();
+        for (int i = 0; i < WINDOW * 2; i++) {
+            String line = sentence(random);
+            broadcast.add(line);
+            SimilarityFingerprint fingerprint = SimilarityFingerprint.of(line);
+            history.remember(fingerprint, WINDOW);
+            for (LinkedList<SimilarityFingerprint> seen : perPlayerSeen) {
+                seen.addLast(fingerprint);
+                if (seen.size() > WINDOW) {
+                    seen.removeFirst();
+                }
+            }
+        }
+        // Half near repeats of recent lines, half fresh lines
+        candidates = new SimilarityFingerprint[256];
+        for (int i = 0; i < candidates.length; i++) {
+            String line = i % 2 == 0
+                ? mutate(random, broadcast.get(broadcast.size() - 1 - random.nextInt(TAIL_SCAN)))
+                : sentence(random);
+            candidates[i] = SimilarityFingerprint.of(line);
+        }
+    }
+
+    @Benchmark
+    public boolean indexed() {
+        return history.isSeenByOnlineAudience(nextCandidate(), threshold, TAIL_SCAN);
+    }
+
+    @Benchmark
+    public boolean perPlayerScan() {
+        SimilarityFingerprint candidate = nextCandidate();
+        for (LinkedList<SimilarityFingerprint> seen : perPlayerSeen) {
+            int scanned = 0;
+            Iterator<SimilarityFingerprint> descending = seen.descendingIterator();
+            while (descending.hasNext() && scanned < TAIL_SCAN) {
+                scanned++;
+                if (candidate.isSimilar(descending.next(), threshold)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private SimilarityFingerprint nextCandidate() {
+        SimilarityFingerprint candidate = candidates[next];
+        next = (next + 1) % candidates.length;
+        return candidate;
+    }
+
+    private static String sentence(Random random) {
+        StringBuilder text = new StringBuilder();
+        int words = 4 + random.nextInt(5);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String mutate(Random random, String line) {
+        String[] words = line.split(" ");
+        words[random.nextInt(words.length)] = WORDS[random.nextInt(WORDS.length)];
+        return String.join(" ", words);
+    }
+}
@@ -50,6 +50,7 @@ public class AdminMessageService {
         send(sender, "&7/rp scene auto <on|off|status> &8- &b" + localize("自动场景开关", "Auto scene switch"));
         send(sender, "&7/rp advancement <status|trigger> &8- &b" + localize("成就模拟器管理", "Advancement simulator"));
         send(sender, "&7/rp learn status|flush &8- &b" + localize("学习队列管理", "Learning controls"));
+        send(sender, "&7/rp perf &8- &b" + localize("查看性能指标", "Performance metrics"));
         send(sender, "&7/rp reload &8- &b" + localize("重载配置", "Reload config"));
     }
 
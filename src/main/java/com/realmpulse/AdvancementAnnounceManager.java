@@ -84,11 +84,12 @@ public class AdvancementAnnounceManager {
         this.plugin = plugin;
         this.configService = configService;
         this.deathManager = deathManager;
-        this.progressStore = new AdvancementProgressStore(plugin);
+        this.progressStore = new AdvancementProgressStore(plugin, plugin.getPersistenceService(), plugin.getSettings());
     }
 
     public void start() {
         stop();
+        progressStore.reload(plugin.getSettings());
         if (!isEnabled()) {
             return;
         }
@@ -120,7 +121,7 @@ public class AdvancementAnnounceManager {
         return new AdvancementStatus(
             isEnabled(),
             collectAdvancements().size(),
-            deathManager.getAliveGhosts(new ArrayList<>(GhostManager.getOnlineGhosts())).size(),
+            GhostManager.getOnlineAliveGhosts().size(),
             progressStore.totalGhostsTracked(),
             progressStore.totalCompletions(),
             globalTriggerTimes.size()
@@ -147,7 +148,7 @@ public class AdvancementAnnounceManager {
             return new TriggerResult(false, "global-limit", "", "", "");
         }
 
-        List<GhostPlayer> candidates = deathManager.getAliveGhosts(new ArrayList<>(GhostManager.getOnlineGhosts()));
+        List<GhostPlayer> candidates = new ArrayList<>(GhostManager.getOnlineAliveGhosts());
         if (candidates.isEmpty()) {
             return new TriggerResult(false, "no-eligible-ghost", "", "", "");
         }
@@ -2,6 +2,7 @@ package com.realmpulse;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -9,7 +10,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -20,17 +20,31 @@ public class AdvancementProgressStore {
     private final File file;
     private final Map<String, Set<String>> progressByGhost = new LinkedHashMap<>();
     private final Object lock = new Object();
-    private final Object saveLock = new Object();
-    private boolean saveQueued = false;
-    private boolean dirty = false;
+    private final Object ioLock = new Object();
+    private final PersistenceService.Handle saveHandle;
+    private volatile int maxCompletionsPerGhost;
+    private volatile int maxTrackedGhosts;
 
-    public AdvancementProgressStore(JavaPlugin plugin) {
+    public AdvancementProgressStore(JavaPlugin plugin, PersistenceService persistence, RealmPulseSettings settings) {
         this.plugin = plugin;
         this.file = new File(plugin.getDataFolder(), "advancement-progress.yml");
+        this.saveHandle = persistence.register("advancement-progress.yml", this::saveNow);
+        applyLimits(settings);
         load();
         ensureFileExists();
     }
 
+    // Lowered limits apply to ghosts tracked from now on, and the tracked-ghost cap right away
+    public void reload(RealmPulseSettings settings) {
+        applyLimits(settings);
+        trimTrackedGhosts();
+    }
+
+    private void applyLimits(RealmPulseSettings settings) {
+        maxCompletionsPerGhost = Math.max(1, settings.getInt("advancement-events.max-completions-per-ghost", 300));
+        maxTrackedGhosts = Math.max(100, settings.getInt("advancement-events.progress-max-tracked-ghosts", 3000));
+    }
+
     public boolean isCompleted(UUID ghostId, String advancementKey) {
         if (ghostId == null || advancementKey == null || advancementKey.isBlank()) {
             return false;
@@ -51,13 +65,13 @@ public class AdvancementProgressStore {
         synchronized (lock) {
             Set<String> completed = progressByGhost.computeIfAbsent(id, unused -> new LinkedHashSet<>());
             changed = completed.add(advancementKey);
-            if (trimSetToMax(completed, resolveMaxCompletionsPerGhost())) {
+            if (trimSetToMax(completed, maxCompletionsPerGhost)) {
                 changed = true;
             }
         }
         if (changed) {
             trimTrackedGhosts();
-            saveAsync();
+            saveHandle.markDirty();
         }
         return changed;
     }
@@ -97,7 +111,7 @@ public class AdvancementProgressStore {
         if (root == null) {
             return;
         }
-        int maxCompletionsPerGhost = resolveMaxCompletionsPerGhost();
+        int maxCompletionsPerGhost = this.maxCompletionsPerGhost;
         synchronized (lock) {
             for (String ghostId : root.getKeys(false)) {
                 List<String> keys = root.getStringList(ghostId);
@@ -117,37 +131,18 @@ public class AdvancementProgressStore {
     }
 
     private void ensureFileExists() {
-        if (!file.exists()) {
-            saveNow();
-        }
-    }
-
-    private void saveAsync() {
-        synchronized (saveLock) {
-            dirty = true;
-            if (saveQueued) {
-                return;
-            }
-            saveQueued = true;
+        if (file.exists()) {
+            return;
         }
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::drainPendingSaves);
-    }
-
-    private void drainPendingSaves() {
-        while (true) {
-            synchronized (saveLock) {
-                if (!dirty) {
-                    saveQueued = false;
-                    return;
-                }
-                dirty = false;
-            }
-            saveNow();
+        try {
+            saveNow(true);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to create advancement-progress.yml: " + e.getMessage());
         }
     }
 
     private void trimTrackedGhosts() {
-        int maxTracked = Math.max(100, plugin.getConfig().getInt("advancement-events.progress-max-tracked-ghosts", 3000));
+        int maxTracked = maxTrackedGhosts;
         boolean removed = false;
         synchronized (lock) {
             while (progressByGhost.size() > maxTracked) {
@@ -157,14 +152,10 @@ public class AdvancementProgressStore {
             }
         }
         if (removed) {
-            saveAsync();
+            saveHandle.markDirty();
         }
     }
 
-    private int resolveMaxCompletionsPerGhost() {
-        return Math.max(1, plugin.getConfig().getInt("advancement-events.max-completions-per-ghost", 300));
-    }
-
     private boolean trimSetToMax(Set<String> values, int maxSize) {
         boolean removed = false;
         while (values.size() > maxSize) {
@@ -175,19 +166,15 @@ public class AdvancementProgressStore {
         return removed;
     }
 
-    private void saveNow() {
-        YamlConfiguration yaml = new YamlConfiguration();
-        synchronized (lock) {
-            for (Map.Entry<String, Set<String>> entry : progressByGhost.entrySet()) {
-                yaml.set("progress." + entry.getKey(), new ArrayList<>(entry.getValue()));
-            }
-        }
-        try {
-            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
-                return;
+    private long saveNow(boolean fsync) throws IOException {
+        synchronized (ioLock) {
+            YamlConfiguration yaml = new YamlConfiguration();
+            synchronized (lock) {
+                for (Map.Entry<String, Set<String>> entry : progressByGhost.entrySet()) {
+                    yaml.set("progress." + entry.getKey(), new ArrayList<>(entry.getValue()));
+                }
             }
-            yaml.save(file);
-        } catch (IOException ignored) {
+            return PersistenceService.writeAtomically(file.toPath(), yaml.saveToString().getBytes(StandardCharsets.UTF_8), fsync);
         }
     }
 }
@@ -0,0 +1,145 @@
+package com.realmpulse;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * One ring of broadcast ghost lines shared by every viewer. A player has seen every line
+ * broadcast after their join watermark, so "seen by the current audience" only needs the
+ * oldest watermark among online players, independent of how many players are online.
+ */
+public class AudienceHistory implements Listener {
+
+    private final Object lock = new Object();
+    private final NearDuplicateIndex<Long> index = new NearDuplicateIndex<>();
+    private final Map<UUID, Long> watermarks = new HashMap<>();
+    private final TreeMap<Long, Integer> onlineWatermarks = new TreeMap<>();
+    private SimilarityFingerprint[] ring = new SimilarityFingerprint[0];
+    private long[] ringSequence = new long[0];
+    private long sequence;
+
+    public AudienceHistory() {
+        this(Bukkit.getOnlinePlayers().stream().map(Player::getUniqueId).toList());
+    }
+
+    // Starts with the given players online, for use without a running server
+    AudienceHistory(Collection<UUID> onlinePlayers) {
+        for (UUID playerId : onlinePlayers) {
+            join(playerId);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        join(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        synchronized (lock) {
+            Long watermark = watermarks.remove(playerId);
+            if (watermark != null) {
+                onlineWatermarks.computeIfPresent(watermark, (ignored, count) -> count <= 1 ? null : count - 1);
+            }
+        }
+    }
+
+    private void join(UUID playerId) {
+        synchronized (lock) {
+            Long previous = watermarks.put(playerId, sequence);
+            if (previous != null) {
+                onlineWatermarks.computeIfPresent(previous, (ignored, count) -> count <= 1 ? null : count - 1);
+            }
+            onlineWatermarks.merge(sequence, 1, Integer::sum);
+        }
+    }
+
+    public void remember(SimilarityFingerprint fingerprint, int window) {
+        if (fingerprint == null || fingerprint.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            if (onlineWatermarks.isEmpty()) {
+                return;
+            }
+            ensureCapacity(window);
+            long next = ++sequence;
+            int slot = (int) (next % ring.length);
+            evict(slot);
+            ring[slot] = fingerprint;
+            ringSequence[slot] = next;
+            index.put(fingerprint, next);
+        }
+    }
+
+    public boolean isSeenByOnlineAudience(SimilarityFingerprint fingerprint, double threshold, int tailScan) {
+        if (fingerprint == null || fingerprint.isEmpty()) {
+            return false;
+        }
+        synchronized (lock) {
+            if (onlineWatermarks.isEmpty() || ring.length == 0) {
+                return false;
+            }
+            long floor = Math.max(sequence - Math.min(tailScan, ring.length), onlineWatermarks.firstKey());
+            return index.findSimilar(fingerprint, threshold, seenAt -> seenAt > floor) != null;
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return index.size();
+        }
+    }
+
+    // Caller holds lock
+    private void evict(int slot) {
+        SimilarityFingerprint old = ring[slot];
+        if (old == null) {
+            return;
+        }
+        // The same line may have been broadcast again later, the index then points at the newer slot
+        Long latest = index.get(old.key());
+        if (latest != null && latest == ringSequence[slot]) {
+            index.remove(old.key());
+        }
+        ring[slot] = null;
+    }
+
+    // Caller holds lock
+    private void ensureCapacity(int window) {
+        int capacity = Math.max(1, window);
+        if (ring.length == capacity) {
+            return;
+        }
+        SimilarityFingerprint[] oldRing = ring;
+        long[] oldSequence = ringSequence;
+        ring = new SimilarityFingerprint[capacity];
+        ringSequence = new long[capacity];
+        index.clear();
+        if (oldRing.length == 0) {
+            return;
+        }
+        long first = Math.max(1L, sequence - capacity + 1L);
+        for (long seq = first; seq <= sequence; seq++) {
+            int oldSlot = (int) (seq % oldRing.length);
+            if (oldRing[oldSlot] == null || oldSequence[oldSlot] != seq) {
+                continue;
+            }
+            int slot = (int) (seq % capacity);
+            ring[slot] = oldRing[oldSlot];
+            ringSequence[slot] = seq;
+            index.put(oldRing[oldSlot], seq);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.realmpulse;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One HTTP exchange with a chat-completion endpoint, with no Bukkit dependency. The returned reply
+ * always completes: HttpRequest.timeout only covers the wait for the response headers, so the
+ * whole exchange, body included, also runs against a deadline after which it is cancelled and
+ * reported as an empty reply. A stream additionally fails with an empty reply once no event has
+ * arrived for the stream idle timeout, since an open stream never ends on its own.
+ */
+final class ChatCompletionTransport {
+
+    private static final Gson GSON = new Gson();
+
+    // status is 0 when no response headers arrived at all
+    record Reply(int status, String text) {
+    }
+
+    private ChatCompletionTransport() {
+    }
+
+    static CompletableFuture<Reply> send(HttpClient client, HttpRequest request, boolean firstLineOnly, long deadlineMs, long streamIdleMs) {
+        // A streamed first line completes this before the response body does
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicInteger status = new AtomicInteger();
+        HttpResponse.BodyHandler<String> handler = info -> {
+            status.set(info.statusCode());
+            if (info.statusCode() < 200 || info.statusCode() >= 300) {
+                return HttpResponse.BodySubscribers.replacing("");
+            }
+            if (firstLineOnly && isEventStream(info)) {
+                SseLineSubscriber lines = new SseLineSubscriber(result, Math.max(1L, streamIdleMs));
+                return HttpResponse.BodySubscribers.fromLineSubscriber(lines, SseLineSubscriber::text, StandardCharsets.UTF_8, null);
+            }
+            return HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                body -> firstLineOnly ? firstLine(parseResponseSafely(body)) : parseResponseSafely(body)
+            );
+        };
+        CompletableFuture<HttpResponse<String>> exchange;
+        try {
+            exchange = client.sendAsync(request, handler);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(new Reply(0, ""));
+        }
+        exchange.whenComplete((response, error) -> result.complete(error == null && response.body() != null ? response.body() : ""));
+        result.completeOnTimeout("", Math.max(1L, deadlineMs), TimeUnit.MILLISECONDS);
+        return result.thenApply(text -> {
+            // Drops a stalled or no longer needed body and frees its connection
+            if (!exchange.isDone()) {
+                exchange.cancel(true);
+            }
+            return new Reply(status.get(), text);
+        });
+    }
+
+    private static boolean isEventStream(HttpResponse.ResponseInfo info) {
+        return info.headers().firstValue("Content-Type").orElse("").toLowerCase(Locale.ROOT).contains("text/event-stream");
+    }
+
+    static String firstLine(String text) {
+        if (text == null) {
+            return "";
+        }
+        for (String line : text.split("\\r?\\n")) {
+            if (!line.isBlank()) {
+                return line.trim();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Reads "data:" events of a streamed completion and appends each delta.content chunk. The first
+     * non-blank line completes the result and cancels the stream, which also stops generation;
+     * a stream that ends without a newline yields whatever text it produced. A stream that goes quiet
+     * for idleMs yields "", and the stream is cancelled whenever the result completes, deadline included.
+     */
+    private static final class SseLineSubscriber implements Flow.Subscriber<String> {
+        private final CompletableFuture<String> result;
+        private final long idleNanos;
+        private final StringBuilder pending = new StringBuilder();
+        private volatile long lastEventAt;
+        private Flow.Subscription subscription;
+        private String text = "";
+
+        private SseLineSubscriber(CompletableFuture<String> result, long idleMs) {
+            this.result = result;
+            this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            lastEventAt = System.nanoTime();
+            result.whenComplete((value, error) -> subscription.cancel());
+            scheduleIdleCheck(idleNanos);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        // One pending check at a time, re-armed for whatever is left of the idle window
+        private void scheduleIdleCheck(long delayNanos) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                long quietNanos = System.nanoTime() - lastEventAt;
+                if (quietNanos >= idleNanos) {
+                    deliver("");
+                } else {
+                    scheduleIdleCheck(idleNanos - quietNanos);
+                }
+            });
+        }
+
+        @Override
+        public void onNext(String line) {
+            lastEventAt = System.nanoTime();
+            if (result.isDone() || !line.startsWith("data:")) {
+                return;
+            }
+            String data = line.substring(5).trim();
+            if ("[DONE]".equals(data)) {
+                deliver(pending.toString().trim());
+                return;
+            }
+            pending.append(parseDelta(data));
+            int newline;
+            while ((newline = pending.indexOf("\n")) >= 0) {
+                String complete = pending.substring(0, newline).trim();
+                pending.delete(0, newline + 1);
+                if (!complete.isEmpty()) {
+                    deliver(complete);
+                    subscription.cancel();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            deliver("");
+        }
+
+        @Override
+        public void onComplete() {
+            deliver(pending.toString().trim());
+        }
+
+        private void deliver(String value) {
+            if (result.complete(value)) {
+                text = value;
+            }
+        }
+
+        private String text() {
+            return text;
+        }
+    }
+
+    private static String parseDelta(String data) {
+        try {
+            JsonObject root = GSON.fromJson(data, JsonObject.class);
+            if (root == null || !root.has("choices")) {
+                return "";
+            }
+            JsonArray choices = root.getAsJsonArray("choices");
+            if (choices == null || choices.size() == 0 || !choices.get(0).isJsonObject()) {
+                return "";
+            }
+            JsonObject choice = choices.get(0).getAsJsonObject();
+            if (!choice.has("delta") || !choice.get("delta").isJsonObject()) {
+                return "";
+            }
+            JsonElement content = choice.getAsJsonObject("delta").get("content");
+            if (content == null || !content.isJsonPrimitive()) {
+                return "";
+            }
+            return content.getAsString();
+        } catch (RuntimeException malformed) {
+            return "";
+        }
+    }
+
+    private static String parseResponseSafely(String responseBody) {
+        try {
+            return parseResponse(responseBody);
+        } catch (RuntimeException malformed) {
+            return "";
+        }
+    }
+
+    private static String parseResponse(String responseBody) {
+        JsonObject root = GSON.fromJson(responseBody, JsonObject.class);
+        if (root == null || !root.has("choices")) {
+            return "";
+        }
+        JsonArray choices = root.getAsJsonArray("choices");
+        if (choices == null || choices.size() == 0) {
+            return "";
+        }
+        JsonObject choice = choices.get(0).getAsJsonObject();
+        if (choice == null || !choice.has("message")) {
+            return "";
+        }
+        JsonObject message = choice.getAsJsonObject("message");
+        if (message == null || !message.has("content")) {
+            return "";
+        }
+        JsonElement content = message.get("content");
+        if (content == null || content.isJsonNull()) {
+            return "";
+        }
+        if (content.isJsonPrimitive()) {
+            return content.getAsString();
+        }
+        if (content.isJsonArray()) {
+            StringBuilder sb = new StringBuilder();
+            JsonArray parts = content.getAsJsonArray();
+            for (JsonElement part : parts) {
+                if (part == null || part.isJsonNull()) {
+                    continue;
+                }
+                if (part.isJsonPrimitive()) {
+                    if (sb.length() > 0) {
+                        sb.append('\n');
+                    }
+                    sb.append(part.getAsString());
+                    continue;
+                }
+                if (part.isJsonObject()) {
+                    JsonObject partObject = part.getAsJsonObject();
+                    if (partObject.has("text") && !partObject.get("text").isJsonNull()) {
+                        if (sb.length() > 0) {
+                            sb.append('\n');
+                        }
+                        sb.append(partObject.get("text").getAsString());
+                    }
+                }
+            }
+            return sb.toString();
+        }
+        return "";
+    }
+}
@@ -9,10 +9,12 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 public class ConnectionListener implements Listener {
 
     private final PacketManager packetManager;
+    private final JoinSyncQueue joinSyncQueue;
     private final RealmPulse plugin;
     private final PluginConfigService configService;
     private final DeathManager deathManager;
@@ -21,45 +23,36 @@ public class ConnectionListener implements Listener {
         RealmPulse plugin,
         PluginConfigService configService,
         PacketManager packetManager,
+        JoinSyncQueue joinSyncQueue,
         DeathManager deathManager
     ) {
         this.plugin = plugin;
         this.configService = configService;
         this.packetManager = packetManager;
+        this.joinSyncQueue = joinSyncQueue;
         this.deathManager = deathManager;
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-            packetManager.sendTabListAdd(player, ghost);
-        }
-
-        // Delay scoreboard update to ensure MNS/TAB has initialized the client's scoreboard
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-                    packetManager.sendScoreboardLevel(player, ghost);
-                }
-            }
-        }, 80L); // 4 seconds delay
+        joinSyncQueue.enqueue(player);
 
         if (player.hasPlayedBefore()) {
             return;
         }
 
-        double welcomeChance = clamp(plugin.getConfig().getDouble("events.welcome-chance", 0.6), 0.0, 1.0);
+        double welcomeChance = clamp(plugin.getSettings().getDouble("events.welcome-chance", 0.6), 0.0, 1.0);
         if (ThreadLocalRandom.current().nextDouble() > welcomeChance) {
             return;
         }
-        List<GhostPlayer> shuffled = new ArrayList<>(deathManager.getAliveGhosts(GhostManager.getOnlineGhosts()));
+        List<GhostPlayer> shuffled = new ArrayList<>(GhostManager.getOnlineAliveGhosts());
         Collections.shuffle(shuffled);
         if (shuffled.isEmpty()) {
             return;
         }
-        int minSpeakers = Math.max(1, plugin.getConfig().getInt("events.welcome-min-speakers", 1));
-        int maxSpeakers = Math.max(minSpeakers, plugin.getConfig().getInt("events.welcome-max-speakers", 2));
+        int minSpeakers = Math.max(1, plugin.getSettings().getInt("events.welcome-min-speakers", 1));
+        int maxSpeakers = Math.max(minSpeakers, plugin.getSettings().getInt("events.welcome-max-speakers", 2));
         int suggested = (int) Math.floor(shuffled.size() * welcomeChance);
         if (suggested <= 0) {
             suggested = 1;
@@ -70,7 +63,7 @@ public class ConnectionListener implements Listener {
         if (speakers <= 0) {
             return;
         }
-        List<String> welcomePhrases = plugin.getConfig().getStringList("messages.welcome-phrases");
+        List<String> welcomePhrases = plugin.getSettings().getStringList("messages.welcome-phrases");
         String format = configService.getString("chat.format", "{prefix}{name}: {message}");
         long currentDelay = 40L;
         for (int i = 0; i < speakers && i < shuffled.size(); i++) {
@@ -83,9 +76,15 @@ public class ConnectionListener implements Listener {
         }
     }
 
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        joinSyncQueue.forget(event.getPlayer().getUniqueId());
+        packetManager.forgetViewer(event.getPlayer());
+    }
+
     private String pickWelcomePhraseForGhost(List<String> phrases, GhostPlayer ghost) {
         boolean english = ghost != null && ghost.isEnglishSpeaker();
-        List<String> localized = plugin.getConfig().getStringList(english ? "messages.welcome-phrases-en" : "messages.welcome-phrases-zh");
+        List<String> localized = plugin.getSettings().getStringList(english ? "messages.welcome-phrases-en" : "messages.welcome-phrases-zh");
         if (!localized.isEmpty()) {
             return localized.get(ThreadLocalRandom.current().nextInt(localized.size()));
         }
@@ -106,9 +105,10 @@ public class ConnectionListener implements Listener {
     }
 
     private long calculateTypingDelayTicks(String text) {
-        long baseMin = plugin.getConfig().getLong("messages.typing-base-min-ticks", 15L);
-        long baseMax = Math.max(baseMin, plugin.getConfig().getLong("messages.typing-base-max-ticks", 35L));
-        long perChar = Math.max(1L, plugin.getConfig().getLong("messages.typing-per-char-ticks", 2L));
+        RealmPulseSettings.Typing typing = plugin.getSettings().typing;
+        long baseMin = typing.baseMinTicks;
+        long baseMax = typing.baseMaxTicks;
+        long perChar = typing.perCharTicks;
         long randomBase = baseMin + ThreadLocalRandom.current().nextLong(baseMax - baseMin + 1L);
         int length = text == null ? 0 : text.length();
         return randomBase + length * perChar;
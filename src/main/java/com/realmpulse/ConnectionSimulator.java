@@ -1,7 +1,6 @@
 package com.realmpulse;
 
 import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
@@ -29,11 +28,12 @@ public class ConnectionSimulator {
 
     public void startSimulation() {
         stopSimulation();
-        if (!plugin.getConfig().getBoolean("connection-settings.enabled", true)) {
+        RealmPulseSettings.Connection settings = plugin.getSettings().connection;
+        if (!settings.enabled) {
             return;
         }
         rebalanceOnlineRatioSilently();
-        long intervalSeconds = Math.max(5L, plugin.getConfig().getLong("connection-settings.interval-seconds", 30L));
+        long intervalSeconds = settings.intervalSeconds;
         connectionTask = Bukkit.getScheduler().runTaskTimer(
             plugin,
             this::runConnectionTick,
@@ -59,51 +59,50 @@ public class ConnectionSimulator {
             return;
         }
 
-        double targetOnlineRatio = clamp(plugin.getConfig().getDouble("connection-settings.target-online-ratio", 0.72), 0.10, 0.98);
+        double targetOnlineRatio = plugin.getSettings().connection.targetOnlineRatio;
         int total = allGhosts.size();
         int desiredOnline = (int) Math.round(total * targetOnlineRatio);
         desiredOnline = Math.max(1, Math.min(total - 1, desiredOnline));
         long now = System.currentTimeMillis();
 
-        List<GhostPlayer> online = new ArrayList<>();
-        List<GhostPlayer> offline = new ArrayList<>();
-        for (GhostPlayer ghost : allGhosts) {
-            if (ghost.isOnline()) {
-                online.add(ghost);
-            } else {
-                offline.add(ghost);
-            }
-        }
+        GhostRegistry.Snapshot snapshot = GhostManager.getSnapshot();
+        List<GhostPlayer> online = new ArrayList<>(snapshot.online);
+        List<GhostPlayer> offline = new ArrayList<>(snapshot.offline);
 
         if (online.size() > desiredOnline) {
             Collections.shuffle(online);
             int needOffline = online.size() - desiredOnline;
+            List<GhostPlayer> changed = new ArrayList<>();
             for (int i = 0; i < needOffline && i < online.size(); i++) {
                 GhostPlayer ghost = online.get(i);
-                ghost.setOnline(false);
+                GhostManager.setGhostOnline(ghost, false);
                 markStateChanged(ghost, now);
-                sendTabListRemoveAll(ghost);
+                changed.add(ghost);
             }
+            packetManager.sendTabListRemoveAll(changed);
             return;
         }
 
         if (online.size() < desiredOnline) {
             Collections.shuffle(offline);
             int needOnline = desiredOnline - online.size();
+            List<GhostPlayer> changed = new ArrayList<>();
             for (int i = 0; i < needOnline && i < offline.size(); i++) {
                 GhostPlayer ghost = offline.get(i);
-                ghost.setOnline(true);
+                GhostManager.setGhostOnline(ghost, true);
                 markStateChanged(ghost, now);
-                sendTabListAddAll(ghost);
+                changed.add(ghost);
             }
+            packetManager.sendTabListAddAll(changed);
         }
     }
 
     private void runConnectionTick() {
-        if (!plugin.getConfig().getBoolean("connection-settings.enabled", true)) {
+        RealmPulseSettings.Connection settings = plugin.getSettings().connection;
+        if (!settings.enabled) {
             return;
         }
-        if (plugin.getConfig().getBoolean("connection-settings.require-real-player-online", true)
+        if (settings.requireRealPlayerOnline
             && Bukkit.getOnlinePlayers().isEmpty()) {
             return;
         }
@@ -111,33 +110,28 @@ public class ConnectionSimulator {
         if (allGhosts.isEmpty()) {
             return;
         }
-        pruneStateCache(allGhosts);
+        pruneStateCache(allGhosts, settings.stateCacheStaleMs);
 
-        int maxChanges = Math.max(1, plugin.getConfig().getInt("connection-settings.max-state-changes-per-tick", 2));
-        long minStateSeconds = Math.max(10L, plugin.getConfig().getLong("connection-settings.min-seconds-between-state-change", 180L));
-        long minStateMs = minStateSeconds * 1000L;
+        int maxChanges = settings.maxStateChangesPerTick;
+        long minStateMs = settings.minStateChangeMs;
 
-        double quitChance = plugin.getConfig().getDouble("connection-settings.quit-chance", 0.02);
-        double rejoinChance = plugin.getConfig().getDouble("connection-settings.rejoin-chance", 0.1);
-        double targetOnlineRatio = clamp(plugin.getConfig().getDouble("connection-settings.target-online-ratio", 0.72), 0.10, 0.98);
-        double targetTolerance = clamp(plugin.getConfig().getDouble("connection-settings.target-ratio-tolerance", 0.08), 0.01, 0.35);
-        String joinFormat = plugin.getConfig().getString("connection-settings.cmi-join-format", "&e{name} joined the game");
-        String quitFormat = plugin.getConfig().getString("connection-settings.cmi-quit-format", "&e{name} left the game");
+        double quitChance = settings.quitChance;
+        double rejoinChance = settings.rejoinChance;
+        double targetOnlineRatio = settings.targetOnlineRatio;
+        double targetTolerance = settings.targetRatioTolerance;
+        String joinFormat = settings.joinFormat;
+        String quitFormat = settings.quitFormat;
         long now = System.currentTimeMillis();
 
         for (int i = 0; i < maxChanges; i++) {
-            List<GhostPlayer> onlineCandidates = collectCandidates(allGhosts, true, now, minStateMs);
-            List<GhostPlayer> offlineCandidates = collectCandidates(allGhosts, false, now, minStateMs);
+            GhostRegistry.Snapshot snapshot = GhostManager.getSnapshot();
+            List<GhostPlayer> onlineCandidates = collectCandidates(snapshot.online, now, minStateMs);
+            List<GhostPlayer> offlineCandidates = collectCandidates(snapshot.offline, now, minStateMs);
             if (onlineCandidates.isEmpty() && offlineCandidates.isEmpty()) {
                 return;
             }
 
-            int onlineCount = 0;
-            for (GhostPlayer ghost : allGhosts) {
-                if (ghost.isOnline()) {
-                    onlineCount++;
-                }
-            }
+            int onlineCount = snapshot.online.size();
             double currentRatio = (double) onlineCount / (double) allGhosts.size();
             boolean changed = false;
 
@@ -167,12 +161,9 @@ public class ConnectionSimulator {
         }
     }
 
-    private List<GhostPlayer> collectCandidates(List<GhostPlayer> allGhosts, boolean online, long now, long minStateMs) {
+    private List<GhostPlayer> collectCandidates(List<GhostPlayer> ghosts, long now, long minStateMs) {
         List<GhostPlayer> candidates = new ArrayList<>();
-        for (GhostPlayer ghost : allGhosts) {
-            if (ghost.isOnline() != online) {
-                continue;
-            }
+        for (GhostPlayer ghost : ghosts) {
             if (!isEligibleForStateChange(ghost, now, minStateMs)) {
                 continue;
             }
@@ -202,9 +193,8 @@ public class ConnectionSimulator {
         }
     }
 
-    private void pruneStateCache(List<GhostPlayer> ghosts) {
+    private void pruneStateCache(List<GhostPlayer> ghosts, long staleMs) {
         long now = System.currentTimeMillis();
-        long staleMs = Math.max(300_000L, plugin.getConfig().getLong("connection-settings.state-cache-stale-seconds", 3600L) * 1000L);
         Set<String> active = new HashSet<>();
         for (GhostPlayer ghost : ghosts) {
             if (ghost == null || ghost.getName() == null || ghost.getName().isBlank()) {
@@ -220,35 +210,19 @@ public class ConnectionSimulator {
     }
 
     private void transitionOffline(GhostPlayer ghost, String quitFormat, long now) {
-        ghost.setOnline(false);
+        GhostManager.setGhostOnline(ghost, false);
         markStateChanged(ghost, now);
-        sendTabListRemoveAll(ghost);
+        packetManager.sendTabListRemoveAll(Collections.singletonList(ghost));
         broadcastFormatted(quitFormat, ghost.getName());
     }
 
     private void transitionOnline(GhostPlayer ghost, String joinFormat, long now) {
-        ghost.setOnline(true);
+        GhostManager.setGhostOnline(ghost, true);
         markStateChanged(ghost, now);
-        sendTabListAddAll(ghost);
+        packetManager.sendTabListAddAll(Collections.singletonList(ghost));
         broadcastFormatted(joinFormat, ghost.getName());
     }
 
-    private double clamp(double value, double min, double max) {
-        return Math.max(min, Math.min(max, value));
-    }
-
-    private void sendTabListAddAll(GhostPlayer ghost) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            packetManager.sendTabListAdd(player, ghost);
-        }
-    }
-
-    private void sendTabListRemoveAll(GhostPlayer ghost) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            packetManager.sendTabListRemove(player, ghost);
-        }
-    }
-
     private void broadcastFormatted(String format, String name) {
         String message = format.replace("{name}", name);
         MessageUtils.broadcast(message);
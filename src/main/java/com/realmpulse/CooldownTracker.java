@@ -0,0 +1,120 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key cooldown deadlines with O(1) check-and-set. Expiry is driven by a hashed timing wheel,
+ * so dropping finished cooldowns costs amortized O(1) per entry instead of a scan of the whole map.
+ * Wheel entries are never removed eagerly: when a key is claimed again its old entry goes stale and
+ * is skipped once its slot comes around.
+ */
+public final class CooldownTracker {
+
+    private static final long TICK_MS = 1000L;
+    private static final int SLOTS = 512;
+
+    private final Map<String, Long> deadlines = new ConcurrentHashMap<>();
+    private final Object wheelLock = new Object();
+    private final List<List<Entry>> wheel = new ArrayList<>(SLOTS);
+    private long cursorTick = -1L;
+
+    private record Entry(String key, long deadline) {
+    }
+
+    public CooldownTracker() {
+        for (int i = 0; i < SLOTS; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Sets key's cooldown to until unless one is still running (force overrides).
+     * Returns the previous deadline (0 if none), or -1 if the claim was refused.
+     */
+    public long claim(String key, long now, long until, boolean force) {
+        long[] previous = {0L};
+        deadlines.compute(key, (ignored, current) -> {
+            long value = current == null ? 0L : current;
+            if (!force && now < value) {
+                previous[0] = -1L;
+                return current;
+            }
+            previous[0] = value;
+            return until;
+        });
+        if (previous[0] >= 0L) {
+            schedule(key, until);
+        }
+        return previous[0];
+    }
+
+    // Undoes a claim unless another claim replaced it in the meantime
+    public void release(String key, long claimed, long previous) {
+        if (previous <= 0L) {
+            deadlines.remove(key, claimed);
+        } else if (deadlines.replace(key, claimed, previous)) {
+            schedule(key, previous);
+        }
+    }
+
+    // Drops every cooldown that has run out, then the earliest running ones while over maxSize
+    public void expire(long now, int maxSize) {
+        synchronized (wheelLock) {
+            long nowTick = now / TICK_MS;
+            if (cursorTick < 0L) {
+                cursorTick = nowTick;
+            }
+            long steps = Math.min(nowTick - cursorTick, SLOTS);
+            for (long i = 1; i <= steps; i++) {
+                drainSlot(slotOf(cursorTick + i), now, Integer.MAX_VALUE);
+            }
+            if (nowTick > cursorTick) {
+                cursorTick = nowTick;
+            }
+            for (int i = 1; i <= SLOTS && deadlines.size() > maxSize; i++) {
+                drainSlot(slotOf(cursorTick + i), now, maxSize);
+            }
+        }
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    private void schedule(String key, long deadline) {
+        synchronized (wheelLock) {
+            // Round up so the slot is only drained once the deadline has actually passed
+            long tick = Math.max((deadline + TICK_MS - 1L) / TICK_MS, cursorTick + 1L);
+            wheel.get(slotOf(tick)).add(new Entry(key, deadline));
+        }
+    }
+
+    // Caller holds wheelLock. Entries whose deadline lies a full rotation or more ahead stay put.
+    private void drainSlot(int slot, long now, int maxSize) {
+        List<Entry> entries = wheel.get(slot);
+        if (entries.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            Long live = deadlines.get(entry.key());
+            if (live == null || live != entry.deadline()) {
+                continue;
+            }
+            if (entry.deadline() <= now || deadlines.size() > maxSize) {
+                deadlines.remove(entry.key(), entry.deadline());
+                continue;
+            }
+            entries.set(kept++, entry);
+        }
+        entries.subList(kept, entries.size()).clear();
+    }
+
+    private static int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) SLOTS);
+    }
+}
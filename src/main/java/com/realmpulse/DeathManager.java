@@ -25,7 +25,7 @@ public class DeathManager {
     }
 
     public void startDeathSimulation() {
-        if (!plugin.getConfig().getBoolean("death-settings.enabled", true)) {
+        if (!plugin.getSettings().death.enabled) {
             return;
         }
         long intervalSeconds = 60L;
@@ -43,38 +43,37 @@ public class DeathManager {
             return false;
         }
         if (System.currentTimeMillis() >= until) {
-            deadUntil.remove(ghost.getUuid());
+            revive(ghost.getUuid());
             return false;
         }
         return true;
     }
 
-    public List<GhostPlayer> getAliveGhosts(List<GhostPlayer> ghosts) {
-        List<GhostPlayer> alive = new ArrayList<>();
-        for (GhostPlayer ghost : ghosts) {
-            if (!isGhostDead(ghost)) {
-                alive.add(ghost);
-            }
+    private void revive(UUID ghostId) {
+        Long until = deadUntil.get(ghostId);
+        if (until != null && System.currentTimeMillis() < until) {
+            return;
         }
-        return alive;
+        deadUntil.remove(ghostId);
+        GhostManager.setGhostAlive(GhostManager.findGhost(ghostId), true);
     }
 
     private void runDeathTick() {
         pruneGhostStateCache();
-        if (shouldSkipByServerState()) {
+        RealmPulseSettings.Death settings = plugin.getSettings().death;
+        if (shouldSkipByServerState(settings)) {
             return;
         }
         long now = System.currentTimeMillis();
-        if (shouldSkipByDeathCooldown(now)) {
+        if (shouldSkipByDeathCooldown(now, settings)) {
             return;
         }
-        double chance = plugin.getConfig().getDouble("death-settings.chance", 0.05);
-        if (ThreadLocalRandom.current().nextDouble() > chance) {
+        if (ThreadLocalRandom.current().nextDouble() > settings.chance) {
             return;
         }
-        long perGhostMinMs = Math.max(10L, plugin.getConfig().getLong("death-settings.per-ghost-min-interval-seconds", 900L)) * 1000L;
+        long perGhostMinMs = settings.perGhostMinIntervalMs;
         List<GhostPlayer> aliveGhosts = new ArrayList<>();
-        for (GhostPlayer ghost : getAliveGhosts(GhostManager.getOnlineGhosts())) {
+        for (GhostPlayer ghost : GhostManager.getOnlineAliveGhosts()) {
             if (!isGhostInDeathCooldown(ghost, now, perGhostMinMs)) {
                 aliveGhosts.add(ghost);
             }
@@ -83,25 +82,28 @@ public class DeathManager {
             return;
         }
         GhostPlayer ghost = aliveGhosts.get(ThreadLocalRandom.current().nextInt(aliveGhosts.size()));
-        List<String> reasons = plugin.getConfig().getStringList("death-settings.death-reasons");
+        List<String> reasons = settings.reasons;
         if (reasons.isEmpty()) {
             return;
         }
         String reason = reasons.get(ThreadLocalRandom.current().nextInt(reasons.size()));
-        String format = plugin.getConfig().getString("death-settings.cmi-format", "&e{name} &f{reason}");
+        String format = settings.format;
         String message = format
             .replace("{name}", ghost.getName())
             .replace("{reason}", reason);
         MessageUtils.broadcast(message);
-        long deadDurationMs = resolveDeadDurationMs();
-        deadUntil.put(ghost.getUuid(), now + deadDurationMs);
-        lastDeathAt.put(ghost.getUuid(), now);
+        long deadDurationMs = resolveDeadDurationMs(settings);
+        UUID ghostId = ghost.getUuid();
+        deadUntil.put(ghostId, now + deadDurationMs);
+        lastDeathAt.put(ghostId, now);
         lastGlobalDeathAt = now;
+        GhostManager.setGhostAlive(ghost, false);
+        Bukkit.getScheduler().runTaskLater(plugin, () -> revive(ghostId), deadDurationMs / 50L + 1L);
     }
 
-    private long resolveDeadDurationMs() {
-        long minSeconds = Math.max(5L, plugin.getConfig().getLong("death-settings.dead-duration-seconds-min", 25L));
-        long maxSeconds = Math.max(minSeconds, plugin.getConfig().getLong("death-settings.dead-duration-seconds-max", 90L));
+    private long resolveDeadDurationMs(RealmPulseSettings.Death settings) {
+        long minSeconds = settings.deadDurationMinSeconds;
+        long maxSeconds = settings.deadDurationMaxSeconds;
         if (maxSeconds <= minSeconds) {
             return minSeconds * 1000L;
         }
@@ -109,12 +111,11 @@ public class DeathManager {
         return randomSeconds * 1000L;
     }
 
-    private boolean shouldSkipByServerState() {
-        if (!plugin.getConfig().getBoolean("death-settings.require-real-player-online", true)) {
+    private boolean shouldSkipByServerState(RealmPulseSettings.Death settings) {
+        if (!settings.requireRealPlayerOnline) {
             return false;
         }
-        int minPlayers = Math.max(0, plugin.getConfig().getInt("death-settings.min-online-real-players", 1));
-        return Bukkit.getOnlinePlayers().size() < minPlayers;
+        return Bukkit.getOnlinePlayers().size() < settings.minOnlineRealPlayers;
     }
 
     private boolean isGhostInDeathCooldown(GhostPlayer ghost, long now, long perGhostMinMs) {
@@ -122,9 +123,8 @@ public class DeathManager {
         return now - last < perGhostMinMs;
     }
 
-    private boolean shouldSkipByDeathCooldown(long now) {
-        long globalMinMs = Math.max(10L, plugin.getConfig().getLong("death-settings.global-min-interval-seconds", 180L)) * 1000L;
-        return now - lastGlobalDeathAt < globalMinMs;
+    private boolean shouldSkipByDeathCooldown(long now, RealmPulseSettings.Death settings) {
+        return now - lastGlobalDeathAt < settings.globalMinIntervalMs;
     }
 
     private void pruneGhostStateCache() {
@@ -136,6 +136,12 @@ public class DeathManager {
             active.add(ghost.getUuid());
         }
         deadUntil.keySet().removeIf(uuid -> !active.contains(uuid));
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, Long> entry : deadUntil.entrySet()) {
+            if (now >= entry.getValue()) {
+                revive(entry.getKey());
+            }
+        }
         lastDeathAt.keySet().removeIf(uuid -> !active.contains(uuid));
     }
 }
@@ -2,18 +2,37 @@ package com.realmpulse;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
+/**
+ * Chat-completion client. Requests go out through one shared HttpClient, so connections are kept
+ * alive and, where the endpoint speaks HTTP/2, multiplexed. Nothing blocks while a request is in
+ * flight: responses complete on the client's own threads and retries are scheduled, not slept.
+ * Every exchange, body included, is bounded by ai.request.read-timeout-ms, see ChatCompletionTransport.
+ * First-line requests stream the completion and hand back the first finished line right away.
+ * Single-line requests sharing a prompt header within a short window are merged into one completion
+ * asking for numbered lines, see askQALineBatched.
+ */
 public class DeepSeekService {
 
     public enum ProfileType {
@@ -24,11 +43,50 @@ public class DeepSeekService {
     private final JavaPlugin plugin;
     private final PluginConfigService configService;
     private final Gson gson = new Gson();
+    private static final Pattern NUMBERED_LINE = Pattern.compile("^\\s*(\\d{1,2})\\s*[.)\u3001:\uFF1A]\\s*(.*)$");
     private final AtomicInteger inFlightRequests = new AtomicInteger(0);
+    private final ScheduledExecutorService scheduler;
+    private final Object clientLock = new Object();
+    private final Object batchLock = new Object();
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+    private final LongAdder batchesSent = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final LongAdder batchFallbacks = new LongAdder();
+    private HttpClient client;
+    private int clientConnectTimeoutMs;
+    private volatile boolean shutdown;
 
     public DeepSeekService(JavaPlugin plugin, PluginConfigService configService) {
         this.plugin = plugin;
         this.configService = configService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RealmPulse-AI-Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        scheduler.shutdownNow();
+        List<PendingBatch> dropped;
+        synchronized (batchLock) {
+            dropped = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+        for (PendingBatch batch : dropped) {
+            for (Consumer<String> callback : batch.callbacks) {
+                completeEmpty(callback);
+            }
+        }
+        synchronized (clientLock) {
+            // Idle pooled connections close once the client is collected
+            client = null;
+        }
+    }
+
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
     }
 
     public void askAI(String userMessage, Consumer<String> callback) {
@@ -36,14 +94,151 @@ public class DeepSeekService {
     }
 
     public void askQA(String userMessage, Consumer<String> callback) {
-        ask(userMessage, ProfileType.QA, callback);
+        ask(userMessage, ProfileType.QA, false, callback);
+    }
+
+    /**
+     * Like askQA, but the callback gets only the first non-blank line of the answer. With
+     * ai.request.stream enabled it fires as soon as that line has streamed in, not when the
+     * whole completion is done.
+     */
+    public void askQAFirstLine(String userMessage, Consumer<String> callback) {
+        ask(userMessage, ProfileType.QA, true, callback);
     }
 
     public void askSummary(String userMessage, Consumer<String> callback) {
-        ask(userMessage, ProfileType.SUMMARY, callback);
+        ask(userMessage, ProfileType.SUMMARY, false, callback);
+    }
+
+    /**
+     * Single-line QA request made of a header (rules and context) and an item (what this one line
+     * is about). Requests with the same header that arrive within ai.request.coalesce.window-ms are
+     * merged: the header is sent once, followed by the numbered items, and each callback gets its
+     * own numbered line. Items whose line is missing from the answer are sent again on their own;
+     * a failed batch request yields "" for everyone, just like a failed single request. A batch of
+     * one is sent as a plain askQAFirstLine.
+     */
+    public void askQALineBatched(String header, String item, Consumer<String> callback) {
+        if (!configService.getBoolean("ai.request.coalesce.enabled", true) || shutdown) {
+            askQAFirstLine(singleLinePrompt(header, item), callback);
+            return;
+        }
+        long windowMs = Math.max(10L, configService.getLong("ai.request.coalesce.window-ms", 120L));
+        int maxBatch = Math.max(2, Math.min(9, configService.getInt("ai.request.coalesce.max-batch", 4)));
+        String key = ProfileType.QA + ":" + header;
+        PendingBatch full = null;
+        synchronized (batchLock) {
+            PendingBatch batch = pendingBatches.get(key);
+            if (batch == null) {
+                batch = new PendingBatch(header);
+                PendingBatch scheduled = batch;
+                try {
+                    batch.flushTask = scheduler.schedule(() -> flushBatch(key, scheduled), windowMs, TimeUnit.MILLISECONDS);
+                } catch (RuntimeException rejected) {
+                    askQAFirstLine(singleLinePrompt(header, item), callback);
+                    return;
+                }
+                pendingBatches.put(key, batch);
+            }
+            batch.items.add(item);
+            batch.callbacks.add(callback);
+            if (batch.items.size() >= maxBatch) {
+                pendingBatches.remove(key);
+                batch.flushTask.cancel(false);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            dispatchBatch(full);
+        }
+    }
+
+    private static final class PendingBatch {
+        private final String header;
+        private final List<String> items = new ArrayList<>();
+        private final List<Consumer<String>> callbacks = new ArrayList<>();
+        private ScheduledFuture<?> flushTask;
+
+        private PendingBatch(String header) {
+            this.header = header;
+        }
+    }
+
+    private void flushBatch(String key, PendingBatch batch) {
+        synchronized (batchLock) {
+            if (pendingBatches.get(key) != batch) {
+                return;
+            }
+            pendingBatches.remove(key);
+        }
+        dispatchBatch(batch);
+    }
+
+    private void dispatchBatch(PendingBatch batch) {
+        int count = batch.items.size();
+        if (count == 1) {
+            askQAFirstLine(singleLinePrompt(batch.header, batch.items.get(0)), batch.callbacks.get(0));
+            return;
+        }
+        batchesSent.increment();
+        batchedRequests.add(count);
+        StringBuilder prompt = new StringBuilder(batch.header.trim()).append("\n\n");
+        prompt.append("Write ").append(count).append(" separate chat lines, one for each item below.\n");
+        prompt.append("Output exactly ").append(count).append(" lines and nothing else. ");
+        prompt.append("Line i starts with \"i. \" and holds only the chat line for item i.\n");
+        for (int i = 0; i < count; i++) {
+            prompt.append("\n[Item ").append(i + 1).append("]\n").append(batch.items.get(i).trim()).append('\n');
+        }
+        ask(prompt.toString(), ProfileType.QA, false, count, response -> {
+            if (response == null || response.isBlank()) {
+                for (Consumer<String> callback : batch.callbacks) {
+                    callback.accept("");
+                }
+                return;
+            }
+            String[] answers = splitNumberedLines(response, count);
+            for (int i = 0; i < count; i++) {
+                if (answers[i] != null) {
+                    batch.callbacks.get(i).accept(answers[i]);
+                } else {
+                    batchFallbacks.increment();
+                    askQAFirstLine(singleLinePrompt(batch.header, batch.items.get(i)), batch.callbacks.get(i));
+                }
+            }
+        });
+    }
+
+    private static String singleLinePrompt(String header, String item) {
+        return header.trim() + "\n" + item.trim() + "\nOutput exactly one line.\n";
+    }
+
+    // Answer i sits at index i - 1, slots the completion did not fill stay null
+    private static String[] splitNumberedLines(String response, int count) {
+        String[] answers = new String[count];
+        for (String line : response.split("\\r?\\n")) {
+            Matcher matcher = NUMBERED_LINE.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1)) - 1;
+            String answer = matcher.group(2).trim();
+            if (index >= 0 && index < count && answers[index] == null && !answer.isEmpty()) {
+                answers[index] = answer;
+            }
+        }
+        return answers;
+    }
+
+    public CoalesceStatus getCoalesceStatus() {
+        return new CoalesceStatus(batchesSent.sum(), batchedRequests.sum(), batchFallbacks.sum());
     }
 
-    private void ask(String userMessage, ProfileType profileType, Consumer<String> callback) {
+    private void ask(String userMessage, ProfileType profileType, boolean firstLineOnly, Consumer<String> callback) {
+        ask(userMessage, profileType, firstLineOnly, 1, callback);
+    }
+
+    // tokenScale multiplies the profile's max-tokens for prompts that expect several answers
+    private void ask(String userMessage, ProfileType profileType, boolean firstLineOnly, int tokenScale, Consumer<String> callback) {
         AiProfile profile = loadProfile(profileType);
         if (!profile.enabled() || profile.apiUrl().isBlank() || profile.model().isBlank()) {
             Bukkit.getScheduler().runTask(plugin, () -> callback.accept(""));
@@ -56,38 +251,103 @@ public class DeepSeekService {
             return;
         }
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            String responseText = "";
+        int maxRetries = resolveRetries(profileType);
+        long baseBackoffMs = Math.max(50L, configService.getLong("ai.request.retry-backoff-ms", 350L));
+        int connectTimeoutMs = Math.max(2000, configService.getInt("ai.request.connect-timeout-ms", 10000));
+        int readTimeoutMs = Math.max(connectTimeoutMs, configService.getInt("ai.request.read-timeout-ms", 15000));
+        boolean stream = firstLineOnly && configService.getBoolean("ai.request.stream", true);
+        long streamIdleMs = Math.max(500L, configService.getLong("ai.request.stream-idle-timeout-ms", 5000L));
+        HttpRequest request;
+        try {
+            request = buildRequest(userMessage, profile, profile.maxTokens() * Math.max(1, tokenScale), readTimeoutMs, stream);
+        } catch (IllegalArgumentException invalidUrl) {
+            finish("", callback);
+            return;
+        }
+        RequestPlan plan = new RequestPlan(
+            clientFor(connectTimeoutMs),
+            request,
+            firstLineOnly,
+            readTimeoutMs,
+            streamIdleMs,
+            maxRetries,
+            baseBackoffMs,
+            callback
+        );
+        attempt(plan, 0);
+    }
+
+    private record RequestPlan(
+        HttpClient httpClient,
+        HttpRequest request,
+        boolean firstLineOnly,
+        long deadlineMs,
+        long streamIdleMs,
+        int maxRetries,
+        long baseBackoffMs,
+        Consumer<String> callback
+    ) {
+    }
+
+    private void attempt(RequestPlan plan, int attempt) {
+        if (shutdown) {
+            finish("", plan.callback());
+            return;
+        }
+        ChatCompletionTransport.send(
+            plan.httpClient(),
+            plan.request(),
+            plan.firstLineOnly(),
+            plan.deadlineMs(),
+            plan.streamIdleMs()
+        ).thenAccept(reply -> {
+            int code = reply.status();
+            String responseText = reply.text();
+            // Bad key, bad model or bad payload will not get better by asking again
+            boolean retryable = code < 400 || code == 408 || code == 429 || code >= 500;
+            if (!responseText.isBlank() || !retryable || attempt >= plan.maxRetries() || shutdown) {
+                finish(responseText, plan.callback());
+                return;
+            }
+            long backoffMs = plan.baseBackoffMs() * (attempt + 1L);
             try {
-                int maxRetries = resolveRetries(profileType);
-                long baseBackoffMs = Math.max(50L, configService.getLong("ai.request.retry-backoff-ms", 350L));
-                int connectTimeoutMs = Math.max(2000, configService.getInt("ai.request.connect-timeout-ms", 10000));
-                int readTimeoutMs = Math.max(connectTimeoutMs, configService.getInt("ai.request.read-timeout-ms", 15000));
-                for (int attempt = 0; attempt <= maxRetries; attempt++) {
-                    responseText = requestOnce(userMessage, profile, connectTimeoutMs, readTimeoutMs);
-                    if (!responseText.isBlank()) {
-                        break;
-                    }
-                    if (attempt < maxRetries) {
-                        long backoffMs = baseBackoffMs * (attempt + 1L);
-                        try {
-                            Thread.sleep(backoffMs);
-                        } catch (InterruptedException interrupted) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
-                    }
-                }
-            } finally {
-                inFlightRequests.decrementAndGet();
+                scheduler.schedule(() -> attempt(plan, attempt + 1), backoffMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException rejected) {
+                finish("", plan.callback());
             }
-
-            String finalResponse = responseText;
-            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(finalResponse));
         });
     }
 
-    private String requestOnce(String userMessage, AiProfile profile, int connectTimeoutMs, int readTimeoutMs) {
+    private void finish(String responseText, Consumer<String> callback) {
+        inFlightRequests.decrementAndGet();
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(responseText));
+        }
+    }
+
+    // Like finish, for a request that never went out and so holds no in-flight slot
+    private void completeEmpty(Consumer<String> callback) {
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(""));
+        }
+    }
+
+    // One client per connect timeout, so its connection pool survives across requests
+    private HttpClient clientFor(int connectTimeoutMs) {
+        synchronized (clientLock) {
+            if (client == null || clientConnectTimeoutMs != connectTimeoutMs) {
+                client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+                clientConnectTimeoutMs = connectTimeoutMs;
+            }
+            return client;
+        }
+    }
+
+    private HttpRequest buildRequest(String userMessage, AiProfile profile, int maxTokens, int readTimeoutMs, boolean stream) {
         JsonObject payload = new JsonObject();
         payload.addProperty("model", profile.model());
         JsonArray messages = new JsonArray();
@@ -102,40 +362,19 @@ public class DeepSeekService {
         user.addProperty("content", userMessage);
         messages.add(user);
         payload.add("messages", messages);
-        payload.addProperty("max_tokens", profile.maxTokens());
-
-        HttpURLConnection connection = null;
-        try {
-            connection = (HttpURLConnection) new URL(profile.apiUrl()).openConnection();
-            connection.setRequestMethod("POST");
-            connection.setDoOutput(true);
-            if (!profile.apiKey().isBlank()) {
-                connection.setRequestProperty("Authorization", "Bearer " + profile.apiKey());
-            }
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setConnectTimeout(connectTimeoutMs);
-            connection.setReadTimeout(readTimeoutMs);
-
-            byte[] body = gson.toJson(payload).getBytes(StandardCharsets.UTF_8);
-            try (OutputStream outputStream = connection.getOutputStream()) {
-                outputStream.write(body);
-            }
+        payload.addProperty("max_tokens", maxTokens);
+        if (stream) {
+            payload.addProperty("stream", true);
+        }
 
-            int status = connection.getResponseCode();
-            if (status < 200 || status >= 300) {
-                return "";
-            }
-            try (InputStream inputStream = connection.getInputStream()) {
-                String responseBody = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-                return parseResponse(responseBody);
-            }
-        } catch (Exception ignored) {
-            return "";
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
-            }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(profile.apiUrl().trim()))
+            .timeout(Duration.ofMillis(readTimeoutMs))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(payload), StandardCharsets.UTF_8));
+        if (!profile.apiKey().isBlank()) {
+            builder.header("Authorization", "Bearer " + profile.apiKey());
         }
+        return builder.build();
     }
 
     private int resolveRetries(ProfileType profileType) {
@@ -179,56 +418,15 @@ public class DeepSeekService {
     ) {
     }
 
-    private String parseResponse(String responseBody) {
-        JsonObject root = gson.fromJson(responseBody, JsonObject.class);
-        if (root == null || !root.has("choices")) {
-            return "";
-        }
-        JsonArray choices = root.getAsJsonArray("choices");
-        if (choices == null || choices.size() == 0) {
-            return "";
-        }
-        JsonObject choice = choices.get(0).getAsJsonObject();
-        if (choice == null || !choice.has("message")) {
-            return "";
-        }
-        JsonObject message = choice.getAsJsonObject("message");
-        if (message == null || !message.has("content")) {
-            return "";
-        }
-        JsonElement content = message.get("content");
-        if (content == null || content.isJsonNull()) {
-            return "";
-        }
-        if (content.isJsonPrimitive()) {
-            return content.getAsString();
-        }
-        if (content.isJsonArray()) {
-            StringBuilder sb = new StringBuilder();
-            JsonArray parts = content.getAsJsonArray();
-            for (JsonElement part : parts) {
-                if (part == null || part.isJsonNull()) {
-                    continue;
-                }
-                if (part.isJsonPrimitive()) {
-                    if (sb.length() > 0) {
-                        sb.append('\n');
-                    }
-                    sb.append(part.getAsString());
-                    continue;
-                }
-                if (part.isJsonObject()) {
-                    JsonObject partObject = part.getAsJsonObject();
-                    if (partObject.has("text") && !partObject.get("text").isJsonNull()) {
-                        if (sb.length() > 0) {
-                            sb.append('\n');
-                        }
-                        sb.append(partObject.get("text").getAsString());
-                    }
-                }
-            }
-            return sb.toString();
+    public static final class CoalesceStatus {
+        public final long batches;
+        public final long mergedRequests;
+        public final long fallbacks;
+
+        private CoalesceStatus(long batches, long mergedRequests, long fallbacks) {
+            this.batches = batches;
+            this.mergedRequests = mergedRequests;
+            this.fallbacks = fallbacks;
         }
-        return "";
     }
 }
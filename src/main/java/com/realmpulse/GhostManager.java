@@ -7,7 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -115,9 +115,10 @@ public class GhostManager {
         "Xihai", "Yeling", "Mingxuan", "Yueliang", "Shiguang", "Muren", "Qinglin", "Shuimu"
     };
 
+    private static final GhostRegistry.Snapshot EMPTY_SNAPSHOT = new GhostRegistry().snapshot();
     private static GhostManager instance;
     private final JavaPlugin plugin;
-    private final List<GhostPlayer> ghosts = new CopyOnWriteArrayList<>();
+    private final GhostRegistry registry = new GhostRegistry();
 
     public GhostManager(JavaPlugin plugin) {
         this.plugin = plugin;
@@ -125,7 +126,7 @@ public class GhostManager {
     }
 
     public void initializeGhosts(int count) {
-        ghosts.clear();
+        List<GhostPlayer> ghosts = new ArrayList<>();
         HashSet<String> usedNames = new HashSet<>();
         Map<String, Integer> baseUsage = new HashMap<>();
         Map<String, Integer> tagUsage = new HashMap<>();
@@ -135,6 +136,7 @@ public class GhostManager {
         GhostPlayer.Language configuredLanguage = resolveConfiguredLanguage();
         boolean englishPreferred = configuredLanguage == GhostPlayer.Language.EN;
         double idEnglishFragmentChance = clampChance(plugin.getConfig().getDouble("chat.id-english-fragment-chance", 0.08));
+        double directPoolChance = clampChance(plugin.getConfig().getDouble("chat.authentic-id-pool-chance", 0.90));
 
         while (ghosts.size() < count && attempts < maxAttempts) {
             attempts++;
@@ -144,7 +146,8 @@ public class GhostManager {
                 tagUsage,
                 leadingCharUsage,
                 englishPreferred,
-                idEnglishFragmentChance
+                idEnglishFragmentChance,
+                directPoolChance
             );
             String name = candidate.name();
 
@@ -160,6 +163,7 @@ public class GhostManager {
         if (ghosts.size() < count) {
             plugin.getLogger().warning("Could only generate " + ghosts.size() + " unique ghost names after " + maxAttempts + " attempts.");
         }
+        registry.replaceAll(ghosts);
     }
 
     private GhostPlayer.Language resolveConfiguredLanguage() {
@@ -181,10 +185,10 @@ public class GhostManager {
         Map<String, Integer> tagUsage,
         Map<Character, Integer> leadingCharUsage,
         boolean englishPreferred,
-        double idEnglishFragmentChance
+        double idEnglishFragmentChance,
+        double directPoolChance
     ) {
         String[] authenticPool = englishPreferred ? AUTHENTIC_EN_IDS : AUTHENTIC_CN_STYLE_IDS;
-        double directPoolChance = clampChance(plugin.getConfig().getDouble("chat.authentic-id-pool-chance", 0.90));
         if (ThreadLocalRandom.current().nextDouble() < directPoolChance) {
             String direct = pickLeastUsed(authenticPool, baseUsage);
             String rawDirect = direct;
@@ -513,27 +517,72 @@ public class GhostManager {
     }
 
     public static List<GhostPlayer> getGhosts() {
-        return instance == null ? Collections.emptyList() : instance.ghosts;
+        return instance == null ? Collections.emptyList() : instance.registry.all();
+    }
+
+    public static GhostRegistry.Snapshot getSnapshot() {
+        return instance == null ? EMPTY_SNAPSHOT : instance.registry.snapshot();
     }
 
     public static List<GhostPlayer> getOnlineGhosts() {
+        return getSnapshot().online;
+    }
+
+    public static List<GhostPlayer> getOnlineAliveGhosts() {
+        return getSnapshot().onlineAlive;
+    }
+
+    public static GhostNameIndex getOnlineNameIndex() {
+        return getSnapshot().onlineNames;
+    }
+
+    public static GhostMentionMatcher getMentionMatcher() {
+        return instance == null ? GhostMentionMatcher.EMPTY : instance.registry.mentionMatcher();
+    }
+
+    public static List<GhostPlayer> getOfflineGhosts() {
+        return getSnapshot().offline;
+    }
+
+    public static int getOnlineCount() {
+        return getSnapshot().online.size();
+    }
+
+    public static long getSnapshotVersion() {
+        return getSnapshot().version;
+    }
+
+    public static boolean setGhostOnline(GhostPlayer ghost, boolean online) {
         if (instance == null) {
-            return Collections.emptyList();
-        }
-        List<GhostPlayer> online = new ArrayList<>();
-        for (GhostPlayer ghost : instance.ghosts) {
-            if (ghost.isOnline()) {
-                online.add(ghost);
+            if (ghost != null) {
+                ghost.setOnline(online);
             }
+            return false;
         }
-        return online;
+        return instance.registry.setOnline(ghost, online);
+    }
+
+    public static boolean setGhostAlive(GhostPlayer ghost, boolean alive) {
+        return instance != null && instance.registry.setAlive(ghost, alive);
+    }
+
+    public static GhostPlayer findGhost(String name) {
+        return instance == null ? null : instance.registry.findByName(name);
+    }
+
+    public static GhostPlayer findGhost(UUID uuid) {
+        return instance == null ? null : instance.registry.findByUuid(uuid);
+    }
+
+    public static GhostPlayer findOnlineGhost(String name) {
+        return instance == null ? null : instance.registry.findOnlineByName(name);
     }
 
     public void clearGhosts() {
-        ghosts.clear();
+        registry.clear();
     }
 
     public int totalCount() {
-        return ghosts.size();
+        return registry.size();
     }
 }
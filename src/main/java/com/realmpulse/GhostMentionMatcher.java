@@ -0,0 +1,183 @@
+package com.realmpulse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over lowercase ghost names and their "@name" forms.
+ * One pass over a message yields every mention, no matter how many ghosts are online.
+ */
+public final class GhostMentionMatcher {
+
+    static final GhostMentionMatcher EMPTY = new GhostMentionMatcher(List.of());
+
+    private final GhostPlayer[] ghosts;
+    private final boolean[] atForm;
+    private final int[] patternLength;
+    private final Map<Character, Integer> alphabet = new HashMap<>();
+    private final int[] asciiSymbols = new int[128];
+    private final int[][] next;
+    private final int[] patternAt;
+    private final int[] outputLink;
+
+    private GhostMentionMatcher(Collection<GhostPlayer> source) {
+        List<GhostPlayer> patternGhosts = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        for (GhostPlayer ghost : source) {
+            String name = ghost.getName();
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            patternGhosts.add(ghost);
+            patterns.add(lower);
+            patternGhosts.add(ghost);
+            patterns.add("@" + lower);
+        }
+        int count = patterns.size();
+        ghosts = patternGhosts.toArray(new GhostPlayer[0]);
+        atForm = new boolean[count];
+        patternLength = new int[count];
+
+        // Trie first, states numbered in insertion order with 0 as the root
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminal.add(-1);
+        for (int p = 0; p < count; p++) {
+            String pattern = patterns.get(p);
+            atForm[p] = pattern.charAt(0) == '@';
+            patternLength[p] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                alphabet.putIfAbsent(c, alphabet.size());
+                Integer child = children.get(state).get(c);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new HashMap<>());
+                    terminal.add(-1);
+                    children.get(state).put(c, child);
+                }
+                state = child;
+            }
+            // Two ghosts can't share a lowercase name, the registry keys them the same way
+            if (terminal.get(state) < 0) {
+                terminal.set(state, p);
+            }
+        }
+
+        Arrays.fill(asciiSymbols, -1);
+        for (Map.Entry<Character, Integer> entry : alphabet.entrySet()) {
+            if (entry.getKey() < asciiSymbols.length) {
+                asciiSymbols[entry.getKey()] = entry.getValue();
+            }
+        }
+
+        int states = children.size();
+        int symbols = alphabet.size();
+        next = new int[states][symbols];
+        patternAt = new int[states];
+        outputLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            patternAt[s] = terminal.get(s);
+        }
+        outputLink[0] = -1;
+
+        // Breadth-first fill turns the trie plus failure links into a full transition table
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Character, Integer> entry : alphabet.entrySet()) {
+            Integer child = children.get(0).get(entry.getKey());
+            if (child != null) {
+                next[0][entry.getValue()] = child;
+                fail[child] = 0;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> entry : alphabet.entrySet()) {
+                int symbol = entry.getValue();
+                Integer child = children.get(state).get(entry.getKey());
+                if (child == null) {
+                    next[state][symbol] = next[fail[state]][symbol];
+                    continue;
+                }
+                next[state][symbol] = child;
+                int childFail = next[fail[state]][symbol];
+                fail[child] = childFail;
+                outputLink[child] = patternAt[childFail] >= 0 ? childFail : outputLink[childFail];
+                queue.add(child);
+            }
+        }
+    }
+
+    static GhostMentionMatcher of(Collection<GhostPlayer> ghosts) {
+        return ghosts.isEmpty() ? EMPTY : new GhostMentionMatcher(ghosts);
+    }
+
+    /**
+     * Every plain-name mention bounded by non-name characters, plus every "@name" mention.
+     * Results are ordered by end position.
+     */
+    public List<Mention> findAll(String message) {
+        if (message == null || message.isEmpty() || ghosts.length == 0) {
+            return List.of();
+        }
+        String lower = message.toLowerCase(Locale.ROOT);
+        List<Mention> mentions = null;
+        int state = 0;
+        for (int i = 0; i < lower.length(); i++) {
+            int symbol = symbolOf(lower.charAt(i));
+            state = symbol < 0 ? 0 : next[state][symbol];
+            for (int s = patternAt[state] >= 0 ? state : outputLink[state]; s > 0; s = outputLink[s]) {
+                int pattern = patternAt[s];
+                int start = i + 1 - patternLength[pattern];
+                // "@" already separates the name on the left
+                boolean wholeToken = (atForm[pattern] || isBoundary(lower, start - 1)) && isBoundary(lower, i + 1);
+                if (atForm[pattern] || wholeToken) {
+                    if (mentions == null) {
+                        mentions = new ArrayList<>(2);
+                    }
+                    mentions.add(new Mention(ghosts[pattern], start, atForm[pattern], wholeToken));
+                }
+            }
+        }
+        return mentions == null ? List.of() : mentions;
+    }
+
+    public boolean mentionsAny(String message) {
+        return !findAll(message).isEmpty();
+    }
+
+    private int symbolOf(char c) {
+        if (c < asciiSymbols.length) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = alphabet.get(c);
+        return symbol == null ? -1 : symbol;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        if (index < 0 || index >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(index);
+        return !(Character.isLetterOrDigit(c) || c == '_');
+    }
+
+    public int patternCount() {
+        return ghosts.length;
+    }
+
+    public record Mention(GhostPlayer ghost, int start, boolean at, boolean wholeToken) {
+    }
+}
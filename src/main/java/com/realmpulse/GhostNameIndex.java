@@ -0,0 +1,72 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class GhostNameIndex {
+
+    static final GhostNameIndex EMPTY = new GhostNameIndex(new String[0], new String[0]);
+
+    private static final int MAX_CACHED_PREFIXES = 512;
+
+    private final String[] keys;
+    private final String[] names;
+    private final Map<String, List<String>> byPrefix = new ConcurrentHashMap<>();
+
+    private GhostNameIndex(String[] keys, String[] names) {
+        this.keys = keys;
+        this.names = names;
+    }
+
+    static GhostNameIndex of(Collection<GhostPlayer> ghosts) {
+        List<String[]> entries = new ArrayList<>(ghosts.size());
+        for (GhostPlayer ghost : ghosts) {
+            String name = ghost.getName();
+            if (name != null && !name.isBlank()) {
+                entries.add(new String[] {name.toLowerCase(Locale.ROOT), name});
+            }
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        entries.sort((a, b) -> a[0].compareTo(b[0]));
+        String[] keys = new String[entries.size()];
+        String[] names = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i)[0];
+            names[i] = entries.get(i)[1];
+        }
+        return new GhostNameIndex(keys, names);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    // Names sharing a prefix are contiguous in the sorted keys, so a lookup is two binary searches.
+    public List<String> complete(String prefix) {
+        String key = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        List<String> cached = byPrefix.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int from = lowerBound(key);
+        int to = key.isEmpty() ? keys.length : lowerBound(key + Character.MAX_VALUE);
+        List<String> result = from >= to ? List.of() : List.of(Arrays.copyOfRange(names, from, to));
+        if (byPrefix.size() >= MAX_CACHED_PREFIXES) {
+            byPrefix.clear();
+        }
+        byPrefix.put(key, result);
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -1,5 +1,8 @@
 package com.realmpulse;
 
+import com.comphenix.protocol.wrappers.EnumWrappers.NativeGameMode;
+import com.comphenix.protocol.wrappers.PlayerInfoData;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.comphenix.protocol.wrappers.WrappedGameProfile;
 import net.milkbowl.vault.chat.Chat;
 import org.bukkit.Bukkit;
@@ -22,12 +25,15 @@ public class GhostPlayer {
     private final String name;
     private final UUID uuid;
     private final String prefix;
-    private int ping;
+    private volatile int ping;
     private final WrappedGameProfile profile;
     private final String displayName;
+    private final WrappedChatComponent tabDisplayComponent;
+    // Rebuilt only when the ping changes, everything else in the entry is fixed for the ghost's lifetime
+    private volatile PlayerInfoData tabInfoData;
     private final int level;
     private final Language language;
-    private boolean isOnline;
+    private volatile boolean isOnline;
 
     public GhostPlayer(String name, JavaPlugin plugin, Language language) {
         this.name = name;
@@ -37,6 +43,7 @@ public class GhostPlayer {
         this.displayName = this.prefix + this.name;
         this.ping = ThreadLocalRandom.current().nextInt(50, 301);
         this.profile = new WrappedGameProfile(this.uuid, this.name);
+        this.tabDisplayComponent = WrappedChatComponent.fromLegacyText(ColorUtils.translate(this.displayName));
         this.language = language == null ? Language.ZH : language;
         this.isOnline = true;
     }
@@ -168,6 +175,28 @@ public class GhostPlayer {
         return displayName;
     }
 
+    public WrappedChatComponent getTabDisplayComponent() {
+        return tabDisplayComponent;
+    }
+
+    public PlayerInfoData getTabInfoData() {
+        int currentPing = ping;
+        PlayerInfoData cached = tabInfoData;
+        if (cached != null && cached.getLatency() == currentPing) {
+            return cached;
+        }
+        PlayerInfoData rebuilt = new PlayerInfoData(
+            uuid,
+            currentPing,
+            true, // listed
+            NativeGameMode.SURVIVAL,
+            profile,
+            tabDisplayComponent
+        );
+        tabInfoData = rebuilt;
+        return rebuilt;
+    }
+
     public Language getLanguage() {
         return language;
     }
@@ -180,7 +209,8 @@ public class GhostPlayer {
         return isOnline;
     }
 
-    public void setOnline(boolean online) {
+    // Only GhostRegistry flips this, callers go through GhostManager.setGhostOnline
+    void setOnline(boolean online) {
         isOnline = online;
     }
 }
@@ -0,0 +1,198 @@
+package com.realmpulse;
+
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class GhostRegistry {
+
+    private final Object lock = new Object();
+    private final Map<String, GhostPlayer> byName = new HashMap<>();
+    private final Map<UUID, GhostPlayer> byUuid = new LinkedHashMap<>();
+    private final Set<GhostPlayer> online = new LinkedHashSet<>();
+    private final Set<GhostPlayer> offline = new LinkedHashSet<>();
+    private final Set<UUID> dead = new HashSet<>();
+    private long version;
+    private volatile Snapshot snapshot = new Snapshot(0L, List.of(), List.of(), List.of(), GhostNameIndex.EMPTY);
+    private volatile MatcherCache mentionMatcher = new MatcherCache(List.of(), GhostMentionMatcher.EMPTY);
+    private volatile List<GhostPlayer> all = List.of();
+    private volatile Map<String, GhostPlayer> byNameView = Map.of();
+    private volatile Map<UUID, GhostPlayer> byUuidView = Map.of();
+
+    public void replaceAll(Collection<GhostPlayer> ghosts) {
+        synchronized (lock) {
+            // Death state is keyed by UUID so it survives a roster rebuild
+            Set<UUID> previouslyDead = new HashSet<>(dead);
+            detachAll();
+            for (GhostPlayer ghost : ghosts) {
+                if (ghost == null || ghost.getName() == null) {
+                    continue;
+                }
+                byName.put(nameKey(ghost.getName()), ghost);
+                byUuid.put(ghost.getUuid(), ghost);
+                (ghost.isOnline() ? online : offline).add(ghost);
+                if (previouslyDead.contains(ghost.getUuid())) {
+                    dead.add(ghost.getUuid());
+                }
+            }
+            publishIndexes();
+            publishSnapshot(true);
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            detachAll();
+            publishIndexes();
+            publishSnapshot(true);
+        }
+    }
+
+    private void detachAll() {
+        byName.clear();
+        byUuid.clear();
+        online.clear();
+        offline.clear();
+        dead.clear();
+    }
+
+    private void publishIndexes() {
+        all = List.copyOf(byUuid.values());
+        byNameView = Map.copyOf(byName);
+        byUuidView = Map.copyOf(byUuid);
+    }
+
+    // Copy-on-change: readers only ever see a published immutable snapshot.
+    private void publishSnapshot(boolean onlineChanged) {
+        List<GhostPlayer> onlineAlive = new ArrayList<>(online.size());
+        for (GhostPlayer ghost : online) {
+            if (!dead.contains(ghost.getUuid())) {
+                onlineAlive.add(ghost);
+            }
+        }
+        version++;
+        Snapshot previous = snapshot;
+        List<GhostPlayer> onlineView = onlineChanged ? List.copyOf(online) : previous.online;
+        GhostNameIndex onlineNames = onlineChanged ? GhostNameIndex.of(onlineView) : previous.onlineNames;
+        List<GhostPlayer> offlineView = onlineChanged ? List.copyOf(offline) : previous.offline;
+        snapshot = new Snapshot(version, onlineView, List.copyOf(onlineAlive), offlineView, onlineNames);
+    }
+
+    public boolean setOnline(GhostPlayer ghost, boolean isOnline) {
+        if (ghost == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (byUuid.get(ghost.getUuid()) != ghost) {
+                ghost.setOnline(isOnline);
+                return false;
+            }
+            if (ghost.isOnline() == isOnline && (isOnline ? online : offline).contains(ghost)) {
+                return false;
+            }
+            ghost.setOnline(isOnline);
+            if (isOnline) {
+                offline.remove(ghost);
+                online.add(ghost);
+            } else {
+                online.remove(ghost);
+                offline.add(ghost);
+            }
+            publishSnapshot(true);
+            return true;
+        }
+    }
+
+    public boolean setAlive(GhostPlayer ghost, boolean alive) {
+        if (ghost == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (byUuid.get(ghost.getUuid()) != ghost) {
+                return false;
+            }
+            boolean changed = alive ? dead.remove(ghost.getUuid()) : dead.add(ghost.getUuid());
+            if (changed) {
+                publishSnapshot(false);
+            }
+            return changed;
+        }
+    }
+
+    public GhostPlayer findByName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return byNameView.get(nameKey(name));
+    }
+
+    public GhostPlayer findOnlineByName(String name) {
+        GhostPlayer ghost = findByName(name);
+        return ghost != null && ghost.isOnline() ? ghost : null;
+    }
+
+    public GhostPlayer findByUuid(UUID uuid) {
+        return uuid == null ? null : byUuidView.get(uuid);
+    }
+
+    public List<GhostPlayer> all() {
+        return all;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    // Built on first use after the online roster changes; death flips keep the same online list.
+    public GhostMentionMatcher mentionMatcher() {
+        List<GhostPlayer> online = snapshot.online;
+        MatcherCache cached = mentionMatcher;
+        if (cached.source == online) {
+            return cached.matcher;
+        }
+        GhostMentionMatcher matcher = GhostMentionMatcher.of(online);
+        mentionMatcher = new MatcherCache(online, matcher);
+        return matcher;
+    }
+
+    private record MatcherCache(List<GhostPlayer> source, GhostMentionMatcher matcher) {
+    }
+
+    static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Snapshot {
+        public final long version;
+        public final List<GhostPlayer> online;
+        public final List<GhostPlayer> onlineAlive;
+        public final List<GhostPlayer> offline;
+        public final GhostNameIndex onlineNames;
+
+        private Snapshot(
+            long version,
+            List<GhostPlayer> online,
+            List<GhostPlayer> onlineAlive,
+            List<GhostPlayer> offline,
+            GhostNameIndex onlineNames
+        ) {
+            this.version = version;
+            this.online = online;
+            this.onlineAlive = onlineAlive;
+            this.offline = offline;
+            this.onlineNames = onlineNames;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.realmpulse;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Pre-generated idle chat lines, one bucket per language and persona style. Idle chat takes lines
+ * from here without waiting on the API; a background job refills buckets that fell below the
+ * low-water mark with one batched request at a time, and only while the hourly token budget allows.
+ * Lines older than the max age are dropped instead of served, so buffered chat does not drift too
+ * far from what is currently being talked about.
+ */
+public class IdleLinePool {
+
+    private static final long BUDGET_WINDOW_MS = 3_600_000L;
+
+    private final Object lock = new Object();
+    private final Map<String, ArrayDeque<Line>> buckets = new HashMap<>();
+    private final ArrayDeque<long[]> spentTokens = new ArrayDeque<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refills = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private long spentInWindow;
+
+    private record Line(String text, long createdAt) {
+    }
+
+    public static String bucketOf(boolean english, String style) {
+        return (english ? "en:" : "zh:") + (style == null ? "" : style.toLowerCase(Locale.ROOT));
+    }
+
+    // Oldest line first that accept allows, or "" when the bucket has nothing usable
+    public String take(String bucket, long now, long maxAgeMs, Predicate<String> accept) {
+        synchronized (lock) {
+            ArrayDeque<Line> lines = buckets.get(bucket);
+            while (lines != null && !lines.isEmpty()) {
+                Line line = lines.pollFirst();
+                if (now - line.createdAt() < maxAgeMs && accept.test(line.text())) {
+                    served.increment();
+                    return line.text();
+                }
+                discarded.increment();
+            }
+        }
+        misses.increment();
+        return "";
+    }
+
+    // Live lines in the bucket, expired ones are dropped on the way
+    public int size(String bucket, long now, long maxAgeMs) {
+        synchronized (lock) {
+            ArrayDeque<Line> lines = buckets.get(bucket);
+            if (lines == null) {
+                return 0;
+            }
+            Iterator<Line> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().createdAt() >= maxAgeMs) {
+                    iterator.remove();
+                    discarded.increment();
+                }
+            }
+            return lines.size();
+        }
+    }
+
+    public void offer(String bucket, List<String> texts, int highWater, long now) {
+        synchronized (lock) {
+            ArrayDeque<Line> lines = buckets.computeIfAbsent(bucket, ignored -> new ArrayDeque<>());
+            for (String text : texts) {
+                if (lines.size() >= highWater) {
+                    break;
+                }
+                boolean duplicate = false;
+                for (Line existing : lines) {
+                    if (existing.text().equalsIgnoreCase(text)) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (!duplicate) {
+                    lines.addLast(new Line(text, now));
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            buckets.clear();
+        }
+    }
+
+    // Only one refill request is outstanding at a time, so refills never turn into a burst
+    public boolean tryStartRefill() {
+        return refilling.compareAndSet(false, true);
+    }
+
+    public void finishRefill() {
+        refills.increment();
+        refilling.set(false);
+    }
+
+    public boolean hasBudget(long now, int tokensPerHour) {
+        if (tokensPerHour <= 0) {
+            return true;
+        }
+        synchronized (lock) {
+            pruneSpentLocked(now);
+            return spentInWindow < tokensPerHour;
+        }
+    }
+
+    public void recordTokens(long now, int tokens) {
+        if (tokens <= 0) {
+            return;
+        }
+        synchronized (lock) {
+            spentTokens.addLast(new long[] {now, tokens});
+            spentInWindow += tokens;
+        }
+    }
+
+    // Caller holds lock
+    private void pruneSpentLocked(long now) {
+        while (!spentTokens.isEmpty() && now - spentTokens.peekFirst()[0] >= BUDGET_WINDOW_MS) {
+            spentInWindow -= spentTokens.pollFirst()[1];
+        }
+    }
+
+    public PoolStatus getStatus(long now) {
+        int buffered = 0;
+        int bucketCount;
+        long spent;
+        synchronized (lock) {
+            for (ArrayDeque<Line> lines : buckets.values()) {
+                buffered += lines.size();
+            }
+            bucketCount = buckets.size();
+            pruneSpentLocked(now);
+            spent = spentInWindow;
+        }
+        return new PoolStatus(buffered, bucketCount, served.sum(), misses.sum(), refills.sum(), discarded.sum(), spent);
+    }
+
+    public static final class PoolStatus {
+        public final int buffered;
+        public final int buckets;
+        public final long served;
+        public final long misses;
+        public final long refills;
+        public final long discarded;
+        public final long tokensLastHour;
+
+        private PoolStatus(int buffered, int buckets, long served, long misses, long refills, long discarded, long tokensLastHour) {
+            this.buffered = buffered;
+            this.buckets = buckets;
+            this.served = served;
+            this.misses = misses;
+            this.refills = refills;
+            this.discarded = discarded;
+            this.tokensLastHour = tokensLastHour;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.realmpulse;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Insertion-ordered window of distinct strings with a hash index, so contains and remove are O(1).
+ * Removing from the middle leaves a tombstone that is compacted away lazily. Adding a value that
+ * is already present moves it to the new end. The capacity is fixed: once full, addLast evicts the
+ * oldest value and addFirst is refused. Not thread-safe.
+ */
+public final class IndexedStringRing implements Iterable<String> {
+
+    private final boolean ignoreCase;
+    private final RingDeque<String> slots;
+    private final Map<String, Long> positions = new HashMap<>();
+    private long headPosition;
+    private int tombstones;
+
+    public IndexedStringRing(boolean ignoreCase, int capacity) {
+        this.ignoreCase = ignoreCase;
+        this.slots = new RingDeque<>(capacity);
+    }
+
+    // Returns the oldest value evicted to make room, or null while there was room
+    public String addLast(String value) {
+        remove(value);
+        String evicted = null;
+        if (slots.isFull()) {
+            if (tombstones > 0) {
+                compact();
+            } else {
+                evicted = removeFirst();
+            }
+        }
+        positions.put(keyOf(value), headPosition + slots.size());
+        slots.addLast(value);
+        return evicted;
+    }
+
+    public void addFirst(String value) {
+        if (!contains(value) && isFull()) {
+            throw new IllegalStateException("IndexedStringRing is full (" + slots.capacity() + ")");
+        }
+        remove(value);
+        if (slots.isFull()) {
+            compact();
+        }
+        headPosition--;
+        positions.put(keyOf(value), headPosition);
+        slots.addFirst(value);
+    }
+
+    public boolean contains(String value) {
+        return value != null && positions.containsKey(keyOf(value));
+    }
+
+    public boolean remove(String value) {
+        if (value == null) {
+            return false;
+        }
+        Long position = positions.remove(keyOf(value));
+        if (position == null) {
+            return false;
+        }
+        slots.set((int) (position - headPosition), null);
+        tombstones++;
+        trimTombstones();
+        if (tombstones > 16 && tombstones > positions.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    public String removeFirst() {
+        trimTombstones();
+        if (slots.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        String value = slots.removeFirst();
+        headPosition++;
+        positions.remove(keyOf(value));
+        trimTombstones();
+        return value;
+    }
+
+    public String get(int index) {
+        if (tombstones > 0) {
+            compact();
+        }
+        return slots.get(index);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public boolean isEmpty() {
+        return positions.isEmpty();
+    }
+
+    public boolean isFull() {
+        return positions.size() >= slots.capacity();
+    }
+
+    public int capacity() {
+        return slots.capacity();
+    }
+
+    // Reallocates to the new capacity; callers that track evictions trim with removeFirst first
+    public void setCapacity(int capacity) {
+        if (capacity == slots.capacity()) {
+            return;
+        }
+        if (tombstones > 0) {
+            compact();
+        }
+        while (positions.size() > Math.max(1, capacity)) {
+            removeFirst();
+        }
+        slots.setCapacity(capacity);
+    }
+
+    public void clear() {
+        slots.clear();
+        positions.clear();
+        headPosition = 0L;
+        tombstones = 0;
+    }
+
+    private String keyOf(String value) {
+        return ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+    }
+
+    private void trimTombstones() {
+        while (!slots.isEmpty() && slots.peekFirst() == null) {
+            slots.removeFirst();
+            headPosition++;
+            tombstones--;
+        }
+        while (!slots.isEmpty() && slots.peekLast() == null) {
+            slots.removeLast();
+            tombstones--;
+        }
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            String value = slots.get(i);
+            if (value == null) {
+                continue;
+            }
+            slots.set(live, value);
+            positions.put(keyOf(value), headPosition + live);
+            live++;
+        }
+        while (slots.size() > live) {
+            slots.removeLast();
+        }
+        tombstones = 0;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int index = skip(0);
+
+            private int skip(int from) {
+                while (from < slots.size() && slots.get(from) == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < slots.size();
+            }
+
+            @Override
+            public String next() {
+                if (index >= slots.size()) {
+                    throw new NoSuchElementException();
+                }
+                String value = slots.get(index);
+                index = skip(index + 1);
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.realmpulse;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ReentrantLock that counts how often an acquisition had to wait and for how long,
+ * so contention shows up in /rp perf instead of only in a profiler.
+ */
+public final class InstrumentedLock {
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public InstrumentedLock(String name) {
+        this.name = name;
+    }
+
+    public void lock() {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        long waited = System.nanoTime() - start;
+        contended.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    public void unlock() {
+        lock.unlock();
+    }
+
+    public LockStatus getStatus() {
+        return new LockStatus(
+            name,
+            acquisitions.sum(),
+            contended.sum(),
+            waitNanos.sum() / 1_000_000L,
+            maxWaitNanos.get() / 1_000_000L
+        );
+    }
+
+    public static final class LockStatus {
+        public final String name;
+        public final long acquisitions;
+        public final long contended;
+        public final long totalWaitMs;
+        public final long maxWaitMs;
+
+        private LockStatus(String name, long acquisitions, long contended, long totalWaitMs, long maxWaitMs) {
+            this.name = name;
+            this.acquisitions = acquisitions;
+            this.contended = contended;
+            this.totalWaitMs = totalWaitMs;
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.realmpulse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+public class JoinSyncQueue {
+
+    private final RealmPulse plugin;
+    private final PacketManager packetManager;
+    private final Deque<PendingSync> pending = new ArrayDeque<>();
+    private BukkitTask drainTask;
+    private long completedSyncs;
+    private long totalDrainMs;
+    private long maxDrainMs;
+    private long lastDrainMs;
+    private int peakQueuedViewers;
+
+    public JoinSyncQueue(RealmPulse plugin, PacketManager packetManager) {
+        this.plugin = plugin;
+        this.packetManager = packetManager;
+    }
+
+    public void enqueue(Player player) {
+        if (player == null) {
+            return;
+        }
+        UUID viewerId = player.getUniqueId();
+        pending.removeIf(sync -> sync.viewerId.equals(viewerId));
+        pending.addLast(new PendingSync(viewerId, System.currentTimeMillis(), GhostManager.getOnlineGhosts()));
+        peakQueuedViewers = Math.max(peakQueuedViewers, pending.size());
+        if (drainTask == null) {
+            drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drainTick, 1L, 1L);
+        }
+    }
+
+    public void forget(UUID viewerId) {
+        if (viewerId != null) {
+            pending.removeIf(sync -> sync.viewerId.equals(viewerId));
+        }
+    }
+
+    public void stop() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        pending.clear();
+    }
+
+    private void drainTick() {
+        int budget = Math.max(1, plugin.getSettings().getInt("tab.join-sync-entries-per-tick", 100));
+        long now = System.currentTimeMillis();
+        Iterator<PendingSync> iterator = pending.iterator();
+        while (budget > 0 && iterator.hasNext()) {
+            PendingSync sync = iterator.next();
+            Player viewer = Bukkit.getPlayer(sync.viewerId);
+            if (viewer == null || !viewer.isOnline()) {
+                iterator.remove();
+                continue;
+            }
+            if (sync.scoreboardPhase && now < sync.scoreboardNotBefore) {
+                continue;
+            }
+
+            int end = Math.min(sync.ghosts.size(), sync.cursor + budget);
+            List<GhostPlayer> chunk = new ArrayList<>(end - sync.cursor);
+            for (int i = sync.cursor; i < end; i++) {
+                GhostPlayer ghost = sync.ghosts.get(i);
+                // Ghosts that went offline meanwhile were already removed for everyone by the simulator
+                if (ghost.isOnline()) {
+                    chunk.add(ghost);
+                }
+            }
+            budget -= end - sync.cursor;
+            sync.cursor = end;
+
+            if (sync.scoreboardPhase) {
+                for (GhostPlayer ghost : chunk) {
+                    packetManager.sendScoreboardLevel(viewer, ghost);
+                }
+            } else {
+                packetManager.sendTabListAddBatch(viewer, chunk);
+            }
+            if (sync.cursor < sync.ghosts.size()) {
+                continue;
+            }
+
+            if (sync.scoreboardPhase) {
+                iterator.remove();
+                continue;
+            }
+            recordDrained(now - sync.enqueuedAt);
+            // Delay scoreboard update to ensure MNS/TAB has initialized the client's scoreboard
+            long delayTicks = Math.max(0L, plugin.getSettings().getLong("tab.join-scoreboard-delay-ticks", 80L));
+            sync.scoreboardPhase = true;
+            sync.scoreboardNotBefore = sync.enqueuedAt + delayTicks * 50L;
+            sync.cursor = 0;
+        }
+
+        if (pending.isEmpty() && drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+    }
+
+    private void recordDrained(long elapsedMs) {
+        completedSyncs++;
+        totalDrainMs += elapsedMs;
+        lastDrainMs = elapsedMs;
+        maxDrainMs = Math.max(maxDrainMs, elapsedMs);
+    }
+
+    public SyncStatus getStatus() {
+        int queuedEntries = 0;
+        for (PendingSync sync : pending) {
+            if (!sync.scoreboardPhase) {
+                queuedEntries += sync.ghosts.size() - sync.cursor;
+            }
+        }
+        long averageDrainMs = completedSyncs <= 0 ? 0L : totalDrainMs / completedSyncs;
+        return new SyncStatus(
+            pending.size(),
+            peakQueuedViewers,
+            queuedEntries,
+            completedSyncs,
+            lastDrainMs,
+            averageDrainMs,
+            maxDrainMs
+        );
+    }
+
+    private static final class PendingSync {
+        private final UUID viewerId;
+        private final long enqueuedAt;
+        private final List<GhostPlayer> ghosts;
+        private int cursor;
+        private boolean scoreboardPhase;
+        private long scoreboardNotBefore;
+
+        private PendingSync(UUID viewerId, long enqueuedAt, List<GhostPlayer> ghosts) {
+            this.viewerId = viewerId;
+            this.enqueuedAt = enqueuedAt;
+            this.ghosts = ghosts;
+        }
+    }
+
+    public static final class SyncStatus {
+        public final int queuedViewers;
+        public final int peakQueuedViewers;
+        public final int queuedEntries;
+        public final long completedSyncs;
+        public final long lastDrainMs;
+        public final long averageDrainMs;
+        public final long maxDrainMs;
+
+        private SyncStatus(
+            int queuedViewers,
+            int peakQueuedViewers,
+            int queuedEntries,
+            long completedSyncs,
+            long lastDrainMs,
+            long averageDrainMs,
+            long maxDrainMs
+        ) {
+            this.queuedViewers = queuedViewers;
+            this.peakQueuedViewers = peakQueuedViewers;
+            this.queuedEntries = queuedEntries;
+            this.completedSyncs = completedSyncs;
+            this.lastDrainMs = lastDrainMs;
+            this.averageDrainMs = averageDrainMs;
+            this.maxDrainMs = maxDrainMs;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.realmpulse;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Persistence for a collection of single-line strings: a binary PhraseSnapshot plus an append-only
+ * journal of "+line" / "-line" records. Mutations only append to the journal. Once the journal
+ * outgrows the live data it is compacted into a new snapshot, written to a temp file and renamed
+ * into place. The old YAML file is only read when no snapshot exists yet, and can be written again
+ * on demand with exportYaml.
+ * Replaying a journal over a snapshot that already contains its records is harmless, so a crash
+ * between the rename and the journal truncation loses nothing.
+ * Owners must mutate their data and call appendAdd/appendRemove while holding ownerLock, so a
+ * compaction sees either both the change and its record or neither.
+ */
+public class JournalStore {
+
+    private final Logger logger;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path yamlFile;
+    private final Path legacyJournalFile;
+    private final String yamlKey;
+    private final Function<String, PhraseSnapshot.Entry> encoder;
+    private final Object ownerLock;
+    private final Object pendingLock = new Object();
+    private final Object ioLock = new Object();
+    private StringBuilder pending = new StringBuilder();
+    private int journalRecords;
+    private boolean snapshotLoaded;
+    private boolean compactRequired;
+    private boolean corruptSnapshotInPlace;
+
+    // yamlName is the legacy file, e.g. "learned-raw.yml"; the snapshot becomes "learned-raw.bin"
+    public JournalStore(
+        File dataFolder,
+        String yamlName,
+        String yamlKey,
+        Function<String, PhraseSnapshot.Entry> encoder,
+        Object ownerLock,
+        Logger logger
+    ) {
+        this.logger = logger;
+        this.ownerLock = ownerLock;
+        String baseName = yamlName.endsWith(".yml") ? yamlName.substring(0, yamlName.length() - 4) : yamlName;
+        Path folder = dataFolder.toPath();
+        this.snapshotFile = folder.resolve(baseName + ".bin");
+        this.journalFile = folder.resolve(baseName + ".journal");
+        this.yamlFile = folder.resolve(yamlName);
+        this.legacyJournalFile = folder.resolve(yamlName + ".journal");
+        this.yamlKey = yamlKey;
+        this.encoder = encoder;
+    }
+
+    // True until a readable binary snapshot has been loaded or written
+    public boolean needsSnapshot() {
+        synchronized (ioLock) {
+            return !snapshotLoaded;
+        }
+    }
+
+    /**
+     * Feeds the snapshot entries to onAdd, then replays the journal in order. Without a readable
+     * binary snapshot the legacy YAML file and its journal are imported instead. An unreadable
+     * snapshot and the journal written on top of it are moved aside as ".corrupt" files rather than
+     * replayed onto the YAML data, so the compaction that follows cannot overwrite them.
+     */
+    public void replay(Consumer<PhraseSnapshot.Entry> onAdd, Consumer<String> onRemove) {
+        boolean loaded = false;
+        if (Files.exists(snapshotFile)) {
+            try {
+                for (PhraseSnapshot.Entry entry : PhraseSnapshot.read(snapshotFile)) {
+                    onAdd.accept(entry);
+                }
+                loaded = true;
+            } catch (IOException e) {
+                logger.warning("Failed to read " + snapshotFile.getFileName() + ", falling back to YAML: " + e.getMessage());
+                if (!moveAside(snapshotFile)) {
+                    synchronized (ioLock) {
+                        corruptSnapshotInPlace = true;
+                    }
+                }
+            }
+        }
+        int records = 0;
+        if (loaded) {
+            records += replayJournal(journalFile, onAdd, onRemove);
+        } else {
+            for (String line : readYaml()) {
+                onAdd.accept(encoder.apply(line));
+            }
+            records += replayJournal(legacyJournalFile, onAdd, onRemove);
+            // Its records are relative to the snapshot, not to the YAML file
+            moveAside(journalFile);
+        }
+        synchronized (ioLock) {
+            journalRecords = records;
+            snapshotLoaded = loaded;
+        }
+    }
+
+    // Renames file to "<name>.corrupt", false when it could not be moved
+    private boolean moveAside(Path file) {
+        if (!Files.exists(file)) {
+            return true;
+        }
+        Path target = file.resolveSibling(file.getFileName() + ".corrupt");
+        try {
+            moveAtomically(file, target);
+            logger.warning("Moved " + file.getFileName() + " to " + target.getFileName() + ", learned lines since the last YAML export are kept there.");
+            return true;
+        } catch (IOException e) {
+            logger.warning("Failed to move " + file.getFileName() + " aside: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int replayJournal(Path file, Consumer<PhraseSnapshot.Entry> onAdd, Consumer<String> onRemove) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int records = 0;
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int start = 0;
+            int end;
+            // Anything after the last newline is a record torn by a crash mid-append and is skipped
+            while ((end = content.indexOf('\n', start)) >= 0) {
+                String record = content.substring(start, end);
+                start = end + 1;
+                if (record.length() < 2) {
+                    continue;
+                }
+                char op = record.charAt(0);
+                String line = record.substring(1);
+                if (op == '+') {
+                    onAdd.accept(encoder.apply(line));
+                } else if (op == '-') {
+                    onRemove.accept(line);
+                }
+                records++;
+            }
+            if (start < content.length()) {
+                // Cut the torn tail so the next append starts on a fresh line
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(content.substring(0, start).getBytes(StandardCharsets.UTF_8).length);
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to replay " + file.getFileName() + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    public void appendAdd(String line) {
+        append('+', line);
+    }
+
+    public void appendRemove(String line) {
+        append('-', line);
+    }
+
+    private void append(char op, String line) {
+        if (line == null || line.isEmpty() || line.indexOf('\n') >= 0 || line.indexOf('\r') >= 0) {
+            return;
+        }
+        synchronized (pendingLock) {
+            pending.append(op).append(line).append('\n');
+        }
+    }
+
+    /**
+     * Writes pending records to the journal, compacting instead when the journal has grown past
+     * compactFactor times the live size. Returns the bytes written. Blocking, call off the main thread.
+     */
+    public long flush(Supplier<List<PhraseSnapshot.Entry>> liveEntries, int liveSize, int compactFactor, boolean fsync) throws IOException {
+        synchronized (ioLock) {
+            String batch;
+            synchronized (pendingLock) {
+                batch = pending.toString();
+                pending = new StringBuilder();
+            }
+            int batchRecords = countRecords(batch);
+            if (compactRequired || journalRecords + batchRecords > Math.max(256, liveSize * Math.max(1, compactFactor))) {
+                return compact(liveEntries, fsync);
+            }
+            if (batch.isEmpty()) {
+                return 0L;
+            }
+            byte[] bytes = batch.getBytes(StandardCharsets.UTF_8);
+            try {
+                Files.createDirectories(journalFile.getParent());
+                try (FileChannel channel = FileChannel.open(
+                    journalFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+                )) {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    if (fsync) {
+                        channel.force(false);
+                    }
+                }
+            } catch (IOException e) {
+                // The journal may now end in a partial batch, the retry rewrites everything instead
+                compactRequired = true;
+                throw e;
+            }
+            journalRecords += batchRecords;
+            return bytes.length;
+        }
+    }
+
+    /**
+     * Rewrites the snapshot from the live data and empties the journal, returns the snapshot size.
+     * The live copy is taken under ownerLock together with dropping the pending records it already
+     * reflects.
+     */
+    public long compact(Supplier<List<PhraseSnapshot.Entry>> liveEntries, boolean fsync) throws IOException {
+        synchronized (ioLock) {
+            if (corruptSnapshotInPlace) {
+                // Never overwrite the only copy of what could not be read
+                throw new IOException(snapshotFile.getFileName() + " is unreadable and could not be moved aside");
+            }
+            List<PhraseSnapshot.Entry> entries;
+            synchronized (ownerLock) {
+                synchronized (pendingLock) {
+                    pending = new StringBuilder();
+                }
+                entries = liveEntries.get();
+            }
+            long size;
+            try {
+                size = PhraseSnapshot.write(snapshotFile, entries, fsync);
+            } catch (IOException e) {
+                // The pending records are gone already, only a full rewrite can catch up now
+                compactRequired = true;
+                throw e;
+            }
+            compactRequired = false;
+            Files.deleteIfExists(journalFile);
+            Files.deleteIfExists(legacyJournalFile);
+            journalRecords = 0;
+            snapshotLoaded = true;
+            return size;
+        }
+    }
+
+    // Lines of the legacy YAML file, empty when it does not exist
+    public List<String> readYaml() {
+        if (!Files.exists(yamlFile)) {
+            return new ArrayList<>();
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(yamlFile.toFile());
+        return new ArrayList<>(yaml.getStringList(yamlKey));
+    }
+
+    // Writes the live lines to the YAML file for hand editing or older plugin versions
+    public boolean exportYaml(List<PhraseSnapshot.Entry> entries) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (PhraseSnapshot.Entry entry : entries) {
+            lines.add(entry.text());
+        }
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set(yamlKey, lines);
+        Path temp = yamlFile.resolveSibling(yamlFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(yamlFile.getParent());
+            Files.writeString(temp, yaml.saveToString(), StandardCharsets.UTF_8);
+            moveAtomically(temp, yamlFile);
+            return true;
+        } catch (IOException e) {
+            logger.warning("Failed to export " + yamlFile.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int countRecords(String batch) {
+        int count = 0;
+        for (int i = 0; i < batch.length(); i++) {
+            if (batch.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
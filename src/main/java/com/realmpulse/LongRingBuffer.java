@@ -0,0 +1,83 @@
+package com.realmpulse;
+
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO of primitive longs (timestamps) backed by a fixed-size circular array, no boxing per entry.
+ * Once full, addLast overwrites the oldest value. Not thread-safe.
+ */
+public final class LongRingBuffer {
+
+    private long[] values;
+    private int head;
+    private int size;
+
+    public LongRingBuffer(int capacity) {
+        values = new long[Math.max(1, capacity)];
+    }
+
+    public void addLast(long value) {
+        if (size == values.length) {
+            values[head] = value;
+            head = (head + 1) % values.length;
+            return;
+        }
+        values[(head + size) % values.length] = value;
+        size++;
+    }
+
+    public long peekFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[head];
+    }
+
+    public long removeFirst() {
+        long value = peekFirst();
+        head = (head + 1) % values.length;
+        size--;
+        return value;
+    }
+
+    // Drops every leading entry older than the cutoff
+    public void removeOlderThan(long cutoff) {
+        while (size > 0 && values[head] < cutoff) {
+            head = (head + 1) % values.length;
+            size--;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    // Reallocates to the new capacity, dropping the oldest values that no longer fit
+    public void setCapacity(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == values.length) {
+            return;
+        }
+        int keep = Math.min(size, capacity);
+        long[] resized = new long[capacity];
+        for (int i = 0; i < keep; i++) {
+            resized[i] = values[(head + size - keep + i) % values.length];
+        }
+        values = resized;
+        head = 0;
+        size = keep;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * MinHash/LSH index over similarity fingerprints, keyed by the normalized key.
+ * A query only verifies entries that share at least one LSH band with the candidate;
+ * the final decision is still the exact Dice check. For thresholds so low that a true match would
+ * too often share no band at all, queries fall back to checking every entry, so lowering the
+ * configured threshold never lets repeats through. Not thread-safe, callers hold their own lock.
+ */
+public final class NearDuplicateIndex<T> {
+
+    // 12 bands of 3 rows: Jaccard 0.7 (Dice ~0.82) collides in at least one band ~99% of the time
+    private static final int BANDS = 12;
+    private static final int ROWS = 3;
+    // Below this band-collision probability a query scans all entries instead of the buckets
+    private static final double MIN_RECALL = 0.95;
+    private static final long[] SEEDS = new long[BANDS * ROWS];
+
+    static {
+        long state = 0x5DEECE66DL;
+        for (int i = 0; i < SEEDS.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(state) | 1L;
+        }
+    }
+
+    private final Map<String, Entry<T>> byKey = new HashMap<>();
+    private final List<Map<Long, List<Entry<T>>>> buckets = new ArrayList<>(BANDS);
+    private long queryStamp;
+
+    public NearDuplicateIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public T get(String key) {
+        Entry<T> entry = byKey.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void put(SimilarityFingerprint fingerprint, T value) {
+        if (fingerprint == null || fingerprint.isEmpty()) {
+            return;
+        }
+        Entry<T> existing = byKey.get(fingerprint.key());
+        if (existing != null) {
+            existing.value = value;
+            return;
+        }
+        Entry<T> entry = new Entry<>(fingerprint, bandKeys(fingerprint), value);
+        byKey.put(fingerprint.key(), entry);
+        if (entry.bandKeys == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).computeIfAbsent(entry.bandKeys[band], ignored -> new ArrayList<>(2)).add(entry);
+        }
+    }
+
+    public T remove(String key) {
+        Entry<T> entry = byKey.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.bandKeys != null) {
+            for (int band = 0; band < BANDS; band++) {
+                Map<Long, List<Entry<T>>> bandBuckets = buckets.get(band);
+                List<Entry<T>> bucket = bandBuckets.get(entry.bandKeys[band]);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        bandBuckets.remove(entry.bandKeys[band]);
+                    }
+                }
+            }
+        }
+        return entry.value;
+    }
+
+    public void clear() {
+        byKey.clear();
+        for (Map<Long, List<Entry<T>>> bandBuckets : buckets) {
+            bandBuckets.clear();
+        }
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    /**
+     * Returns the value of the first stored entry that is similar to the fingerprint and passes the filter.
+     */
+    public T findSimilar(SimilarityFingerprint fingerprint, double threshold, Predicate<T> filter) {
+        if (fingerprint == null || fingerprint.isEmpty() || byKey.isEmpty()) {
+            return null;
+        }
+        long stamp = ++queryStamp;
+        Entry<T> exact = byKey.get(fingerprint.key());
+        if (exact != null) {
+            exact.visitedAt = stamp;
+            if (filter.test(exact.value)) {
+                return exact.value;
+            }
+        }
+        if (bandRecall(threshold) < MIN_RECALL) {
+            for (Entry<T> entry : byKey.values()) {
+                if (entry.visitedAt != stamp && fingerprint.isSimilar(entry.fingerprint, threshold) && filter.test(entry.value)) {
+                    return entry.value;
+                }
+            }
+            return null;
+        }
+        long[] keys = bandKeys(fingerprint);
+        if (keys == null) {
+            return null;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry<T>> bucket = buckets.get(band).get(keys[band]);
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry<T> entry : bucket) {
+                if (entry.visitedAt == stamp) {
+                    continue;
+                }
+                entry.visitedAt = stamp;
+                if (fingerprint.isSimilar(entry.fingerprint, threshold) && filter.test(entry.value)) {
+                    return entry.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Chance that two fingerprints exactly at the Dice threshold share at least one band
+    static double bandRecall(double diceThreshold) {
+        double dice = Math.max(0.0, Math.min(1.0, diceThreshold));
+        double jaccard = dice / (2.0 - dice);
+        return 1.0 - Math.pow(1.0 - Math.pow(jaccard, ROWS), BANDS);
+    }
+
+    private static long[] bandKeys(SimilarityFingerprint fingerprint) {
+        int[] bigrams = fingerprint.bigrams();
+        if (bigrams.length == 0) {
+            return null;
+        }
+        long[] minimums = new long[SEEDS.length];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (int i = 0; i < bigrams.length; i++) {
+            // Bigrams are sorted, repeats don't change a minimum
+            if (i > 0 && bigrams[i] == bigrams[i - 1]) {
+                continue;
+            }
+            long code = bigrams[i] & 0xFFFFFFFFL;
+            for (int h = 0; h < SEEDS.length; h++) {
+                long hash = mix(code * SEEDS[h]);
+                if (hash < minimums[h]) {
+                    minimums[h] = hash;
+                }
+            }
+        }
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31L + minimums[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static final class Entry<T> {
+        private final SimilarityFingerprint fingerprint;
+        private final long[] bandKeys;
+        private T value;
+        private long visitedAt;
+
+        private Entry(SimilarityFingerprint fingerprint, long[] bandKeys, T value) {
+            this.fingerprint = fingerprint;
+            this.bandKeys = bandKeys;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.realmpulse;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.EnumWrappers.PlayerInfoAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+public class PacketDispatcher {
+
+    static final int ADD = 1;
+    static final int REMOVE = 1 << 1;
+    static final int LATENCY = 1 << 2;
+    static final int DISPLAY_NAME = 1 << 3;
+    static final int SCORE = 1 << 4;
+
+    private final JavaPlugin plugin;
+    private final PacketManager packetManager;
+    private final TabStateTracker tabStateTracker;
+    private final Map<UUID, ViewerQueue> queues = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final Map<BatchKey, PacketContainer> builtBatches = new HashMap<>();
+    private final Map<UUID, PacketContainer> builtScores = new HashMap<>();
+    private final ScheduledExecutorService executor;
+    private final AtomicLong enqueuedOps = new AtomicLong();
+    private final AtomicLong cancelledOps = new AtomicLong();
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong overflowFlushes = new AtomicLong();
+    private volatile boolean async;
+    private volatile int maxPendingPerViewer;
+    private volatile boolean shutdown;
+    private ScheduledFuture<?> flushTask;
+
+    public PacketDispatcher(JavaPlugin plugin, PacketManager packetManager, TabStateTracker tabStateTracker) {
+        this.plugin = plugin;
+        this.packetManager = packetManager;
+        this.tabStateTracker = tabStateTracker;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RealmPulse-PacketDispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reload();
+    }
+
+    // Config is read here on the main thread, the worker only sees the cached values.
+    public synchronized void reload() {
+        if (shutdown) {
+            return;
+        }
+        async = plugin.getConfig().getBoolean("tab.async-dispatch", true);
+        maxPendingPerViewer = Math.max(16, plugin.getConfig().getInt("tab.dispatch-max-pending-per-viewer", 1024));
+        long windowMs = Math.max(5L, plugin.getConfig().getLong("tab.dispatch-window-ms", 50L));
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (async) {
+            flushTask = executor.scheduleWithFixedDelay(this::flushAllSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        } else {
+            executor.execute(this::flushAllSafely);
+        }
+    }
+
+    public void enqueue(Player viewer, Collection<GhostPlayer> ghosts, int op) {
+        if (viewer == null || ghosts == null || ghosts.isEmpty()) {
+            return;
+        }
+        ViewerQueue queue = queues.computeIfAbsent(viewer.getUniqueId(), ignored -> new ViewerQueue(viewer));
+        boolean overflow;
+        synchronized (queue) {
+            queue.viewer = viewer;
+            for (GhostPlayer ghost : ghosts) {
+                if (ghost != null) {
+                    merge(queue, viewer, ghost.getUuid(), ghost, op);
+                }
+            }
+            overflow = requestEarlyFlush(queue);
+        }
+        afterEnqueue(queue, overflow);
+    }
+
+    // A remove only needs the UUID, so this also reaches ghosts that no longer exist
+    public void enqueueRemove(Player viewer, Collection<UUID> ghostIds) {
+        if (viewer == null || ghostIds == null || ghostIds.isEmpty()) {
+            return;
+        }
+        ViewerQueue queue = queues.computeIfAbsent(viewer.getUniqueId(), ignored -> new ViewerQueue(viewer));
+        boolean overflow;
+        synchronized (queue) {
+            queue.viewer = viewer;
+            for (UUID ghostId : ghostIds) {
+                if (ghostId != null) {
+                    merge(queue, viewer, ghostId, null, REMOVE);
+                }
+            }
+            overflow = requestEarlyFlush(queue);
+        }
+        afterEnqueue(queue, overflow);
+    }
+
+    // Caller holds the queue lock. At most one early flush per queue is outstanding.
+    private boolean requestEarlyFlush(ViewerQueue queue) {
+        if (queue.earlyFlushRequested || queue.ops.size() <= maxPendingPerViewer) {
+            return false;
+        }
+        queue.earlyFlushRequested = true;
+        return true;
+    }
+
+    private void afterEnqueue(ViewerQueue queue, boolean overflow) {
+        if (!async || shutdown) {
+            flushQueue(queue);
+            return;
+        }
+        if (overflow) {
+            // The worker drains this queue ahead of the window; the caller, usually the main thread, never waits on it
+            overflowFlushes.incrementAndGet();
+            try {
+                executor.execute(() -> flushQueueSafely(queue));
+            } catch (RejectedExecutionException ignored) {
+                // Shutting down, the final flush in shutdown() drains it
+            }
+        }
+    }
+
+    // ghost is null only for a remove by UUID
+    private void merge(ViewerQueue queue, Player viewer, UUID ghostId, GhostPlayer ghost, int op) {
+        enqueuedOps.incrementAndGet();
+        PendingOp pending = queue.ops.get(ghostId);
+        if (pending == null) {
+            boolean freshAdd = (op & ADD) != 0 && !isTrackedOrInFlight(queue, viewer, ghostId);
+            queue.ops.put(ghostId, new PendingOp(ghostId, ghost, op, freshAdd));
+            return;
+        }
+        if (ghost != null) {
+            pending.ghost = ghost;
+        }
+
+        if ((op & REMOVE) != 0) {
+            // An add the client never saw followed by a remove is a no-op for this viewer
+            if ((pending.flags & ADD) != 0 && pending.freshAdd) {
+                queue.ops.remove(ghostId);
+                cancelledOps.addAndGet(2);
+                return;
+            }
+            pending.flags = REMOVE;
+            cancelledOps.incrementAndGet();
+            return;
+        }
+        if ((op & ADD) != 0) {
+            pending.freshAdd = !isTrackedOrInFlight(queue, viewer, ghostId);
+            pending.flags = (pending.flags & SCORE) | op;
+            cancelledOps.incrementAndGet();
+            return;
+        }
+        if ((pending.flags & REMOVE) != 0) {
+            cancelledOps.incrementAndGet();
+            return;
+        }
+        pending.flags |= op;
+    }
+
+    // Caller holds the queue lock. An add already taken by a flush but not yet recorded counts as seen.
+    private boolean isTrackedOrInFlight(ViewerQueue queue, Player viewer, UUID ghostId) {
+        return queue.inFlightAdds.contains(ghostId) || tabStateTracker.isTracked(viewer, ghostId);
+    }
+
+    public void forgetViewer(UUID viewerId) {
+        if (viewerId != null) {
+            queues.remove(viewerId);
+        }
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2L, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever is still pending (e.g. the shutdown tab cleanup) goes out on the calling thread
+        flushAllSafely();
+    }
+
+    private void flushAllSafely() {
+        try {
+            flushes.incrementAndGet();
+            for (ViewerQueue queue : queues.values()) {
+                flushQueue(queue);
+            }
+            synchronized (flushLock) {
+                builtBatches.clear();
+                // A ghost re-created under a reused name keeps its UUID but rolls a new level
+                builtScores.clear();
+            }
+        } catch (Exception e) {
+            if (plugin.isEnabled()) {
+                plugin.getLogger().warning("Packet dispatcher flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void flushQueueSafely(ViewerQueue queue) {
+        try {
+            flushQueue(queue);
+        } catch (Exception e) {
+            if (plugin.isEnabled()) {
+                plugin.getLogger().warning("Packet dispatcher flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void flushQueue(ViewerQueue queue) {
+        Player viewer;
+        List<PendingOp> drained;
+        List<UUID> inFlight = new ArrayList<>();
+        synchronized (queue) {
+            queue.earlyFlushRequested = false;
+            if (queue.ops.isEmpty()) {
+                return;
+            }
+            viewer = queue.viewer;
+            drained = new ArrayList<>(queue.ops.values());
+            queue.ops.clear();
+            for (PendingOp pending : drained) {
+                if ((pending.flags & (ADD | REMOVE)) == ADD && queue.inFlightAdds.add(pending.ghostId)) {
+                    inFlight.add(pending.ghostId);
+                }
+            }
+        }
+        try {
+            if (viewer != null && viewer.isOnline()) {
+                sendDrained(viewer, drained);
+            }
+        } finally {
+            if (!inFlight.isEmpty()) {
+                synchronized (queue) {
+                    queue.inFlightAdds.removeAll(inFlight);
+                }
+            }
+        }
+    }
+
+    private void sendDrained(Player viewer, List<PendingOp> drained) {
+
+        List<UUID> removes = new ArrayList<>();
+        List<GhostPlayer> adds = new ArrayList<>();
+        List<GhostPlayer> displayNames = new ArrayList<>();
+        List<GhostPlayer> latencies = new ArrayList<>();
+        List<GhostPlayer> scores = new ArrayList<>();
+        for (PendingOp pending : drained) {
+            int flags = pending.flags;
+            if ((flags & REMOVE) != 0) {
+                removes.add(pending.ghostId);
+                continue;
+            }
+            if ((flags & ADD) != 0) {
+                adds.add(pending.ghost);
+            } else {
+                if ((flags & DISPLAY_NAME) != 0) {
+                    displayNames.add(pending.ghost);
+                }
+                if ((flags & LATENCY) != 0) {
+                    latencies.add(pending.ghost);
+                }
+            }
+            if ((flags & SCORE) != 0) {
+                scores.add(pending.ghost);
+            }
+        }
+
+        // Packet builders and sends are serialized, so identical batches are built once per flush window
+        synchronized (flushLock) {
+            if (!removes.isEmpty()) {
+                tabStateTracker.forgetGhosts(viewer, removes);
+                send(viewer, new BatchKey(BatchKind.REMOVE, removes, List.of()), List.of(), "remove");
+            }
+            if (!adds.isEmpty() && send(viewer, BatchKind.ADD, adds, "add")) {
+                tabStateTracker.recordAdded(viewer, adds);
+            }
+            if (!displayNames.isEmpty() && send(viewer, BatchKind.DISPLAY_NAME, displayNames, "update")) {
+                tabStateTracker.recordAdded(viewer, displayNames);
+            }
+            if (!latencies.isEmpty() && send(viewer, BatchKind.LATENCY, latencies, "update")) {
+                tabStateTracker.recordAdded(viewer, latencies);
+            }
+            for (GhostPlayer ghost : scores) {
+                PacketContainer packet = builtScores.computeIfAbsent(ghost.getUuid(), ignored -> packetManager.buildScoreboardLevelPacket(ghost));
+                if (packetManager.deliver(viewer, packet, null)) {
+                    packetsSent.incrementAndGet();
+                }
+            }
+            if (builtBatches.size() > 256) {
+                builtBatches.clear();
+            }
+            if (builtScores.size() > 4096) {
+                builtScores.clear();
+            }
+        }
+    }
+
+    private boolean send(Player viewer, BatchKind kind, List<GhostPlayer> ghosts, String label) {
+        List<UUID> ids = new ArrayList<>(ghosts.size());
+        List<Integer> pings = new ArrayList<>(ghosts.size());
+        for (GhostPlayer ghost : ghosts) {
+            ids.add(ghost.getUuid());
+            pings.add(ghost.getPing());
+        }
+        return send(viewer, new BatchKey(kind, ids, pings), ghosts, label);
+    }
+
+    private boolean send(Player viewer, BatchKey key, List<GhostPlayer> ghosts, String label) {
+        PacketContainer packet = builtBatches.get(key);
+        if (packet == null) {
+            packet = switch (key.kind()) {
+                case ADD -> packetManager.buildAddPacket(ghosts);
+                case REMOVE -> packetManager.buildRemovePacket(key.ghostIds());
+                case LATENCY -> packetManager.buildUpdatePacket(ghosts, EnumSet.of(PlayerInfoAction.UPDATE_LATENCY));
+                case DISPLAY_NAME -> packetManager.buildUpdatePacket(ghosts, EnumSet.of(PlayerInfoAction.UPDATE_DISPLAY_NAME));
+            };
+            builtBatches.put(key, packet);
+        }
+        boolean sent = packetManager.deliver(viewer, packet, label);
+        if (sent) {
+            packetsSent.incrementAndGet();
+        }
+        return sent;
+    }
+
+    public DispatchStatus getStatus() {
+        int pending = 0;
+        for (ViewerQueue queue : queues.values()) {
+            synchronized (queue) {
+                pending += queue.ops.size();
+            }
+        }
+        return new DispatchStatus(
+            async,
+            pending,
+            enqueuedOps.get(),
+            cancelledOps.get(),
+            packetsSent.get(),
+            flushes.get(),
+            overflowFlushes.get()
+        );
+    }
+
+    private enum BatchKind {
+        ADD,
+        REMOVE,
+        LATENCY,
+        DISPLAY_NAME
+    }
+
+    private record BatchKey(BatchKind kind, List<UUID> ghostIds, List<Integer> pings) {
+    }
+
+    private static final class ViewerQueue {
+        private final Map<UUID, PendingOp> ops = new LinkedHashMap<>();
+        // Adds taken by a running flush, until the tracker has recorded them
+        private final Set<UUID> inFlightAdds = new HashSet<>();
+        private Player viewer;
+        private boolean earlyFlushRequested;
+
+        private ViewerQueue(Player viewer) {
+            this.viewer = viewer;
+        }
+    }
+
+    private static final class PendingOp {
+        private final UUID ghostId;
+        private GhostPlayer ghost;
+        private int flags;
+        private boolean freshAdd;
+
+        private PendingOp(UUID ghostId, GhostPlayer ghost, int flags, boolean freshAdd) {
+            this.ghostId = ghostId;
+            this.ghost = ghost;
+            this.flags = flags;
+            this.freshAdd = freshAdd;
+        }
+    }
+
+    public static final class DispatchStatus {
+        public final boolean async;
+        public final int pendingOps;
+        public final long enqueuedOps;
+        public final long cancelledOps;
+        public final long packetsSent;
+        public final long flushes;
+        public final long overflowFlushes;
+
+        private DispatchStatus(
+            boolean async,
+            int pendingOps,
+            long enqueuedOps,
+            long cancelledOps,
+            long packetsSent,
+            long flushes,
+            long overflowFlushes
+        ) {
+            this.async = async;
+            this.pendingOps = pendingOps;
+            this.enqueuedOps = enqueuedOps;
+            this.cancelledOps = cancelledOps;
+            this.packetsSent = packetsSent;
+            this.flushes = flushes;
+            this.overflowFlushes = overflowFlushes;
+        }
+    }
+}
@@ -7,10 +7,13 @@ import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.wrappers.EnumWrappers.NativeGameMode;
 import com.comphenix.protocol.wrappers.EnumWrappers.PlayerInfoAction;
 import com.comphenix.protocol.wrappers.PlayerInfoData;
-import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.comphenix.protocol.wrappers.WrappedGameProfile;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -19,6 +22,8 @@ public class PacketManager {
     private final EnumSet<PlayerInfoAction> tabListActions;
     private final JavaPlugin plugin;
     private final ProtocolManager protocolManager;
+    private final TabStateTracker tabStateTracker = new TabStateTracker();
+    private final PacketDispatcher dispatcher;
 
     public PacketManager(JavaPlugin plugin) {
         this.plugin = plugin;
@@ -39,42 +44,111 @@ public class PacketManager {
                 PlayerInfoAction.UPDATE_DISPLAY_NAME
             );
         }
+        this.dispatcher = new PacketDispatcher(plugin, this, tabStateTracker);
     }
 
     public void sendTabListAdd(Player target, GhostPlayer ghost) {
-        // Send Level via Scoreboard
-        sendScoreboardLevel(target, ghost);
+        sendTabListAddBatch(target, Collections.singletonList(ghost));
+    }
 
-        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
-        packet.getPlayerInfoActions().write(0, tabListActions);
+    public void sendTabListAddBatch(Player target, Collection<GhostPlayer> ghosts) {
+        // Level goes via Scoreboard alongside the tab entry
+        dispatcher.enqueue(target, ghosts, PacketDispatcher.ADD | PacketDispatcher.SCORE);
+    }
 
-        WrappedGameProfile profile = ghost.getProfile();
-        ghost.setRandomPing();
+    public void sendTabListRemove(Player target, GhostPlayer ghost) {
+        sendTabListRemoveBatch(target, Collections.singletonList(ghost));
+    }
+
+    public void sendTabListRemoveBatch(Player target, Collection<GhostPlayer> ghosts) {
+        dispatcher.enqueue(target, ghosts, PacketDispatcher.REMOVE);
+    }
 
-        PlayerInfoData infoData = new PlayerInfoData(
-            ghost.getUuid(),
-            ghost.getPing(),
-            true, // listed
-            NativeGameMode.SURVIVAL,
-            profile,
-            WrappedChatComponent.fromLegacyText(
-                ColorUtils.translate(ghost.getDisplayName())
-            )
-        );
+    public void sendTabListRemoveIds(Player target, Collection<UUID> ghostIds) {
+        dispatcher.enqueueRemove(target, ghostIds);
+    }
 
-        packet.getPlayerInfoDataLists().write(1, Collections.singletonList(infoData));
+    public void sendTabListLatencyBatch(Player target, Collection<GhostPlayer> ghosts) {
+        dispatcher.enqueue(target, ghosts, PacketDispatcher.LATENCY);
+    }
 
-        try {
-            protocolManager.sendServerPacket(target, packet);
-        } catch (Exception e) {
-            // Only log if it's a real issue, common errors on reload can be ignored
-            if (plugin.isEnabled()) {
-                plugin.getLogger().warning("Could not send tab list add packet to " + target.getName() + ": " + e.getMessage());
-            }
+    public void sendTabListDisplayNameBatch(Player target, Collection<GhostPlayer> ghosts) {
+        dispatcher.enqueue(target, ghosts, PacketDispatcher.DISPLAY_NAME);
+    }
+
+    public void sendScoreboardLevel(Player target, GhostPlayer ghost) {
+        dispatcher.enqueue(target, Collections.singletonList(ghost), PacketDispatcher.SCORE);
+    }
+
+    public void sendTabListAddAll(Collection<GhostPlayer> ghosts) {
+        if (ghosts == null || ghosts.isEmpty()) {
+            return;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            sendTabListAddBatch(player, ghosts);
         }
     }
 
-    public void sendTabListRemove(Player target, GhostPlayer ghost) {
+    public void sendTabListRemoveAll(Collection<GhostPlayer> ghosts) {
+        if (ghosts == null || ghosts.isEmpty()) {
+            return;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            sendTabListRemoveBatch(player, ghosts);
+        }
+    }
+
+    public void updateTabForAll(GhostPlayer ghost) {
+        sendTabListAddAll(Collections.singletonList(ghost));
+    }
+
+    public void forgetViewer(Player viewer) {
+        if (viewer == null) {
+            return;
+        }
+        dispatcher.forgetViewer(viewer.getUniqueId());
+        tabStateTracker.forgetViewer(viewer.getUniqueId());
+    }
+
+    public void reload() {
+        dispatcher.reload();
+    }
+
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    public TabStateTracker getTabStateTracker() {
+        return tabStateTracker;
+    }
+
+    public PacketDispatcher.DispatchStatus getDispatchStatus() {
+        return dispatcher.getStatus();
+    }
+
+    PacketContainer buildAddPacket(Collection<GhostPlayer> ghosts) {
+        List<PlayerInfoData> entries = new ArrayList<>(ghosts.size());
+        for (GhostPlayer ghost : ghosts) {
+            entries.add(ghost.getTabInfoData());
+        }
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
+        packet.getPlayerInfoActions().write(0, tabListActions);
+        packet.getPlayerInfoDataLists().write(1, entries);
+        return packet;
+    }
+
+    PacketContainer buildUpdatePacket(Collection<GhostPlayer> ghosts, EnumSet<PlayerInfoAction> actions) {
+        List<PlayerInfoData> entries = new ArrayList<>(ghosts.size());
+        for (GhostPlayer ghost : ghosts) {
+            entries.add(ghost.getTabInfoData());
+        }
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
+        packet.getPlayerInfoActions().write(0, actions);
+        packet.getPlayerInfoDataLists().write(1, entries);
+        return packet;
+    }
+
+    PacketContainer buildRemovePacket(Collection<UUID> ghostIds) {
         PacketType type = MinecraftVersion.get().isAtLeast(MinecraftVersion.V1_19_3) 
             ? PacketType.Play.Server.PLAYER_INFO_REMOVE 
             : PacketType.Play.Server.PLAYER_INFO;
@@ -82,39 +156,38 @@ public class PacketManager {
         PacketContainer packet = protocolManager.createPacket(type);
         
         if (type == PacketType.Play.Server.PLAYER_INFO_REMOVE) {
-            packet.getUUIDLists().write(0, Collections.singletonList(ghost.getUuid()));
+            packet.getUUIDLists().write(0, new ArrayList<>(ghostIds));
         } else {
             packet.getPlayerInfoActions().write(0, EnumSet.of(PlayerInfoAction.REMOVE_PLAYER));
-            PlayerInfoData infoData = new PlayerInfoData(ghost.getUuid(), 0, false, NativeGameMode.SURVIVAL, ghost.getProfile(), null);
-            packet.getPlayerInfoDataLists().write(1, Collections.singletonList(infoData));
-        }
-
-        try {
-            protocolManager.sendServerPacket(target, packet);
-        } catch (Exception e) {
-            if (plugin.isEnabled()) {
-                plugin.getLogger().warning("Could not send tab list remove packet to " + target.getName() + ": " + e.getMessage());
+            // The client only reads the UUID of a removed entry, so the profile name can stay empty
+            List<PlayerInfoData> entries = new ArrayList<>(ghostIds.size());
+            for (UUID ghostId : ghostIds) {
+                entries.add(new PlayerInfoData(ghostId, 0, false, NativeGameMode.SURVIVAL, new WrappedGameProfile(ghostId, ""), null));
             }
+            packet.getPlayerInfoDataLists().write(1, entries);
         }
+        return packet;
     }
 
-    public void updateTabForAll(GhostPlayer ghost) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            sendTabListAdd(player, ghost);
-        }
+    PacketContainer buildScoreboardLevelPacket(GhostPlayer ghost) {
+        PacketContainer scorePacket = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_SCORE);
+        scorePacket.getStrings().write(0, ghost.getName()); // Score owner
+        scorePacket.getScoreboardActions().write(0, com.comphenix.protocol.wrappers.EnumWrappers.ScoreboardAction.CHANGE);
+        scorePacket.getStrings().write(1, "Level"); // Objective name
+        scorePacket.getIntegers().write(0, ghost.getLevel()); // Value
+        return scorePacket;
     }
 
-    public void sendScoreboardLevel(Player target, GhostPlayer ghost) {
+    boolean deliver(Player target, PacketContainer packet, String kind) {
         try {
-            PacketContainer scorePacket = protocolManager.createPacket(PacketType.Play.Server.SCOREBOARD_SCORE);
-            scorePacket.getStrings().write(0, ghost.getName()); // Score owner
-            scorePacket.getScoreboardActions().write(0, com.comphenix.protocol.wrappers.EnumWrappers.ScoreboardAction.CHANGE);
-            scorePacket.getStrings().write(1, "Level"); // Objective name
-            scorePacket.getIntegers().write(0, ghost.getLevel()); // Value
-
-            protocolManager.sendServerPacket(target, scorePacket);
+            protocolManager.sendServerPacket(target, packet);
+            return true;
         } catch (Exception e) {
-            // Ignore
+            // Only log if it's a real issue, common errors on reload can be ignored
+            if (plugin.isEnabled() && kind != null) {
+                plugin.getLogger().warning("Could not send tab list " + kind + " packet to " + target.getName() + ": " + e.getMessage());
+            }
+            return false;
         }
     }
 }
@@ -0,0 +1,252 @@
+package com.realmpulse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind persistence shared by every store. Stores only mark themselves dirty; one I/O thread
+ * writes them once they have been quiet for the flush interval, or at the latest after the max dirty
+ * age. Whenever one store is due, every dirty store is written in the same pass, so bursts of
+ * learning and advancement changes end up as one group commit. shutdown() always ends with a final
+ * flush of everything still dirty.
+ */
+public class PersistenceService {
+
+    private static final long TICK_MS = 250L;
+
+    private final RealmPulse plugin;
+    private final List<Handle> handles = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long flushIntervalMs;
+    private volatile long maxDirtyAgeMs;
+    private volatile boolean fsync;
+    private volatile boolean shutdown;
+    private ScheduledFuture<?> tickTask;
+
+    @FunctionalInterface
+    public interface Writer {
+        // Persists the current state and returns the number of bytes written
+        long write(boolean fsync) throws IOException;
+    }
+
+    public PersistenceService(RealmPulse plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RealmPulse-Persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reload();
+        tickTask = executor.scheduleWithFixedDelay(this::tickSafely, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public void reload() {
+        RealmPulseSettings settings = plugin.getSettings();
+        flushIntervalMs = Math.max(0L, settings.getLong("persistence.flush-interval-ms", 2000L));
+        maxDirtyAgeMs = Math.max(flushIntervalMs, settings.getLong("persistence.max-dirty-age-ms", 10000L));
+        fsync = settings.getBoolean("persistence.fsync", true);
+    }
+
+    public Handle register(String name, Writer writer) {
+        Handle handle = new Handle(name, writer);
+        handles.add(handle);
+        return handle;
+    }
+
+    /**
+     * Stops the I/O thread and writes every dirty store on the calling thread. Stores guard their
+     * own writes, so this is safe even if the last pass did not finish in time.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            if (tickTask != null) {
+                tickTask.cancel(false);
+                tickTask = null;
+            }
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10L, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Persistence thread did not stop in time, flushing anyway.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDirty(true);
+    }
+
+    // Writes bytes to a temp file next to target and renames it into place, returns the size
+    public static long writeAtomically(Path target, byte[] bytes, boolean fsync) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+        JournalStore.moveAtomically(temp, target);
+        return bytes.length;
+    }
+
+    private void tickSafely() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Handle handle : handles) {
+                if (handle.isDue(now)) {
+                    flushDirty(fsync);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (plugin.isEnabled()) {
+                plugin.getLogger().warning("Persistence flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void flushDirty(boolean sync) {
+        long start = System.nanoTime();
+        int written = 0;
+        for (Handle handle : handles) {
+            if (!handle.takeDirty()) {
+                continue;
+            }
+            try {
+                bytesWritten.add(handle.writer.write(sync));
+                writes.increment();
+                written++;
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                handle.markDirty();
+                plugin.getLogger().warning("Failed to save " + handle.name + ": " + e.getMessage());
+            }
+        }
+        if (written == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    public PersistenceStatus getStatus() {
+        List<String> dirty = new ArrayList<>();
+        for (Handle handle : handles) {
+            if (handle.firstDirtyAt.get() != 0L) {
+                dirty.add(handle.name);
+            }
+        }
+        long flushCount = flushes.sum();
+        return new PersistenceStatus(
+            handles.size(),
+            dirty,
+            flushCount,
+            writes.sum(),
+            failures.sum(),
+            bytesWritten.sum(),
+            lastFlushNanos.get() / 1_000_000L,
+            flushCount == 0 ? 0L : flushNanos.sum() / 1_000_000L / flushCount,
+            maxFlushNanos.get() / 1_000_000L
+        );
+    }
+
+    public final class Handle {
+        private final String name;
+        private final Writer writer;
+        private final AtomicLong firstDirtyAt = new AtomicLong();
+        private volatile long lastDirtyAt;
+
+        private Handle(String name, Writer writer) {
+            this.name = name;
+            this.writer = writer;
+        }
+
+        public void markDirty() {
+            long now = System.currentTimeMillis();
+            lastDirtyAt = now;
+            firstDirtyAt.compareAndSet(0L, now);
+        }
+
+        private boolean isDue(long now) {
+            long first = firstDirtyAt.get();
+            if (first == 0L) {
+                return false;
+            }
+            return now - lastDirtyAt >= flushIntervalMs || now - first >= maxDirtyAgeMs;
+        }
+
+        // Clears the flag before writing, so a change made during the write is picked up next pass
+        private boolean takeDirty() {
+            return firstDirtyAt.getAndSet(0L) != 0L;
+        }
+    }
+
+    public static final class PersistenceStatus {
+        public final int stores;
+        public final List<String> dirtyStores;
+        public final long flushes;
+        public final long writes;
+        public final long failures;
+        public final long bytesWritten;
+        public final long lastFlushMs;
+        public final long avgFlushMs;
+        public final long maxFlushMs;
+
+        private PersistenceStatus(
+            int stores,
+            List<String> dirtyStores,
+            long flushes,
+            long writes,
+            long failures,
+            long bytesWritten,
+            long lastFlushMs,
+            long avgFlushMs,
+            long maxFlushMs
+        ) {
+            this.stores = stores;
+            this.dirtyStores = dirtyStores;
+            this.flushes = flushes;
+            this.writes = writes;
+            this.failures = failures;
+            this.bytesWritten = bytesWritten;
+            this.lastFlushMs = lastFlushMs;
+            this.avgFlushMs = avgFlushMs;
+            this.maxFlushMs = maxFlushMs;
+        }
+    }
+}
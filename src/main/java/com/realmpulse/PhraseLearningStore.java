@@ -1,37 +1,42 @@
 package com.realmpulse;
 
-import org.bukkit.Bukkit;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
 
 public class PhraseLearningStore {
 
     private final JavaPlugin plugin;
-    private final File file;
-    private final Map<String, String> phrasesByKey = new LinkedHashMap<>();
+    private final JournalStore journal;
+    private final PersistenceService.Handle saveHandle;
+    private final Function<String, SimilarityFingerprint> fingerprinter;
+    private final Map<String, PhraseSnapshot.Entry> phrasesByKey = new LinkedHashMap<>();
+    private final PhrasePool pool = new PhrasePool();
     private final Object lock = new Object();
-    private final Object saveLock = new Object();
-    private boolean saveQueued = false;
-    private boolean dirty = false;
 
-    public PhraseLearningStore(JavaPlugin plugin) {
-        this(plugin, "learned-phrases.yml");
+    public PhraseLearningStore(JavaPlugin plugin, PersistenceService persistence, Function<String, SimilarityFingerprint> fingerprinter) {
+        this(plugin, persistence, "learned-phrases.yml", fingerprinter);
     }
 
-    public PhraseLearningStore(JavaPlugin plugin, String fileName) {
+    public PhraseLearningStore(
+        JavaPlugin plugin,
+        PersistenceService persistence,
+        String fileName,
+        Function<String, SimilarityFingerprint> fingerprinter
+    ) {
         this.plugin = plugin;
+        this.fingerprinter = fingerprinter;
         String safeFile = (fileName == null || fileName.isBlank()) ? "learned-phrases.yml" : fileName.trim();
-        this.file = new File(plugin.getDataFolder(), safeFile);
+        this.journal = new JournalStore(plugin.getDataFolder(), safeFile, "phrases", this::encode, lock, plugin.getLogger());
         load();
         ensureFileExists();
+        this.saveHandle = persistence.register(safeFile, this::saveNow);
     }
 
     public boolean addPhrase(String phrase) {
@@ -41,19 +46,43 @@ public class PhraseLearningStore {
         }
 
         String key = normalize(cleaned);
+        PhraseSnapshot.Entry entry = encode(cleaned);
         synchronized (lock) {
             if (phrasesByKey.containsKey(key)) {
                 return false;
             }
-            phrasesByKey.put(key, cleaned);
+            phrasesByKey.put(key, entry);
+            journal.appendAdd(cleaned);
         }
-        saveAsync();
+        pool.add(cleaned, entry.language());
+        saveHandle.markDirty();
         return true;
     }
 
+    public PhrasePool pool() {
+        return pool;
+    }
+
     public List<String> getPhrases() {
         synchronized (lock) {
-            return new ArrayList<>(phrasesByKey.values());
+            List<String> phrases = new ArrayList<>(phrasesByKey.size());
+            for (PhraseSnapshot.Entry entry : phrasesByKey.values()) {
+                phrases.add(entry.text());
+            }
+            return phrases;
+        }
+    }
+
+    // Fingerprints computed when each phrase was learned or loaded, empty ones skipped
+    public List<SimilarityFingerprint> getFingerprints() {
+        synchronized (lock) {
+            List<SimilarityFingerprint> fingerprints = new ArrayList<>(phrasesByKey.size());
+            for (PhraseSnapshot.Entry entry : phrasesByKey.values()) {
+                if (!entry.fingerprint().isEmpty()) {
+                    fingerprints.add(entry.fingerprint());
+                }
+            }
+            return fingerprints;
         }
     }
 
@@ -69,75 +98,75 @@ public class PhraseLearningStore {
         synchronized (lock) {
             while (phrasesByKey.size() > safeMax) {
                 String firstKey = phrasesByKey.keySet().iterator().next();
-                phrasesByKey.remove(firstKey);
+                String phrase = phrasesByKey.remove(firstKey).text();
+                journal.appendRemove(phrase);
+                pool.remove(phrase);
                 removed++;
             }
         }
         if (removed > 0) {
-            saveAsync();
+            saveHandle.markDirty();
         }
         return removed;
     }
 
     private void load() {
-        if (!file.exists()) {
-            return;
-        }
-        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
-        List<String> loaded = yaml.getStringList("phrases");
         synchronized (lock) {
-            for (String item : loaded) {
-                String cleaned = sanitize(item);
-                if (!cleaned.isEmpty()) {
-                    phrasesByKey.put(normalize(cleaned), cleaned);
-                }
+            journal.replay(
+                entry -> {
+                    String cleaned = sanitize(entry.text());
+                    if (!cleaned.isEmpty()) {
+                        phrasesByKey.putIfAbsent(normalize(cleaned), cleaned.equals(entry.text()) ? entry : encode(cleaned));
+                    }
+                },
+                item -> phrasesByKey.remove(normalize(sanitize(item)))
+            );
+            for (PhraseSnapshot.Entry entry : phrasesByKey.values()) {
+                pool.add(entry.text(), entry.language());
             }
         }
     }
 
-    private void saveAsync() {
-        synchronized (saveLock) {
-            dirty = true;
-            if (saveQueued) {
-                return;
+    /**
+     * Adds every phrase from the legacy YAML file that is not known yet, returns how many were new.
+     */
+    public int importYaml() {
+        int added = 0;
+        for (String phrase : journal.readYaml()) {
+            if (addPhrase(phrase)) {
+                added++;
             }
-            saveQueued = true;
         }
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::drainPendingSaves);
+        return added;
     }
 
-    private void drainPendingSaves() {
-        while (true) {
-            synchronized (saveLock) {
-                if (!dirty) {
-                    saveQueued = false;
-                    return;
-                }
-                dirty = false;
-            }
-            saveNow();
-        }
+    public boolean exportYaml() {
+        return journal.exportYaml(copyPhrases());
     }
 
-    private void saveNow() {
-        YamlConfiguration yaml = new YamlConfiguration();
+    private long saveNow(boolean fsync) throws IOException {
+        return journal.flush(this::copyPhrases, size(), 4, fsync);
+    }
+
+    private List<PhraseSnapshot.Entry> copyPhrases() {
         synchronized (lock) {
-            yaml.set("phrases", new ArrayList<>(phrasesByKey.values()));
-        }
-        try {
-            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
-                return;
-            }
-            yaml.save(file);
-        } catch (IOException ignored) {
+            return new ArrayList<>(phrasesByKey.values());
         }
     }
 
+    // Also migrates a store that was loaded from the legacy YAML file
     private void ensureFileExists() {
-        if (file.exists()) {
-            return;
+        if (journal.needsSnapshot()) {
+            try {
+                journal.compact(this::copyPhrases, true);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write learning snapshot: " + e.getMessage());
+            }
         }
-        saveNow();
+    }
+
+    private PhraseSnapshot.Entry encode(String phrase) {
+        return new PhraseSnapshot.Entry(phrase, LanguageClassifier.classify(phrase), fingerprinter.apply(phrase));
     }
 
     private String sanitize(String text) {
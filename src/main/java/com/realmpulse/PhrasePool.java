@@ -0,0 +1,233 @@
+package com.realmpulse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Phrases classified by language once, on insert, and filtered by an owner-supplied predicate.
+ * Each language keeps a bucket of the phrases that pass the filter, updated in place on add and
+ * remove, so neither a change nor a pick copies the pool; only a new filter re-sorts every phrase.
+ * Keys are case-insensitive, a later casing replaces the earlier one.
+ */
+public final class PhrasePool {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final Object lock = new Object();
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Bucket english = new Bucket();
+    private final Bucket chinese = new Bucket();
+    private BiPredicate<String, Boolean> filter = (phrase, english) -> true;
+
+    private record Entry(String phrase, LanguageClassifier.Result language) {
+    }
+
+    public void add(String phrase) {
+        if (phrase == null || phrase.isBlank()) {
+            return;
+        }
+        add(phrase, LanguageClassifier.classify(phrase));
+    }
+
+    // For phrases whose language is already known, e.g. loaded from a snapshot
+    public void add(String phrase, LanguageClassifier.Result language) {
+        if (phrase == null || phrase.isBlank()) {
+            return;
+        }
+        String key = keyOf(phrase);
+        Entry entry = new Entry(phrase, language);
+        synchronized (lock) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                unplace(key, previous);
+            }
+            entries.put(key, entry);
+            place(key, entry);
+        }
+    }
+
+    public void remove(String phrase) {
+        if (phrase == null) {
+            return;
+        }
+        String key = keyOf(phrase);
+        synchronized (lock) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                unplace(key, previous);
+            }
+        }
+    }
+
+    public void replaceAll(Collection<String> phrases) {
+        Map<String, Entry> loaded = classify(phrases);
+        synchronized (lock) {
+            entries.clear();
+            entries.putAll(loaded);
+            rebuildBuckets();
+        }
+    }
+
+    // Swaps phrases and filter in one step, so a pick never sees the new phrases under the old filter
+    public void replaceAll(Collection<String> phrases, BiPredicate<String, Boolean> filter) {
+        Map<String, Entry> loaded = classify(phrases);
+        synchronized (lock) {
+            entries.clear();
+            entries.putAll(loaded);
+            this.filter = filter;
+            rebuildBuckets();
+        }
+    }
+
+    // The filter sees (phrase, english) and decides whether the phrase may be picked at all
+    public void setFilter(BiPredicate<String, Boolean> filter) {
+        synchronized (lock) {
+            this.filter = filter;
+            rebuildBuckets();
+        }
+    }
+
+    /**
+     * Draws phrases of one language from the given pools uniformly without replacement and returns
+     * the first one accepted, or "" once every candidate is exhausted. Uses a sparse Fisher-Yates
+     * shuffle, so each draw is O(1) and nothing is copied. Pools may change during a pick, a slot
+     * emptied by a concurrent removal is skipped.
+     */
+    public static String pick(boolean englishBucket, Predicate<String> accept, PhrasePool... pools) {
+        int[] sizes = new int[pools.length];
+        int total = 0;
+        for (int i = 0; i < pools.length; i++) {
+            sizes[i] = pools[i] == null ? 0 : pools[i].size(englishBucket);
+            total += sizes[i];
+        }
+        if (total == 0) {
+            return "";
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Integer, Integer> swapped = new HashMap<>();
+        for (int drawn = 0; drawn < total; drawn++) {
+            int slot = drawn + random.nextInt(total - drawn);
+            int index = swapped.getOrDefault(slot, slot);
+            swapped.put(slot, swapped.getOrDefault(drawn, drawn));
+            String candidate = resolve(pools, sizes, englishBucket, index);
+            if (candidate != null && accept.test(candidate)) {
+                return candidate;
+            }
+        }
+        return "";
+    }
+
+    private static String resolve(PhrasePool[] pools, int[] sizes, boolean englishBucket, int index) {
+        for (int i = 0; i < pools.length; i++) {
+            if (index < sizes[i]) {
+                return pools[i].phraseAt(englishBucket, index);
+            }
+            index -= sizes[i];
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    private int size(boolean englishBucket) {
+        synchronized (lock) {
+            return (englishBucket ? english : chinese).size;
+        }
+    }
+
+    // null once the slot no longer exists
+    private String phraseAt(boolean englishBucket, int slot) {
+        synchronized (lock) {
+            Bucket bucket = englishBucket ? english : chinese;
+            return slot < bucket.size ? bucket.phrases[slot] : null;
+        }
+    }
+
+    private static Map<String, Entry> classify(Collection<String> phrases) {
+        Map<String, Entry> loaded = new LinkedHashMap<>();
+        for (String phrase : phrases) {
+            if (phrase != null && !phrase.isBlank()) {
+                String key = keyOf(phrase);
+                loaded.remove(key);
+                loaded.put(key, new Entry(phrase, LanguageClassifier.classify(phrase)));
+            }
+        }
+        return loaded;
+    }
+
+    // Caller holds lock
+    private void rebuildBuckets() {
+        english.clear();
+        chinese.clear();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            place(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Caller holds lock
+    private void place(String key, Entry entry) {
+        if (entry.language() == LanguageClassifier.Result.EN && filter.test(entry.phrase(), true)) {
+            english.add(key, entry.phrase());
+        } else if (entry.language() == LanguageClassifier.Result.ZH && filter.test(entry.phrase(), false)) {
+            chinese.add(key, entry.phrase());
+        }
+    }
+
+    // Caller holds lock
+    private void unplace(String key, Entry entry) {
+        if (entry.language() == LanguageClassifier.Result.EN) {
+            english.remove(key);
+        } else if (entry.language() == LanguageClassifier.Result.ZH) {
+            chinese.remove(key);
+        }
+    }
+
+    private static String keyOf(String phrase) {
+        return phrase.toLowerCase(Locale.ROOT);
+    }
+
+    // Dense array plus key-to-slot index: removal moves the last phrase into the freed slot
+    private static final class Bucket {
+        private final Map<String, Integer> slots = new HashMap<>();
+        private String[] phrases = EMPTY;
+        private int size;
+
+        private void add(String key, String phrase) {
+            Integer slot = slots.get(key);
+            if (slot != null) {
+                phrases[slot] = phrase;
+                return;
+            }
+            if (size == phrases.length) {
+                phrases = Arrays.copyOf(phrases, Math.max(16, size * 2));
+            }
+            phrases[size] = phrase;
+            slots.put(key, size++);
+        }
+
+        private void remove(String key) {
+            Integer slot = slots.remove(key);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                String moved = phrases[last];
+                phrases[slot] = moved;
+                slots.put(keyOf(moved), slot);
+            }
+            phrases[last] = null;
+        }
+
+        private void clear() {
+            slots.clear();
+            phrases = EMPTY;
+            size = 0;
+        }
+    }
+}
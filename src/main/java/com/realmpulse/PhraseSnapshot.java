@@ -0,0 +1,138 @@
+package com.realmpulse;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary snapshot of learned lines. Each record carries the length-prefixed UTF-8 text, the
+ * language it was classified as and its similarity fingerprint, so loading is a single pass over a
+ * mapped file with no YAML parsing, classification or bigram hashing.
+ * <pre>
+ * header: int magic, int version, int count
+ * record: int textBytes, byte[] text, byte language, int keyBytes, byte[] key, int bigramCount, int[] bigrams
+ * </pre>
+ */
+public final class PhraseSnapshot {
+
+    private static final int MAGIC = 0x52504C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final LanguageClassifier.Result[] LANGUAGES = LanguageClassifier.Result.values();
+
+    public record Entry(String text, LanguageClassifier.Result language, SimilarityFingerprint fingerprint) {
+    }
+
+    private PhraseSnapshot() {
+    }
+
+    public static List<Entry> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("bad snapshot size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a phrase snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported snapshot version " + version);
+            }
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("bad record count " + count);
+            }
+            List<Entry> entries = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                String text = readString(buffer);
+                int language = buffer.get();
+                String key = readString(buffer);
+                int bigramCount = buffer.getInt();
+                if (language < 0 || language >= LANGUAGES.length || bigramCount < 0 || bigramCount > buffer.remaining() / 4) {
+                    throw new IOException("corrupt record " + i);
+                }
+                int[] bigrams = new int[bigramCount];
+                buffer.asIntBuffer().get(bigrams);
+                buffer.position(buffer.position() + bigramCount * 4);
+                entries.add(new Entry(text, LANGUAGES[language], SimilarityFingerprint.restore(key, bigrams)));
+            }
+            return entries;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated snapshot", e);
+        }
+    }
+
+    // Written to a temp file and renamed over the target, a crash never leaves a partial snapshot.
+    // Returns the snapshot size in bytes.
+    public static long write(Path file, List<Entry> entries, boolean fsync) throws IOException {
+        List<byte[]> texts = new ArrayList<>(entries.size());
+        List<byte[]> keys = new ArrayList<>(entries.size());
+        long size = HEADER_BYTES;
+        for (Entry entry : entries) {
+            byte[] text = entry.text().getBytes(StandardCharsets.UTF_8);
+            byte[] key = entry.fingerprint().key().getBytes(StandardCharsets.UTF_8);
+            texts.add(text);
+            keys.add(key);
+            size += 4L + text.length + 1L + 4L + key.length + 4L + 4L * entry.fingerprint().bigrams().length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("snapshot too large");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            buffer.putInt(texts.get(i).length).put(texts.get(i));
+            buffer.put((byte) entry.language().ordinal());
+            buffer.putInt(keys.get(i).length).put(keys.get(i));
+            int[] bigrams = entry.fingerprint().bigrams();
+            buffer.putInt(bigrams.length);
+            for (int bigram : bigrams) {
+                buffer.putInt(bigram);
+            }
+        }
+        buffer.flip();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+        JournalStore.moveAtomically(temp, file);
+        return size;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("bad string length " + length);
+        }
+        if (length == 0) {
+            return "";
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
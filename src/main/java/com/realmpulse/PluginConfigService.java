@@ -14,10 +14,21 @@ public class PluginConfigService {
 
     private final JavaPlugin plugin;
     private final Map<String, String> aliases;
+    private volatile RealmPulseSettings settings;
 
     public PluginConfigService(JavaPlugin plugin) {
         this.plugin = plugin;
         this.aliases = buildAliases();
+        refresh();
+    }
+
+    // Recompiles the snapshot, call after anything changes the live config
+    public void refresh() {
+        settings = RealmPulseSettings.compile(plugin.getConfig(), aliases);
+    }
+
+    public RealmPulseSettings settings() {
+        return settings;
     }
 
     private Map<String, String> buildAliases() {
@@ -42,38 +53,31 @@ public class PluginConfigService {
     }
 
     public Object get(String path) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().get(resolved);
+        return settings.get(normalizePath(path));
     }
 
     public String getString(String path, String def) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getString(resolved, def);
+        return settings.getString(normalizePath(path), def);
     }
 
     public boolean getBoolean(String path, boolean def) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getBoolean(resolved, def);
+        return settings.getBoolean(normalizePath(path), def);
     }
 
     public int getInt(String path, int def) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getInt(resolved, def);
+        return settings.getInt(normalizePath(path), def);
     }
 
     public long getLong(String path, long def) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getLong(resolved, def);
+        return settings.getLong(normalizePath(path), def);
     }
 
     public double getDouble(String path, double def) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getDouble(resolved, def);
+        return settings.getDouble(normalizePath(path), def);
     }
 
     public List<String> getStringList(String path) {
-        String resolved = resolveReadablePath(path);
-        return plugin.getConfig().getStringList(resolved);
+        return settings.getStringList(normalizePath(path));
     }
 
     public String canonicalPath(String inputPath) {
@@ -93,6 +97,7 @@ public class PluginConfigService {
         Object parsed = parseValue(rawValue, current);
         config.set(path, parsed);
         plugin.saveConfig();
+        refresh();
         return true;
     }
 
@@ -125,19 +130,6 @@ public class PluginConfigService {
         return new ArrayList<>(root.getKeys(false));
     }
 
-    private String resolveReadablePath(String inputPath) {
-        String canonical = normalizePath(inputPath);
-        FileConfiguration config = plugin.getConfig();
-        if (config.contains(canonical)) {
-            return canonical;
-        }
-        String alias = aliases.get(canonical);
-        if (alias != null && config.contains(alias)) {
-            return alias;
-        }
-        return canonical;
-    }
-
     private String normalizePath(String path) {
         return path == null ? "" : path.trim().toLowerCase(Locale.ROOT);
     }
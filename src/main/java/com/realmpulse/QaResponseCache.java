@@ -0,0 +1,290 @@
+package com.realmpulse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Answers to recurring player questions, keyed by reply language and normalized question, so a
+ * chat.language change never serves answers in the old language. A lookup falls back to the most
+ * similar cached question of the same language above the similarity threshold. Each question keeps
+ * several answers and is only served once all of them have been collected, so replies stay varied.
+ * Entries expire after a TTL and the least recently used ones are evicted past max-entries.
+ */
+public class QaResponseCache {
+
+    private final RealmPulse plugin;
+    private final File file;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object lock = new Object();
+    private final Object ioLock = new Object();
+    private final PersistenceService.Handle saveHandle;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder tokensSaved = new LongAdder();
+
+    private static final class Entry {
+        private final String key;
+        private final LanguageClassifier.Result language;
+        private final String question;
+        private final SimilarityFingerprint fingerprint;
+        private final List<String> answers = new ArrayList<>();
+        private final long createdAt;
+        private int costTokens;
+
+        private Entry(LanguageClassifier.Result language, String question, long createdAt) {
+            this.key = keyOf(language, question);
+            this.language = language;
+            this.question = question;
+            this.fingerprint = SimilarityFingerprint.of(question);
+            this.createdAt = createdAt;
+        }
+    }
+
+    public QaResponseCache(RealmPulse plugin, PersistenceService persistence) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "qa-cache.yml");
+        if (plugin.getSettings().qaCache.persist) {
+            this.saveHandle = persistence.register("qa-cache.yml", this::saveNow);
+            load();
+        } else {
+            this.saveHandle = null;
+        }
+    }
+
+    /**
+     * Returns a cached answer for the normalized question that accept allows, or "" on a miss.
+     * A question that has not collected all its answers yet is a miss, so the caller asks the
+     * API and stores the new variant.
+     */
+    public String lookup(LanguageClassifier.Result language, String question, Predicate<String> accept) {
+        RealmPulseSettings.QaCache settings = plugin.getSettings().qaCache;
+        if (!settings.enabled || question == null || question.length() < 2) {
+            return "";
+        }
+        lookups.increment();
+        long now = System.currentTimeMillis();
+        long ttlMs = settings.ttlMs;
+        int variants = settings.answersPerQuestion;
+        List<String> candidates;
+        int cost;
+        synchronized (lock) {
+            Entry entry = findLocked(language, question, now, ttlMs, settings.similarityThreshold);
+            if (entry == null || entry.answers.size() < variants) {
+                return "";
+            }
+            candidates = new ArrayList<>(entry.answers);
+            cost = entry.costTokens;
+        }
+        int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            String answer = candidates.get((offset + i) % candidates.size());
+            if (accept.test(answer)) {
+                hits.increment();
+                tokensSaved.add(cost);
+                return answer;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Whether an answer to the question would be kept as a new variant, i.e. the cache is on and the
+     * question, or the similar one it would be served from, has not collected all its answers yet.
+     */
+    public boolean wantsVariant(LanguageClassifier.Result language, String question) {
+        RealmPulseSettings.QaCache settings = plugin.getSettings().qaCache;
+        if (!settings.enabled || question == null || question.length() < 2) {
+            return false;
+        }
+        synchronized (lock) {
+            Entry entry = findLocked(language, question, System.currentTimeMillis(), settings.ttlMs, settings.similarityThreshold);
+            return entry == null || entry.answers.size() < settings.answersPerQuestion;
+        }
+    }
+
+    // Adds an answer variant for the question, the oldest variant makes room once the entry is full
+    public void store(LanguageClassifier.Result language, String question, String answer, String prompt) {
+        RealmPulseSettings.QaCache settings = plugin.getSettings().qaCache;
+        if (!settings.enabled || question == null || question.length() < 2
+            || answer == null || answer.isBlank()) {
+            return;
+        }
+        String key = keyOf(language, question);
+        String cleaned = answer.trim();
+        long now = System.currentTimeMillis();
+        int variants = settings.answersPerQuestion;
+        int maxEntries = settings.maxEntries;
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry == null || now - entry.createdAt >= settings.ttlMs) {
+                entry = new Entry(language, question, now);
+                entries.put(key, entry);
+            }
+            for (String existing : entry.answers) {
+                if (existing.equalsIgnoreCase(cleaned)) {
+                    return;
+                }
+            }
+            while (entry.answers.size() >= variants) {
+                entry.answers.remove(0);
+            }
+            entry.answers.add(cleaned);
+            entry.costTokens = Math.max(entry.costTokens, estimateTokens(prompt) + estimateTokens(cleaned));
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        if (saveHandle != null) {
+            saveHandle.markDirty();
+        }
+    }
+
+    // Caller holds lock. Exact key first, then the closest similar question.
+    private Entry findLocked(LanguageClassifier.Result language, String question, long now, long ttlMs, double threshold) {
+        Entry exact = entries.get(keyOf(language, question));
+        if (exact != null && now - exact.createdAt < ttlMs) {
+            return exact;
+        }
+        SimilarityFingerprint fingerprint = SimilarityFingerprint.of(question);
+        Entry best = null;
+        double bestScore = threshold;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.createdAt >= ttlMs) {
+                iterator.remove();
+                continue;
+            }
+            if (entry.language != language || !fingerprint.isSimilar(entry.fingerprint, threshold)) {
+                continue;
+            }
+            double score = fingerprint.dice(entry.fingerprint);
+            if (score >= bestScore) {
+                best = entry;
+                bestScore = score;
+            }
+        }
+        if (best != null) {
+            // Touch it so near-duplicate hits count as use for LRU eviction
+            entries.get(best.key);
+        }
+        return best;
+    }
+
+    public CacheStatus getStatus() {
+        int size;
+        synchronized (lock) {
+            size = entries.size();
+        }
+        return new CacheStatus(size, lookups.sum(), hits.sum(), tokensSaved.sum());
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        long now = System.currentTimeMillis();
+        long ttlMs = plugin.getSettings().qaCache.ttlMs;
+        synchronized (lock) {
+            for (Map<?, ?> raw : yaml.getMapList("entries")) {
+                Object key = raw.get("question");
+                LanguageClassifier.Result language = parseLanguage(raw.get("language"));
+                Object created = raw.get("created");
+                Object answers = raw.get("answers");
+                if (language == null || !(key instanceof String question) || !(created instanceof Number createdAt) || !(answers instanceof List<?> list)) {
+                    continue;
+                }
+                if (now - createdAt.longValue() >= ttlMs) {
+                    continue;
+                }
+                Entry entry = new Entry(language, question, createdAt.longValue());
+                for (Object answer : list) {
+                    if (answer instanceof String text && !text.isBlank()) {
+                        entry.answers.add(text);
+                    }
+                }
+                entry.costTokens = raw.get("tokens") instanceof Number tokens ? tokens.intValue() : 0;
+                if (!entry.answers.isEmpty()) {
+                    entries.put(entry.key, entry);
+                }
+            }
+        }
+    }
+
+    private long saveNow(boolean fsync) throws IOException {
+        synchronized (ioLock) {
+            List<Map<String, Object>> out = new ArrayList<>();
+            synchronized (lock) {
+                for (Entry entry : entries.values()) {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put("language", entry.language.name());
+                    map.put("question", entry.question);
+                    map.put("created", entry.createdAt);
+                    map.put("tokens", entry.costTokens);
+                    map.put("answers", new ArrayList<>(entry.answers));
+                    out.add(map);
+                }
+            }
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.set("entries", out);
+            return PersistenceService.writeAtomically(file.toPath(), yaml.saveToString().getBytes(StandardCharsets.UTF_8), fsync);
+        }
+    }
+
+    private static String keyOf(LanguageClassifier.Result language, String question) {
+        return language.name() + '|' + question;
+    }
+
+    private static LanguageClassifier.Result parseLanguage(Object raw) {
+        if (raw instanceof String name) {
+            for (LanguageClassifier.Result result : LanguageClassifier.Result.values()) {
+                if (result.name().equals(name)) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Rough count: one token per CJK character, one per four other characters
+    static int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int cjk = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '\u4e00' && c <= '\u9fff') {
+                cjk++;
+            }
+        }
+        return cjk + (text.length() - cjk + 3) / 4;
+    }
+
+    public static final class CacheStatus {
+        public final int entries;
+        public final long lookups;
+        public final long hits;
+        public final long tokensSaved;
+
+        private CacheStatus(int entries, long lookups, long hits, long tokensSaved) {
+            this.entries = entries;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.tokensSaved = tokensSaved;
+        }
+    }
+}
@@ -1,10 +1,7 @@
 package com.realmpulse;
 
-import org.bukkit.Bukkit;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -14,18 +11,17 @@ import java.util.Set;
 public class RawLearningStore {
 
     private final JavaPlugin plugin;
-    private final File file;
+    private final JournalStore journal;
+    private final PersistenceService.Handle saveHandle;
     private final Set<String> lines = new LinkedHashSet<>();
     private final Object lock = new Object();
-    private final Object saveLock = new Object();
-    private boolean saveQueued = false;
-    private boolean dirty = false;
 
-    public RawLearningStore(JavaPlugin plugin) {
+    public RawLearningStore(JavaPlugin plugin, PersistenceService persistence) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "learned-raw.yml");
+        this.journal = new JournalStore(plugin.getDataFolder(), "learned-raw.yml", "raw", RawLearningStore::encode, lock, plugin.getLogger());
         load();
         ensureFileExists();
+        this.saveHandle = persistence.register("learned-raw.yml", this::saveNow);
     }
 
     public void addRaw(String text, int maxSize) {
@@ -36,12 +32,14 @@ public class RawLearningStore {
         synchronized (lock) {
             lines.remove(cleaned);
             lines.add(cleaned);
+            journal.appendAdd(cleaned);
             while (lines.size() > Math.max(100, maxSize)) {
                 String first = lines.iterator().next();
                 lines.remove(first);
+                journal.appendRemove(first);
             }
         }
-        saveAsync();
+        saveHandle.markDirty();
     }
 
     public int size() {
@@ -51,65 +49,61 @@ public class RawLearningStore {
     }
 
     private void load() {
-        if (!file.exists()) {
-            return;
-        }
-        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
-        List<String> loaded = yaml.getStringList("raw");
         synchronized (lock) {
-            for (String s : loaded) {
-                String cleaned = sanitize(s);
-                if (!cleaned.isEmpty()) {
-                    lines.add(cleaned);
-                }
-            }
+            journal.replay(
+                entry -> {
+                    String cleaned = sanitize(entry.text());
+                    if (!cleaned.isEmpty()) {
+                        lines.remove(cleaned);
+                        lines.add(cleaned);
+                    }
+                },
+                s -> lines.remove(sanitize(s))
+            );
         }
     }
 
-    private void saveAsync() {
-        synchronized (saveLock) {
-            dirty = true;
-            if (saveQueued) {
-                return;
-            }
-            saveQueued = true;
-        }
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::drainPendingSaves);
+    private long saveNow(boolean fsync) throws IOException {
+        return journal.flush(this::copyLines, size(), 4, fsync);
     }
 
-    private void drainPendingSaves() {
-        while (true) {
-            synchronized (saveLock) {
-                if (!dirty) {
-                    saveQueued = false;
-                    return;
-                }
-                dirty = false;
-            }
-            saveNow();
+    public int importYaml(int maxSize) {
+        List<String> imported = journal.readYaml();
+        for (String line : imported) {
+            addRaw(line, maxSize);
         }
+        return imported.size();
     }
 
-    private void saveNow() {
-        YamlConfiguration yaml = new YamlConfiguration();
+    public boolean exportYaml() {
+        return journal.exportYaml(copyLines());
+    }
+
+    private List<PhraseSnapshot.Entry> copyLines() {
         synchronized (lock) {
-            yaml.set("raw", new ArrayList<>(lines));
-        }
-        try {
-            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
-                return;
+            List<PhraseSnapshot.Entry> entries = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                entries.add(encode(line));
             }
-            yaml.save(file);
-        } catch (IOException ignored) {
+            return entries;
         }
     }
 
     private void ensureFileExists() {
-        if (!file.exists()) {
-            saveNow();
+        if (journal.needsSnapshot()) {
+            try {
+                journal.compact(this::copyLines, true);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to write learning snapshot: " + e.getMessage());
+            }
         }
     }
 
+    // Raw lines are never picked or compared, so they are stored without language or fingerprint
+    private static PhraseSnapshot.Entry encode(String line) {
+        return new PhraseSnapshot.Entry(line, LanguageClassifier.Result.OTHER, SimilarityFingerprint.EMPTY);
+    }
+
     private String sanitize(String text) {
         if (text == null) {
             return "";
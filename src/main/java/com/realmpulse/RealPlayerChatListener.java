@@ -75,43 +75,6 @@ public class RealPlayerChatListener implements Listener {
         if (message == null || message.isBlank()) {
             return false;
         }
-        String lower = message.toLowerCase(Locale.ROOT);
-        for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-            String name = ghost.getName();
-            if (name == null || name.isBlank()) {
-                continue;
-            }
-            String ghostLower = name.toLowerCase(Locale.ROOT);
-            if (lower.contains("@" + ghostLower) || containsWholeToken(lower, ghostLower)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean containsWholeToken(String textLower, String tokenLower) {
-        if (textLower == null || tokenLower == null || tokenLower.isBlank()) {
-            return false;
-        }
-        int from = 0;
-        while (from <= textLower.length() - tokenLower.length()) {
-            int index = textLower.indexOf(tokenLower, from);
-            if (index < 0) {
-                return false;
-            }
-            int leftIndex = index - 1;
-            int rightIndex = index + tokenLower.length();
-            boolean leftOk = leftIndex < 0 || !isNameChar(textLower.charAt(leftIndex));
-            boolean rightOk = rightIndex >= textLower.length() || !isNameChar(textLower.charAt(rightIndex));
-            if (leftOk && rightOk) {
-                return true;
-            }
-            from = index + 1;
-        }
-        return false;
-    }
-
-    private boolean isNameChar(char c) {
-        return Character.isLetterOrDigit(c) || c == '_';
+        return GhostManager.getMentionMatcher().mentionsAny(message);
     }
 }
@@ -34,12 +34,16 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
     private Chat chat;
     private GhostManager ghostManager;
     private PacketManager packetManager;
+    private TabListRefresher tabListRefresher;
+    private JoinSyncQueue joinSyncQueue;
+    private TabInterceptor tabInterceptor;
     private DeepSeekService deepSeekService;
     private SmartChatManager smartChatManager;
     private DeathManager deathManager;
     private ConnectionSimulator connectionSimulator;
     private AdvancementAnnounceManager advancementAnnounceManager;
     private PluginConfigService configService;
+    private PersistenceService persistenceService;
     private AdminMessageService adminMessageService;
     private BukkitTask sceneAutoTask;
     private String lastAutoScene = "";
@@ -58,6 +62,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         if (removedDeprecated > 0) {
             getLogger().info("Config auto-cleaned: removed " + removedDeprecated + " deprecated entries.");
         }
+        configService = new PluginConfigService(this);
+        persistenceService = new PersistenceService(this);
         sendHeader();
 
         getLogger().info("Initializing environment...");
@@ -73,7 +79,6 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             return;
         }
 
-        configService = new PluginConfigService(this);
         adminMessageService = new AdminMessageService(this, configService);
 
         if (getCommand("realmpulse") != null) {
@@ -85,18 +90,18 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         int ghostCount = configService.getInt("core.ghost-count", 20);
         ghostManager.initializeGhosts(ghostCount);
 
-        packetManager = new PacketManager(this);
+        packetManager = new PacketManager(this);
+        joinSyncQueue = new JoinSyncQueue(this, packetManager);
         for (Player player : Bukkit.getOnlinePlayers()) {
-            for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-                packetManager.sendTabListAdd(player, ghost);
-            }
+            joinSyncQueue.enqueue(player);
         }
 
         deathManager = new DeathManager(this);
         connectionSimulator = new ConnectionSimulator(this, packetManager);
-        getServer().getPluginManager().registerEvents(new ConnectionListener(this, configService, packetManager, deathManager), this);
+        getServer().getPluginManager().registerEvents(new ConnectionListener(this, configService, packetManager, joinSyncQueue, deathManager), this);
         getServer().getPluginManager().registerEvents(new TeleportInterceptor(this), this);
-        getServer().getPluginManager().registerEvents(new TabInterceptor(), this);
+        tabInterceptor = new TabInterceptor(this);
+        getServer().getPluginManager().registerEvents(tabInterceptor, this);
 
         Bukkit.getScheduler().runTaskLater(this, () -> {
             try {
@@ -110,7 +115,9 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         deepSeekService = new DeepSeekService(this, configService);
         smartChatManager = new SmartChatManager(this, configService, deepSeekService, deathManager);
         getServer().getPluginManager().registerEvents(new RealPlayerChatListener(smartChatManager), this);
+        getServer().getPluginManager().registerEvents(smartChatManager.getAudienceHistory(), this);
         smartChatManager.startIdleChat();
+        smartChatManager.startIdleLinePoolRefill();
         smartChatManager.startEnglishDialogue();
         smartChatManager.startLearningSummarizer();
         deathManager.startDeathSimulation();
@@ -118,11 +125,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         advancementAnnounceManager = new AdvancementAnnounceManager(this, configService, deathManager);
         advancementAnnounceManager.start();
 
-        Bukkit.getScheduler().runTaskTimer(this, () -> {
-            for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-                packetManager.updateTabForAll(ghost);
-            }
-        }, 20L * 30, 20L * 30);
+        tabListRefresher = new TabListRefresher(this, packetManager);
+        tabListRefresher.start();
 
         sendStartupReadyBanner();
         refreshSceneAutoTask();
@@ -163,11 +167,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         sendShutdownBannerStart();
         Bukkit.getScheduler().cancelTasks(this);
         if (packetManager != null) {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-                    packetManager.sendTabListRemove(player, ghost);
-                }
-            }
+            packetManager.sendTabListRemoveAll(GhostManager.getOnlineGhosts());
+            packetManager.shutdown();
             getLogger().info("Tab cleanup: removed ghost entries for online players.");
         }
         if (ghostManager != null) {
@@ -183,6 +184,18 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         if (connectionSimulator != null) {
             connectionSimulator.stopSimulation();
         }
+        if (tabListRefresher != null) {
+            tabListRefresher.stop();
+        }
+        if (joinSyncQueue != null) {
+            joinSyncQueue.stop();
+        }
+        if (deepSeekService != null) {
+            deepSeekService.shutdown();
+        }
+        if (persistenceService != null) {
+            persistenceService.shutdown();
+        }
         sendShutdownBannerEnd();
     }
 
@@ -265,6 +278,9 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         if ("advancement".equals(sub) || "adv".equals(sub)) {
             return handleAdvancement(sender, args);
         }
+        if ("perf".equals(sub)) {
+            return handlePerf(sender);
+        }
 
         // Advanced mode remains available.
         if ("get".equals(sub) || "set".equals(sub) || "list".equals(sub)) {
@@ -319,6 +335,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
                 return "\u81EA\u52A8\u573A\u666F\u5DF2\u542F\u7528\u3002";
             case "Auto scene disabled.":
                 return "\u81EA\u52A8\u573A\u666F\u5DF2\u5173\u95ED\u3002";
+            case "Performance status":
+                return "\u6027\u80FD\u72B6\u6001";
             case "Advancement simulator is not initialized.":
                 return "\u6210\u5C31\u6A21\u62DF\u5668\u672A\u521D\u59CB\u5316\u3002";
             case "Low cost: fewer bots + lower-cost models":
@@ -342,6 +360,12 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             return "\u5F85\u5904\u7406\u961F\u5217\uFF08\u666E\u901A/\u95EE\u7B54\uFF09: "
                 + text.substring("Pending queue (general/qa): ".length());
         }
+        if (text.startsWith("Learning YAML files written: ")) {
+            return "\u5DF2\u5BFC\u51FA\u5B66\u4E60 YAML \u6587\u4EF6: " + text.substring("Learning YAML files written: ".length());
+        }
+        if (text.startsWith("Learning phrases imported from YAML: ")) {
+            return "\u5DF2\u4ECE YAML \u5BFC\u5165\u5B66\u4E60\u77ED\u53E5: " + text.substring("Learning phrases imported from YAML: ".length());
+        }
         if (text.startsWith("Refined phrases: ")) {
             return "\u63D0\u70BC\u77ED\u53E5: " + text.substring("Refined phrases: ".length());
         }
@@ -417,6 +441,71 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         if (text.startsWith("Triggers in last hour: ")) {
             return "\u6700\u8FD1\u4E00\u5C0F\u65F6\u89E6\u53D1\u6B21\u6570: " + text.substring("Triggers in last hour: ".length());
         }
+        if (text.startsWith("Join sync queue (viewers/entries): ")) {
+            return "\u8FDB\u670D\u540C\u6B65\u961F\u5217\uFF08\u73A9\u5BB6/\u6761\u76EE\uFF09: "
+                + text.substring("Join sync queue (viewers/entries): ".length());
+        }
+        if (text.startsWith("Join sync peak queue: ")) {
+            return "\u8FDB\u670D\u540C\u6B65\u961F\u5217\u5CF0\u503C: " + text.substring("Join sync peak queue: ".length());
+        }
+        if (text.startsWith("Join sync drain ms (last/avg/max): ")) {
+            return "\u8FDB\u670D\u540C\u6B65\u8017\u65F6 ms\uFF08\u6700\u8FD1/\u5E73\u5747/\u6700\u5927\uFF09: "
+                + text.substring("Join sync drain ms (last/avg/max): ".length());
+        }
+        if (text.startsWith("Join syncs completed: ")) {
+            return "\u8FDB\u670D\u540C\u6B65\u5B8C\u6210\u6B21\u6570: " + text.substring("Join syncs completed: ".length());
+        }
+        if (text.startsWith("Packet dispatch: ")) {
+            String raw = text.substring("Packet dispatch: ".length());
+            return "\u5F02\u6B65\u53D1\u5305: " + zhOnOff(raw);
+        }
+        if (text.startsWith("Packet ops (pending/queued/coalesced): ")) {
+            return "\u53D1\u5305\u64CD\u4F5C\uFF08\u5F85\u53D1/\u5165\u961F/\u5408\u5E76\uFF09: "
+                + text.substring("Packet ops (pending/queued/coalesced): ".length());
+        }
+        if (text.startsWith("Packets sent (flushes/overflow): ")) {
+            return "\u5DF2\u53D1\u5305\u6570\uFF08\u5237\u65B0/\u6EA2\u51FA\uFF09: "
+                + text.substring("Packets sent (flushes/overflow): ".length());
+        }
+        if (text.startsWith("Chat lock ")) {
+            return "\u804A\u5929\u9501 " + text.substring("Chat lock ".length())
+                .replace("(acquired/contended/wait ms/max ms)", "\uFF08\u83B7\u53D6/\u7ADE\u4E89/\u7B49\u5F85ms/\u6700\u5927ms\uFF09");
+        }
+        if (text.startsWith("Speak throttle (CAS retries/rollbacks): ")) {
+            return "\u53D1\u8A00\u8282\u6D41\uFF08CAS\u91CD\u8BD5/\u56DE\u6EDA\uFF09: "
+                + text.substring("Speak throttle (CAS retries/rollbacks): ".length());
+        }
+        if (text.startsWith("QA cache (hits/lookups/hit %/entries): ")) {
+            return "\u95EE\u7B54\u7F13\u5B58\uFF08\u547D\u4E2D/\u67E5\u8BE2/\u547D\u4E2D\u7387/\u6761\u76EE\uFF09: "
+                + text.substring("QA cache (hits/lookups/hit %/entries): ".length());
+        }
+        if (text.startsWith("QA cache tokens saved (est.): ")) {
+            return "\u95EE\u7B54\u7F13\u5B58\u8282\u7701 token\uFF08\u4F30\u7B97\uFF09: "
+                + text.substring("QA cache tokens saved (est.): ".length());
+        }
+        if (text.startsWith("Idle line pool (buffered/buckets/served/misses/dropped): ")) {
+            return "\u95F2\u804A\u9884\u751F\u6210\u6C60\uFF08\u7F13\u5B58/\u5206\u6876/\u53D6\u7528/\u672A\u547D\u4E2D/\u4E22\u5F03\uFF09: "
+                + text.substring("Idle line pool (buffered/buckets/served/misses/dropped): ".length());
+        }
+        if (text.startsWith("Idle line pool refills/tokens last hour: ")) {
+            return "\u95F2\u804A\u9884\u751F\u6210\u8865\u5145\u6B21\u6570/\u8FD1\u4E00\u5C0F\u65F6 token: "
+                + text.substring("Idle line pool refills/tokens last hour: ".length());
+        }
+        if (text.startsWith("AI batched lines (batches/merged/fallbacks): ")) {
+            return "AI \u5408\u5E76\u8BF7\u6C42\uFF08\u6279\u6B21/\u5408\u5E76\u6761\u6570/\u56DE\u9000\u5355\u53D1\uFF09: "
+                + text.substring("AI batched lines (batches/merged/fallbacks): ".length());
+        }
+        if (text.startsWith("Persistence writes (flushes/writes/failed/bytes): ")) {
+            return "\u6301\u4E45\u5316\u5199\u5165\uFF08\u6279\u6B21/\u5199\u5165/\u5931\u8D25/\u5B57\u8282\uFF09: "
+                + text.substring("Persistence writes (flushes/writes/failed/bytes): ".length());
+        }
+        if (text.startsWith("Persistence flush ms (last/avg/max): ")) {
+            return "\u6301\u4E45\u5316\u5237\u76D8\u8017\u65F6 ms\uFF08\u6700\u8FD1/\u5E73\u5747/\u6700\u5927\uFF09: "
+                + text.substring("Persistence flush ms (last/avg/max): ".length());
+        }
+        if (text.startsWith("Persistence dirty stores: ")) {
+            return "\u5F85\u5199\u5165\u5B58\u50A8: " + text.substring("Persistence dirty stores: ".length());
+        }
         if (text.startsWith("No broadcast sent, reason: ")) {
             return "\u672A\u53D1\u9001\u5E7F\u64AD\uFF0C\u539F\u56E0: " + text.substring("No broadcast sent, reason: ".length());
         }
@@ -507,6 +596,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             String msg = "Config auto-cleaned: removed " + removedDeprecated + " deprecated entries.";
             adminMessageService.info(sender, zhOf(msg), msg);
         }
+        configService.refresh();
+        persistenceService.reload();
         if (ghostManager != null && packetManager != null) {
             int currentCount = configService.getInt("core.ghost-count", ghostManager.totalCount());
             applyGhostCount(currentCount);
@@ -517,6 +608,18 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         if (connectionSimulator != null) {
             connectionSimulator.reload();
         }
+        if (tabListRefresher != null) {
+            tabListRefresher.reload();
+        }
+        if (smartChatManager != null) {
+            smartChatManager.startIdleLinePoolRefill();
+        }
+        if (packetManager != null) {
+            packetManager.reload();
+        }
+        if (tabInterceptor != null) {
+            tabInterceptor.reload();
+        }
         getLogger().info("System status: [READY]");
         adminMessageService.success(sender, zhOf("Configuration reloaded."), "Configuration reloaded.");
         return true;
@@ -581,6 +684,8 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             "messages.append-player-id-chance",
             "messages.append-player-id-boost-chance",
             "messages.player-id-format",
+            "messages.audience-tracked-players",
+            "humanization.cooldown-cache-stale-seconds",
             "real-account"
         );
         int removed = 0;
@@ -599,7 +704,7 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
 
     private boolean handleLearn(CommandSender sender, String[] args) {
         if (args.length < 2) {
-            adminMessageService.warn(sender, zhOf("Usage: /rp learn status|flush"), "Usage: /rp learn status|flush");
+            adminMessageService.warn(sender, zhOf("Usage: /rp learn status|flush|export|import"), "Usage: /rp learn status|flush|export|import");
             return true;
         }
         String action = args[1].toLowerCase(Locale.ROOT);
@@ -651,7 +756,25 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             }
             return true;
         }
-        adminMessageService.warn(sender, zhOf("Usage: /rp learn status|flush"), "Usage: /rp learn status|flush");
+        if ("export".equals(action) || "import".equals(action)) {
+            if (!sender.hasPermission("realmpulse.learn.yaml")) {
+                adminMessageService.error(sender, zhOf("You do not have permission."), "You do not have permission.");
+                return true;
+            }
+            if (smartChatManager == null) {
+                adminMessageService.error(sender, zhOf("Learning system is not initialized."), "Learning system is not initialized.");
+                return true;
+            }
+            if ("export".equals(action)) {
+                String msg = "Learning YAML files written: " + smartChatManager.exportLearningYaml();
+                adminMessageService.success(sender, zhOf(msg), msg);
+            } else {
+                String msg = "Learning phrases imported from YAML: " + smartChatManager.importLearningYaml();
+                adminMessageService.success(sender, zhOf(msg), msg);
+            }
+            return true;
+        }
+        adminMessageService.warn(sender, zhOf("Usage: /rp learn status|flush|export|import"), "Usage: /rp learn status|flush|export|import");
         return true;
     }
 
@@ -1007,6 +1130,84 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
         return true;
     }
 
+    private boolean handlePerf(CommandSender sender) {
+        if (!sender.hasPermission("realmpulse.perf.status")) {
+            adminMessageService.error(sender, zhOf("You do not have permission."), "You do not have permission.");
+            return true;
+        }
+        adminMessageService.info(sender, zhOf("Performance status"), "Performance status");
+        if (joinSyncQueue != null) {
+            JoinSyncQueue.SyncStatus sync = joinSyncQueue.getStatus();
+            adminMessageService.info(
+                sender,
+                zhOf("Join sync queue (viewers/entries): " + sync.queuedViewers + "/" + sync.queuedEntries),
+                "Join sync queue (viewers/entries): " + sync.queuedViewers + "/" + sync.queuedEntries
+            );
+            adminMessageService.info(sender, zhOf("Join sync peak queue: " + sync.peakQueuedViewers), "Join sync peak queue: " + sync.peakQueuedViewers);
+            adminMessageService.info(
+                sender,
+                zhOf("Join sync drain ms (last/avg/max): " + sync.lastDrainMs + "/" + sync.averageDrainMs + "/" + sync.maxDrainMs),
+                "Join sync drain ms (last/avg/max): " + sync.lastDrainMs + "/" + sync.averageDrainMs + "/" + sync.maxDrainMs
+            );
+            adminMessageService.info(sender, zhOf("Join syncs completed: " + sync.completedSyncs), "Join syncs completed: " + sync.completedSyncs);
+        }
+        if (packetManager != null) {
+            PacketDispatcher.DispatchStatus dispatch = packetManager.getDispatchStatus();
+            adminMessageService.info(sender, zhOf("Packet dispatch: " + (dispatch.async ? "ON" : "OFF")), "Packet dispatch: " + (dispatch.async ? "ON" : "OFF"));
+            adminMessageService.info(
+                sender,
+                zhOf("Packet ops (pending/queued/coalesced): " + dispatch.pendingOps + "/" + dispatch.enqueuedOps + "/" + dispatch.cancelledOps),
+                "Packet ops (pending/queued/coalesced): " + dispatch.pendingOps + "/" + dispatch.enqueuedOps + "/" + dispatch.cancelledOps
+            );
+            adminMessageService.info(
+                sender,
+                zhOf("Packets sent (flushes/overflow): " + dispatch.packetsSent + " (" + dispatch.flushes + "/" + dispatch.overflowFlushes + ")"),
+                "Packets sent (flushes/overflow): " + dispatch.packetsSent + " (" + dispatch.flushes + "/" + dispatch.overflowFlushes + ")"
+            );
+        }
+        if (smartChatManager != null) {
+            SmartChatManager.ConcurrencyStatus concurrency = smartChatManager.getConcurrencyStatus();
+            for (InstrumentedLock.LockStatus lock : concurrency.locks) {
+                String line = "Chat lock " + lock.name + " (acquired/contended/wait ms/max ms): "
+                    + lock.acquisitions + "/" + lock.contended + "/" + lock.totalWaitMs + "/" + lock.maxWaitMs;
+                adminMessageService.info(sender, zhOf(line), line);
+            }
+            String throttle = "Speak throttle (CAS retries/rollbacks): " + concurrency.throttleCasRetries + "/" + concurrency.throttleRollbacks;
+            adminMessageService.info(sender, zhOf(throttle), throttle);
+            QaResponseCache.CacheStatus qaCache = smartChatManager.getQaCacheStatus();
+            long hitRate = qaCache.lookups == 0 ? 0L : Math.round(qaCache.hits * 100.0 / qaCache.lookups);
+            String cacheLine = "QA cache (hits/lookups/hit %/entries): "
+                + qaCache.hits + "/" + qaCache.lookups + "/" + hitRate + "%/" + qaCache.entries;
+            adminMessageService.info(sender, zhOf(cacheLine), cacheLine);
+            String savedLine = "QA cache tokens saved (est.): " + qaCache.tokensSaved;
+            adminMessageService.info(sender, zhOf(savedLine), savedLine);
+            IdleLinePool.PoolStatus idlePool = smartChatManager.getIdleLinePoolStatus();
+            String poolLine = "Idle line pool (buffered/buckets/served/misses/dropped): "
+                + idlePool.buffered + "/" + idlePool.buckets + "/" + idlePool.served + "/" + idlePool.misses + "/" + idlePool.discarded;
+            adminMessageService.info(sender, zhOf(poolLine), poolLine);
+            String refillLine = "Idle line pool refills/tokens last hour: " + idlePool.refills + "/" + idlePool.tokensLastHour;
+            adminMessageService.info(sender, zhOf(refillLine), refillLine);
+        }
+        if (deepSeekService != null) {
+            DeepSeekService.CoalesceStatus coalesce = deepSeekService.getCoalesceStatus();
+            String coalesceLine = "AI batched lines (batches/merged/fallbacks): "
+                + coalesce.batches + "/" + coalesce.mergedRequests + "/" + coalesce.fallbacks;
+            adminMessageService.info(sender, zhOf(coalesceLine), coalesceLine);
+        }
+        if (persistenceService != null) {
+            PersistenceService.PersistenceStatus persistence = persistenceService.getStatus();
+            String writes = "Persistence writes (flushes/writes/failed/bytes): "
+                + persistence.flushes + "/" + persistence.writes + "/" + persistence.failures + "/" + persistence.bytesWritten;
+            adminMessageService.info(sender, zhOf(writes), writes);
+            String latency = "Persistence flush ms (last/avg/max): "
+                + persistence.lastFlushMs + "/" + persistence.avgFlushMs + "/" + persistence.maxFlushMs;
+            adminMessageService.info(sender, zhOf(latency), latency);
+            String dirty = "Persistence dirty stores: " + persistence.dirtyStores.size() + "/" + persistence.stores;
+            adminMessageService.info(sender, zhOf(dirty), dirty);
+        }
+        return true;
+    }
+
     private boolean applyScenePreset(String scene) {
         switch (scene.toLowerCase(Locale.ROOT)) {
             case "peak" -> {
@@ -1169,21 +1370,13 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
     }
 
     private void applyGhostCount(int target) {
-        List<GhostPlayer> current = new ArrayList<>(GhostManager.getOnlineGhosts());
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            for (GhostPlayer ghost : current) {
-                packetManager.sendTabListRemove(player, ghost);
-            }
-        }
+        List<GhostPlayer> current = GhostManager.getOnlineGhosts();
+        packetManager.sendTabListRemoveAll(current);
 
         ghostManager.initializeGhosts(target);
         configService.setByUserPath("core.ghost-count", String.valueOf(target));
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-                packetManager.sendTabListAdd(player, ghost);
-            }
-        }
+        packetManager.sendTabListAddAll(GhostManager.getOnlineGhosts());
         if (connectionSimulator != null) {
             connectionSimulator.rebalanceOnlineRatioSilently();
         }
@@ -1195,7 +1388,7 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
             return Arrays.asList(
                     "help", "reload", "learn", "bots", "addbot", "removebot", "delbot", "setbot",
                     "qamodel", "summarymodel", "qaon", "summaryon", "qaapi", "summaryapi",
-                    "qakey", "summarykey", "profile", "scene", "advancement",
+                    "qakey", "summarykey", "profile", "scene", "advancement", "perf",
                     "get", "set", "list", "config"
                 ).stream()
                 .filter(s -> s.startsWith(args[0].toLowerCase(Locale.ROOT)))
@@ -1204,7 +1397,7 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
 
         String sub = args[0].toLowerCase(Locale.ROOT);
         if (args.length == 2 && "learn".equals(sub)) {
-            return Arrays.asList("status", "flush").stream()
+            return Arrays.asList("status", "flush", "export", "import").stream()
                 .filter(s -> s.startsWith(args[1].toLowerCase(Locale.ROOT)))
                 .collect(Collectors.toList());
         }
@@ -1345,5 +1538,13 @@ public final class RealmPulse extends JavaPlugin implements TabExecutor {
     public GhostManager getGhostManager() {
         return ghostManager;
     }
+
+    public RealmPulseSettings getSettings() {
+        return configService.settings();
+    }
+
+    public PersistenceService getPersistenceService() {
+        return persistenceService;
+    }
 }
 
@@ -0,0 +1,475 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Immutable view of config.yml compiled once per load/reload/set. Every leaf value is flattened
+ * into one map with aliases already resolved and lists already converted, so a lookup never walks
+ * the YAML tree. Settings read on every chat line or tick are also exposed as plain typed fields,
+ * with their clamps already applied. Lookups read like Bukkit's: numbers written as strings are
+ * parsed, and get/getStringList fall back to the defaults shipped in the jar.
+ */
+public final class RealmPulseSettings {
+
+    private final Map<String, Object> values;
+    private final Map<String, List<String>> stringLists;
+    private final Map<String, Object> defaultValues;
+    private final Map<String, List<String>> defaultStringLists;
+
+    public final Humanization humanization;
+    public final Typing typing;
+    public final NoRepeat noRepeat;
+    public final Connection connection;
+    public final Death death;
+    public final Events events;
+    public final AiDialogue aiDialogue;
+    public final Chat chat;
+    public final Qa qa;
+    public final QaCache qaCache;
+    public final IdTag idTag;
+
+    private RealmPulseSettings(Map<String, Object> values, Map<String, Object> defaultValues) {
+        this.values = values;
+        this.stringLists = convertLists(values);
+        this.defaultValues = defaultValues;
+        this.defaultStringLists = convertLists(defaultValues);
+        this.humanization = new Humanization(this);
+        this.typing = new Typing(this);
+        this.noRepeat = new NoRepeat(this);
+        this.connection = new Connection(this);
+        this.death = new Death(this);
+        this.events = new Events(this);
+        this.aiDialogue = new AiDialogue(this);
+        this.chat = new Chat(this);
+        this.qa = new Qa(this);
+        this.qaCache = new QaCache(this);
+        this.idTag = new IdTag(this);
+    }
+
+    public static RealmPulseSettings compile(FileConfiguration config, Map<String, String> aliases) {
+        Configuration defaults = config.getDefaults();
+        return compile(
+            config.getValues(true),
+            defaults == null ? Map.of() : defaults.getValues(true),
+            aliases
+        );
+    }
+
+    // Takes the deep value maps of the live config and of its jar defaults
+    static RealmPulseSettings compile(Map<String, Object> config, Map<String, Object> defaults, Map<String, String> aliases) {
+        Map<String, Object> values = leaves(config);
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            Object legacy = values.get(alias.getValue());
+            if (!values.containsKey(alias.getKey()) && legacy != null) {
+                values.put(alias.getKey(), legacy);
+            }
+        }
+        return new RealmPulseSettings(values, leaves(defaults));
+    }
+
+    private static Map<String, Object> leaves(Map<String, Object> deepValues) {
+        Map<String, Object> leaves = new HashMap<>();
+        for (Map.Entry<String, Object> entry : deepValues.entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection) && !(entry.getValue() instanceof Map<?, ?>)) {
+                leaves.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return leaves;
+    }
+
+    // Also freezes the lists in values
+    private static Map<String, List<String>> convertLists(Map<String, Object> values) {
+        Map<String, List<String>> stringLists = new HashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof List<?> list) {
+                List<String> strings = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    if (item instanceof String || item instanceof Number || item instanceof Boolean || item instanceof Character) {
+                        strings.add(String.valueOf(item));
+                    }
+                }
+                stringLists.put(entry.getKey(), Collections.unmodifiableList(strings));
+                entry.setValue(Collections.unmodifiableList(new ArrayList<>(list)));
+            }
+        }
+        return stringLists;
+    }
+
+    // Only values set in config.yml itself, jar defaults do not count
+    public boolean contains(String path) {
+        return values.containsKey(path);
+    }
+
+    public Object get(String path) {
+        Object value = values.get(path);
+        return value != null ? value : defaultValues.get(path);
+    }
+
+    public String getString(String path, String def) {
+        Object value = values.get(path);
+        return value == null ? def : value.toString();
+    }
+
+    public boolean getBoolean(String path, boolean def) {
+        return values.get(path) instanceof Boolean value ? value : def;
+    }
+
+    public int getInt(String path, int def) {
+        Number value = number(values.get(path));
+        return value == null ? def : value.intValue();
+    }
+
+    public long getLong(String path, long def) {
+        Number value = number(values.get(path));
+        return value == null ? def : value.longValue();
+    }
+
+    public double getDouble(String path, double def) {
+        Number value = number(values.get(path));
+        return value == null ? def : value.doubleValue();
+    }
+
+    // Shared and unmodifiable, copy before shuffling or filtering in place
+    public List<String> getStringList(String path) {
+        List<String> list = stringLists.get(path);
+        return list != null ? list : defaultStringLists.getOrDefault(path, List.of());
+    }
+
+    // Quoted numbers such as "0.5" count as numbers, like Bukkit's NumberConversions
+    private static Number number(Object value) {
+        if (value instanceof Number number) {
+            return number;
+        }
+        if (value instanceof String text) {
+            String trimmed = text.trim();
+            try {
+                return Long.valueOf(trimmed);
+            } catch (NumberFormatException notWhole) {
+                try {
+                    return Double.valueOf(trimmed);
+                } catch (NumberFormatException notNumber) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    // The legacy path is only consulted when config.yml does not set the current one
+    private boolean getCompatBoolean(String path, String legacyPath, boolean def) {
+        return getBoolean(contains(path) ? path : legacyPath, def);
+    }
+
+    private long getCompatLong(String path, String legacyPath, long def) {
+        return getLong(contains(path) ? path : legacyPath, def);
+    }
+
+    private double getCompatDouble(String path, String legacyPath, double def) {
+        return getDouble(contains(path) ? path : legacyPath, def);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double chance(double value) {
+        return clamp(value, 0.0, 1.0);
+    }
+
+    public static final class Humanization {
+        public final boolean enabled;
+        public final boolean requireRealPlayerOnline;
+        public final int minOnlineRealPlayers;
+        public final long globalCooldownMs;
+        public final long burstWindowMs;
+        public final int burstMaxLines;
+        public final long topicCooldownMs;
+        public final long ghostCooldownMinSeconds;
+        public final long ghostCooldownMaxSeconds;
+        public final int topicCacheMaxSize;
+        public final int ghostCacheMaxSize;
+        public final boolean filterLowSignalLines;
+        public final Set<String> lowSignalBlocklist;
+
+        private Humanization(RealmPulseSettings s) {
+            enabled = s.getBoolean("humanization.enabled", true);
+            requireRealPlayerOnline = s.getBoolean("humanization.require-real-player-online", true);
+            minOnlineRealPlayers = Math.max(0, s.getInt("humanization.min-online-real-players", 1));
+            globalCooldownMs = Math.max(0L, s.getLong("humanization.global-chat-cooldown-seconds", 4L)) * 1000L;
+            burstWindowMs = Math.max(5L, s.getLong("humanization.burst-window-seconds", 30L)) * 1000L;
+            burstMaxLines = Math.max(1, s.getInt("humanization.burst-max-lines", 4));
+            topicCooldownMs = Math.max(0L, s.getLong("humanization.same-topic-cooldown-seconds", 120L)) * 1000L;
+            ghostCooldownMinSeconds = Math.max(2L, s.getLong("humanization.ghost-chat-cooldown-seconds-min", 20L));
+            ghostCooldownMaxSeconds = Math.max(ghostCooldownMinSeconds, s.getLong("humanization.ghost-chat-cooldown-seconds-max", 75L));
+            topicCacheMaxSize = Math.max(200, s.getInt("humanization.topic-cache-max-size", 4000));
+            ghostCacheMaxSize = Math.max(100, s.getInt("humanization.ghost-cache-max-size", 1000));
+            filterLowSignalLines = s.getBoolean("humanization.filter-low-signal-lines", true);
+            Set<String> blocklist = new LinkedHashSet<>();
+            for (String blocked : s.getStringList("humanization.low-signal-blocklist")) {
+                if (!blocked.isBlank()) {
+                    blocklist.add(blocked.toLowerCase(Locale.ROOT));
+                }
+            }
+            lowSignalBlocklist = Collections.unmodifiableSet(blocklist);
+        }
+    }
+
+    public static final class Typing {
+        public final long baseMinTicks;
+        public final long baseMaxTicks;
+        public final long perCharTicks;
+
+        private Typing(RealmPulseSettings s) {
+            baseMinTicks = s.getLong("messages.typing-base-min-ticks", 15L);
+            baseMaxTicks = Math.max(baseMinTicks, s.getLong("messages.typing-base-max-ticks", 35L));
+            perCharTicks = Math.max(1L, s.getLong("messages.typing-per-char-ticks", 2L));
+        }
+    }
+
+    public static final class NoRepeat {
+        public final double similarityThreshold;
+        public final int window;
+
+        private NoRepeat(RealmPulseSettings s) {
+            similarityThreshold = clamp(s.getDouble("messages.no-repeat-similarity-threshold", 0.84), 0.55, 0.99);
+            window = Math.max(10, s.getInt("messages.no-repeat-window", 40));
+        }
+    }
+
+    public static final class Connection {
+        public final boolean enabled;
+        public final long intervalSeconds;
+        public final boolean requireRealPlayerOnline;
+        public final int maxStateChangesPerTick;
+        public final long minStateChangeMs;
+        public final double quitChance;
+        public final double rejoinChance;
+        public final double targetOnlineRatio;
+        public final double targetRatioTolerance;
+        public final String joinFormat;
+        public final String quitFormat;
+        public final long stateCacheStaleMs;
+
+        private Connection(RealmPulseSettings s) {
+            enabled = s.getBoolean("connection-settings.enabled", true);
+            intervalSeconds = Math.max(5L, s.getLong("connection-settings.interval-seconds", 30L));
+            requireRealPlayerOnline = s.getBoolean("connection-settings.require-real-player-online", true);
+            maxStateChangesPerTick = Math.max(1, s.getInt("connection-settings.max-state-changes-per-tick", 2));
+            minStateChangeMs = Math.max(10L, s.getLong("connection-settings.min-seconds-between-state-change", 180L)) * 1000L;
+            quitChance = s.getDouble("connection-settings.quit-chance", 0.02);
+            rejoinChance = s.getDouble("connection-settings.rejoin-chance", 0.1);
+            targetOnlineRatio = clamp(s.getDouble("connection-settings.target-online-ratio", 0.72), 0.10, 0.98);
+            targetRatioTolerance = clamp(s.getDouble("connection-settings.target-ratio-tolerance", 0.08), 0.01, 0.35);
+            joinFormat = s.getString("connection-settings.cmi-join-format", "&e{name} joined the game");
+            quitFormat = s.getString("connection-settings.cmi-quit-format", "&e{name} left the game");
+            stateCacheStaleMs = Math.max(300_000L, s.getLong("connection-settings.state-cache-stale-seconds", 3600L) * 1000L);
+        }
+    }
+
+    public static final class Death {
+        public final boolean enabled;
+        public final double chance;
+        public final long perGhostMinIntervalMs;
+        public final long globalMinIntervalMs;
+        public final long deadDurationMinSeconds;
+        public final long deadDurationMaxSeconds;
+        public final boolean requireRealPlayerOnline;
+        public final int minOnlineRealPlayers;
+        public final List<String> reasons;
+        public final String format;
+
+        private Death(RealmPulseSettings s) {
+            enabled = s.getBoolean("death-settings.enabled", true);
+            chance = s.getDouble("death-settings.chance", 0.05);
+            perGhostMinIntervalMs = Math.max(10L, s.getLong("death-settings.per-ghost-min-interval-seconds", 900L)) * 1000L;
+            globalMinIntervalMs = Math.max(10L, s.getLong("death-settings.global-min-interval-seconds", 180L)) * 1000L;
+            deadDurationMinSeconds = Math.max(5L, s.getLong("death-settings.dead-duration-seconds-min", 25L));
+            deadDurationMaxSeconds = Math.max(deadDurationMinSeconds, s.getLong("death-settings.dead-duration-seconds-max", 90L));
+            requireRealPlayerOnline = s.getBoolean("death-settings.require-real-player-online", true);
+            minOnlineRealPlayers = Math.max(0, s.getInt("death-settings.min-online-real-players", 1));
+            reasons = s.getStringList("death-settings.death-reasons");
+            format = s.getString("death-settings.cmi-format", "&e{name} &f{reason}");
+        }
+    }
+
+    public static final class Events {
+        public final boolean groupDialogueEnabled;
+        public final long groupDialogueIntervalSeconds;
+        public final double groupDialogueChanceEn;
+        public final double groupDialogueChanceZh;
+        public final double groupDialogueParticipationRatio;
+        public final boolean groupDialogueUseAi;
+        public final double groupDialogueAiChance;
+        public final boolean idleChatUseAi;
+        public final double idleChatAiChance;
+        public final boolean botMentionDialogueEnabled;
+        public final long botMentionDialogueMinIntervalMs;
+        public final double botMentionDialogueChance;
+        public final boolean ghostMentionReplyUseAi;
+        public final double ghostMentionReplyAiChance;
+        public final double ghostMentionBackChance;
+        public final boolean aiStrictNoTemplateFallback;
+        public final double replyChance;
+        public final long qaLeadDelayMinTicks;
+        public final long qaLeadDelayMaxTicks;
+        public final double ghostFollowupChance;
+        public final boolean replyFollowupUseAi;
+        public final double replyFollowupAiChance;
+        public final long qaFollowDelayStepMinTicks;
+        public final long qaFollowDelayStepMaxTicks;
+
+        private Events(RealmPulseSettings s) {
+            groupDialogueEnabled = s.getCompatBoolean("events.group-dialogue-enabled", "events.english-dialogue-enabled", true);
+            groupDialogueIntervalSeconds = Math.max(30L, s.getCompatLong("events.group-dialogue-interval-seconds", "events.english-dialogue-interval-seconds", 180L));
+            groupDialogueChanceEn = chance(s.getCompatDouble("events.group-dialogue-chance", "events.english-dialogue-chance", 0.16));
+            groupDialogueChanceZh = chance(s.getCompatDouble("events.group-dialogue-chance", "events.english-dialogue-chance", 0.24));
+            groupDialogueParticipationRatio = clamp(
+                s.getCompatDouble("events.group-dialogue-participation-ratio", "events.english-dialogue-participation-ratio", 0.35),
+                0.2,
+                1.0
+            );
+            groupDialogueUseAi = s.getCompatBoolean("events.group-dialogue-use-ai", "events.english-dialogue-use-ai", true);
+            groupDialogueAiChance = chance(s.getCompatDouble("events.group-dialogue-ai-chance", "events.english-dialogue-ai-chance", 0.85));
+            idleChatUseAi = s.getBoolean("events.idle-chat-use-ai", true);
+            idleChatAiChance = chance(s.getDouble("events.idle-chat-ai-chance", 0.70));
+            botMentionDialogueEnabled = s.getCompatBoolean("events.bot-mention-dialogue-enabled", "events.fake-mention-dialogue-enabled", true);
+            botMentionDialogueMinIntervalMs = Math.max(30L, s.getLong("events.bot-mention-dialogue-min-interval-seconds", 240L)) * 1000L;
+            botMentionDialogueChance = s.getCompatDouble("events.bot-mention-dialogue-chance", "events.player-mention-reply-chance", 0.02);
+            ghostMentionReplyUseAi = s.getBoolean("events.ghost-mention-reply-use-ai", true);
+            ghostMentionReplyAiChance = chance(s.getDouble("events.ghost-mention-reply-ai-chance", 0.75));
+            ghostMentionBackChance = s.getDouble("events.ghost-mention-back-chance", 0.45);
+            aiStrictNoTemplateFallback = s.getBoolean("events.ai-strict-no-template-fallback", true);
+            replyChance = s.getDouble("events.reply-chance", 0.2);
+            qaLeadDelayMinTicks = Math.max(20L, s.getLong("events.qa-lead-delay-min-ticks", 120L));
+            qaLeadDelayMaxTicks = Math.max(qaLeadDelayMinTicks, s.getLong("events.qa-lead-delay-max-ticks", 240L));
+            ghostFollowupChance = s.getDouble("events.ghost-followup-chance", 0.2);
+            replyFollowupUseAi = s.getBoolean("events.reply-followup-use-ai", true);
+            replyFollowupAiChance = chance(s.getDouble("events.reply-followup-ai-chance", 0.65));
+            qaFollowDelayStepMinTicks = Math.max(30L, s.getLong("events.qa-follow-delay-step-min-ticks", 90L));
+            qaFollowDelayStepMaxTicks = Math.max(qaFollowDelayStepMinTicks, s.getLong("events.qa-follow-delay-step-max-ticks", 170L));
+        }
+    }
+
+    public static final class AiDialogue {
+        public final boolean advancedMode;
+        public final int ghostContextLines;
+        public final int realPlayerContextLines;
+        public final int maxWordsEn;
+        public final int maxCharsZh;
+        public final List<String> stylesEn;
+        public final List<String> stylesZh;
+        public final List<String> defaultTopicsZh;
+        public final int singleLineMaxAttempts;
+        public final int realPlayerMemorySize;
+        public final int perGhostTopicMemory;
+        public final int topicOwnerMaxSize;
+        public final IdlePool idlePool;
+
+        private AiDialogue(RealmPulseSettings s) {
+            advancedMode = !"basic".equalsIgnoreCase(s.getString("ai-dialogue.mode", "advanced"));
+            ghostContextLines = Math.max(2, s.getInt("ai-dialogue.ghost-context-lines", 8));
+            realPlayerContextLines = Math.max(0, s.getInt("ai-dialogue.real-player-context-lines", 4));
+            maxWordsEn = Math.max(6, s.getInt("ai-dialogue.max-words-en", 14));
+            maxCharsZh = Math.max(8, s.getInt("ai-dialogue.max-chars-zh", 22));
+            stylesEn = s.getStringList("ai-dialogue.styles-en");
+            stylesZh = s.getStringList("ai-dialogue.styles-zh");
+            defaultTopicsZh = s.getStringList("ai-dialogue.default-topics-zh");
+            singleLineMaxAttempts = Math.max(1, s.getInt("ai-dialogue.single-line-max-attempts", 2));
+            realPlayerMemorySize = Math.max(20, s.getInt("ai-dialogue.real-player-memory-size", 120));
+            perGhostTopicMemory = Math.max(3, s.getInt("ai-dialogue.per-ghost-topic-memory", 12));
+            topicOwnerMaxSize = Math.max(50, s.getInt("ai-dialogue.topic-owner-max-size", 600));
+            idlePool = new IdlePool(s);
+        }
+    }
+
+    public static final class IdlePool {
+        public final boolean enabled;
+        public final long refillIntervalSeconds;
+        public final int quietMaxInFlight;
+        public final int tokenBudgetPerHour;
+        public final int lowWater;
+        public final int highWater;
+        public final int batchSize;
+        public final long maxLineAgeMs;
+
+        private IdlePool(RealmPulseSettings s) {
+            enabled = s.getBoolean("ai-dialogue.idle-pool.enabled", true);
+            refillIntervalSeconds = Math.max(5L, s.getLong("ai-dialogue.idle-pool.refill-interval-seconds", 20L));
+            quietMaxInFlight = Math.max(0, s.getInt("ai-dialogue.idle-pool.quiet-max-in-flight", 1));
+            tokenBudgetPerHour = s.getInt("ai-dialogue.idle-pool.token-budget-per-hour", 20000);
+            lowWater = Math.max(1, s.getInt("ai-dialogue.idle-pool.low-water", 4));
+            highWater = Math.max(lowWater + 1, s.getInt("ai-dialogue.idle-pool.high-water", 12));
+            batchSize = Math.max(2, s.getInt("ai-dialogue.idle-pool.batch-size", 8));
+            maxLineAgeMs = Math.max(60L, s.getLong("ai-dialogue.idle-pool.max-line-age-seconds", 1800L)) * 1000L;
+        }
+    }
+
+    public static final class Chat {
+        public final boolean english;
+        public final String format;
+
+        private Chat(RealmPulseSettings s) {
+            String language = s.getString("chat.language", "zh").trim().toLowerCase(Locale.ROOT);
+            english = "en".equals(language) || "english".equals(language);
+            format = s.getString("chat.format", "{prefix}{name}: {message}");
+        }
+    }
+
+    // "@player" appended to a ghost line
+    public static final class IdTag {
+        public final double chance;
+        public final double boostChance;
+        public final String format;
+
+        private IdTag(RealmPulseSettings s) {
+            chance = s.getCompatDouble("messages.append-ghost-id-chance", "messages.append-player-id-chance", 0.01);
+            boostChance = s.getCompatDouble("messages.append-ghost-id-boost-chance", "messages.append-player-id-boost-chance", 0.03);
+            format = s.contains("messages.ghost-id-format")
+                ? s.getString("messages.ghost-id-format", "{message} @{player}")
+                : s.getString("messages.player-id-format", "{message} @{player}");
+        }
+    }
+
+    public static final class Qa {
+        public final boolean enabled;
+        // AI and QA switched on, with an endpoint and a model configured
+        public final boolean available;
+        public final double idleBlendChance;
+
+        private Qa(RealmPulseSettings s) {
+            enabled = s.getBoolean("ai.qa.enabled", true);
+            String apiUrl = s.getString("ai.qa.api-url", "");
+            String model = s.getString("ai.qa.model", "");
+            available = s.getBoolean("ai.enabled", true) && enabled && !apiUrl.isBlank() && !model.isBlank();
+            idleBlendChance = chance(s.getDouble("learning.qa-idle-blend-chance", 0.2));
+        }
+    }
+
+    public static final class QaCache {
+        public final boolean enabled;
+        public final boolean persist;
+        public final long ttlMs;
+        public final int answersPerQuestion;
+        public final int maxEntries;
+        public final double similarityThreshold;
+
+        private QaCache(RealmPulseSettings s) {
+            enabled = s.getBoolean("ai.qa-cache.enabled", true);
+            persist = s.getBoolean("ai.qa-cache.persist", false);
+            ttlMs = Math.max(60L, s.getLong("ai.qa-cache.ttl-seconds", 21600L)) * 1000L;
+            answersPerQuestion = Math.max(1, s.getInt("ai.qa-cache.answers-per-question", 3));
+            maxEntries = Math.max(16, s.getInt("ai.qa-cache.max-entries", 500));
+            similarityThreshold = clamp(s.getDouble("ai.qa-cache.similarity-threshold", 0.88), 0.5, 1.0);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.realmpulse;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-backed deque with O(1) indexed access and a fixed capacity. Once full, addLast overwrites
+ * the oldest element and addFirst is refused. Only setCapacity reallocates. Not thread-safe.
+ */
+public final class RingDeque<T> implements Iterable<T> {
+
+    private Object[] elements;
+    private int head;
+    private int size;
+
+    public RingDeque(int capacity) {
+        elements = new Object[Math.max(1, capacity)];
+    }
+
+    // Returns the element overwritten to make room, or null while there was room
+    @SuppressWarnings("unchecked")
+    public T addLast(T value) {
+        if (size == elements.length) {
+            T evicted = (T) elements[head];
+            elements[head] = value;
+            head = (head + 1) % elements.length;
+            return evicted;
+        }
+        elements[(head + size) % elements.length] = value;
+        size++;
+        return null;
+    }
+
+    public void addFirst(T value) {
+        if (size == elements.length) {
+            throw new IllegalStateException("RingDeque is full (" + elements.length + ")");
+        }
+        head = (head - 1 + elements.length) % elements.length;
+        elements[head] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        T value = (T) elements[head];
+        elements[head] = null;
+        head = (head + 1) % elements.length;
+        size--;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int slot = (head + size - 1) % elements.length;
+        T value = (T) elements[slot];
+        elements[slot] = null;
+        size--;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (T) elements[(head + index) % elements.length];
+    }
+
+    void set(int index, T value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        elements[(head + index) % elements.length] = value;
+    }
+
+    public T peekFirst() {
+        return size == 0 ? null : get(0);
+    }
+
+    public T peekLast() {
+        return size == 0 ? null : get(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    // Reallocates to the new capacity, dropping the oldest elements that no longer fit
+    public void setCapacity(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == elements.length) {
+            return;
+        }
+        int keep = Math.min(size, capacity);
+        Object[] resized = new Object[capacity];
+        for (int i = 0; i < keep; i++) {
+            resized[i] = elements[(head + size - keep + i) % elements.length];
+        }
+        elements = resized;
+        head = 0;
+        size = keep;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            elements[(head + i) % elements.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+}
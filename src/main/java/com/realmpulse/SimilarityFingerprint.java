@@ -0,0 +1,99 @@
+package com.realmpulse;
+
+import java.util.Arrays;
+
+/**
+ * A normalized message encoded once as a sorted multiset of packed char-pair codes.
+ * Dice similarity between two fingerprints is a merge over the two arrays, no per-call allocation.
+ */
+public final class SimilarityFingerprint {
+
+    static final SimilarityFingerprint EMPTY = new SimilarityFingerprint("", new int[0]);
+
+    private final String key;
+    private final int[] bigrams;
+
+    private SimilarityFingerprint(String key, int[] bigrams) {
+        this.key = key;
+        this.bigrams = bigrams;
+    }
+
+    // key must already be normalized by the caller
+    public static SimilarityFingerprint of(String key) {
+        if (key == null || key.isEmpty()) {
+            return EMPTY;
+        }
+        int count = key.length() - 1;
+        if (count <= 0) {
+            return new SimilarityFingerprint(key, new int[0]);
+        }
+        int[] bigrams = new int[count];
+        for (int i = 0; i < count; i++) {
+            bigrams[i] = (key.charAt(i) << 16) | key.charAt(i + 1);
+        }
+        Arrays.sort(bigrams);
+        return new SimilarityFingerprint(key, bigrams);
+    }
+
+    // Rebuilds a fingerprint persisted by PhraseSnapshot, bigrams must come from of(key)
+    static SimilarityFingerprint restore(String key, int[] bigrams) {
+        if (key == null || key.isEmpty()) {
+            return EMPTY;
+        }
+        return new SimilarityFingerprint(key, bigrams);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    int[] bigrams() {
+        return bigrams;
+    }
+
+    public boolean isEmpty() {
+        return key.isEmpty();
+    }
+
+    public boolean isSimilar(SimilarityFingerprint other, double threshold) {
+        if (other == null || isEmpty() || other.isEmpty()) {
+            return false;
+        }
+        if (key.equals(other.key)) {
+            return true;
+        }
+        int shorter = Math.min(key.length(), other.key.length());
+        int longer = Math.max(key.length(), other.key.length());
+        if (((double) shorter / (double) longer) < 0.45) {
+            return false;
+        }
+        return dice(other) >= threshold;
+    }
+
+    public double dice(SimilarityFingerprint other) {
+        if (key.equals(other.key)) {
+            return 1.0;
+        }
+        int[] left = bigrams;
+        int[] right = other.bigrams;
+        int total = left.length + right.length;
+        if (left.length == 0 || right.length == 0) {
+            return 0.0;
+        }
+        int intersection = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (2.0 * intersection) / (double) total;
+    }
+}
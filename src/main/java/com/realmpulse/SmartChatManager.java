@@ -2,20 +2,25 @@ package com.realmpulse;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,7 +35,7 @@ public class SmartChatManager {
         ZH_ONLY,
         MIXED
     }
-
+
     private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
     private static final Pattern PLAYER_MENTION_PATTERN = Pattern.compile("@([A-Za-z0-9_]{3,16})");
     private static final Pattern NON_CONTENT_PATTERN = Pattern.compile("[^\\p{L}\\p{Nd}\\u4e00-\\u9fff]+");
@@ -49,25 +54,38 @@ public class SmartChatManager {
     private final PhraseLearningStore phraseLearningStore;
     private final PhraseLearningStore qaPhraseLearningStore;
     private final PhraseLearningStore legacyPhraseLearningStore;
+    private final PhrasePool ghostDialoguePool = new PhrasePool();
+    private final PhrasePool configIdlePoolEn = new PhrasePool();
+    private final PhrasePool configIdlePoolZh = new PhrasePool();
+    private final Object phrasePoolLock = new Object();
+    private volatile RealmPulseSettings phrasePoolSettings;
     private final RawLearningStore rawLearningStore;
-    private final LinkedList<String> recentMessages = new LinkedList<>();
-    private final LinkedList<String> recentPlayerNames = new LinkedList<>();
-    private final LinkedList<String> recentRealPlayerMessages = new LinkedList<>();
-    private final LinkedList<String> pendingLearningRaw = new LinkedList<>();
-    private final LinkedList<String> pendingLearningQaRaw = new LinkedList<>();
-    private final LinkedList<String> recentGhostDialogue = new LinkedList<>();
-    private final Map<String, LinkedList<String>> ghostTopicMemory = new HashMap<>();
-    private final Map<String, LinkedList<String>> audienceSeenMessages = new HashMap<>();
-    private final Map<String, Long> playerLearningNextAt = new HashMap<>();
-    private final Map<String, Long> ghostNextSpeakAt = new HashMap<>();
-    private final Map<String, Long> topicNextSpeakAt = new HashMap<>();
-    private final LinkedList<Long> recentSendTimeline = new LinkedList<>();
-    private final Object recentLock = new Object();
-    private final Object learningLock = new Object();
-    private final Object learningThrottleLock = new Object();
-    private final Object memoryLock = new Object();
-    private final Object throttleLock = new Object();
-    private volatile long globalNextSpeakAt = 0L;
+    private final QaResponseCache qaResponseCache;
+    private final IdleLinePool idleLinePool = new IdleLinePool();
+    private BukkitTask idleLinePoolRefillTask;
+    private final LinkedHashMap<String, SimilarityFingerprint> recentMessages = new LinkedHashMap<>();
+    private final NearDuplicateIndex<Integer> recentIndex = new NearDuplicateIndex<>();
+    // Capacities start at the config defaults and follow the configured sizes on the next add
+    private final IndexedStringRing recentPlayerNames = new IndexedStringRing(true, 50);
+    private final RingDeque<String> recentRealPlayerMessages = new RingDeque<>(120);
+    private final IndexedStringRing pendingLearningRaw = new IndexedStringRing(false, 300);
+    private final IndexedStringRing pendingLearningQaRaw = new IndexedStringRing(false, 300);
+    private final IndexedStringRing recentGhostDialogue = new IndexedStringRing(true, 80);
+    private final Map<String, IndexedStringRing> ghostTopicMemory = new HashMap<>();
+    private final AudienceHistory audienceHistory = new AudienceHistory();
+    private final Map<String, SimilarityFingerprint> pendingLearningFingerprints = new HashMap<>();
+    private final CooldownTracker playerLearningNextAt = new CooldownTracker();
+    private final CooldownTracker ghostNextSpeakAt = new CooldownTracker();
+    private final CooldownTracker topicNextSpeakAt = new CooldownTracker();
+    private final LongRingBuffer recentSendTimeline = new LongRingBuffer(4);
+    private final InstrumentedLock recentLock = new InstrumentedLock("recent");
+    private final InstrumentedLock learningLock = new InstrumentedLock("learning");
+    private final InstrumentedLock memoryLock = new InstrumentedLock("memory");
+    private final InstrumentedLock burstLock = new InstrumentedLock("burst");
+    private final AtomicLong globalNextSpeakAt = new AtomicLong();
+    private final AtomicLong nextCooldownPruneAt = new AtomicLong();
+    private final LongAdder throttleCasRetries = new LongAdder();
+    private final LongAdder throttleRollbacks = new LongAdder();
     private volatile boolean learningSummaryInFlight = false;
     private volatile boolean qaLearningSummaryInFlight = false;
     private volatile long lastLearningSummaryAt = 0L;
@@ -111,6 +129,18 @@ public class SmartChatManager {
             this.qaSummaryFailureStreak = qaSummaryFailureStreak;
         }
     }
+
+    public static final class ConcurrencyStatus {
+        public final List<InstrumentedLock.LockStatus> locks;
+        public final long throttleCasRetries;
+        public final long throttleRollbacks;
+
+        private ConcurrencyStatus(List<InstrumentedLock.LockStatus> locks, long throttleCasRetries, long throttleRollbacks) {
+            this.locks = locks;
+            this.throttleCasRetries = throttleCasRetries;
+            this.throttleRollbacks = throttleRollbacks;
+        }
+    }
 
     public SmartChatManager(
         RealmPulse plugin,
@@ -122,10 +152,11 @@ public class SmartChatManager {
         this.configService = configService;
         this.deepSeekService = deepSeekService;
         this.deathManager = deathManager;
-        this.phraseLearningStore = new PhraseLearningStore(plugin, "learned-phrases-chat.yml");
-        this.qaPhraseLearningStore = new PhraseLearningStore(plugin, "learned-phrases-qa.yml");
-        this.legacyPhraseLearningStore = new PhraseLearningStore(plugin);
-        this.rawLearningStore = new RawLearningStore(plugin);
+        this.phraseLearningStore = new PhraseLearningStore(plugin, plugin.getPersistenceService(), "learned-phrases-chat.yml", this::fingerprintOf);
+        this.qaPhraseLearningStore = new PhraseLearningStore(plugin, plugin.getPersistenceService(), "learned-phrases-qa.yml", this::fingerprintOf);
+        this.legacyPhraseLearningStore = new PhraseLearningStore(plugin, plugin.getPersistenceService(), this::fingerprintOf);
+        this.rawLearningStore = new RawLearningStore(plugin, plugin.getPersistenceService());
+        this.qaResponseCache = new QaResponseCache(plugin, plugin.getPersistenceService());
     }
 
     public void startIdleChat() {
@@ -142,18 +173,11 @@ public class SmartChatManager {
     }
 
     public void startEnglishDialogue() {
-        boolean enabled = getCompatBoolean(
-            "events.group-dialogue-enabled",
-            "events.english-dialogue-enabled",
-            true
-        );
-        if (!enabled) {
+        RealmPulseSettings.Events events = plugin.getSettings().events;
+        if (!events.groupDialogueEnabled) {
             return;
         }
-        long intervalSeconds = Math.max(
-            30L,
-            getCompatLong("events.group-dialogue-interval-seconds", "events.english-dialogue-interval-seconds", 180L)
-        );
+        long intervalSeconds = events.groupDialogueIntervalSeconds;
         Bukkit.getScheduler().runTaskTimer(
             plugin,
             this::runEnglishDialogueTick,
@@ -163,7 +187,7 @@ public class SmartChatManager {
     }
 
     public void startLearningSummarizer() {
-        long intervalSeconds = Math.max(5L, plugin.getConfig().getLong("learning.auto-summary-interval-seconds", 12L));
+        long intervalSeconds = Math.max(5L, plugin.getSettings().getLong("learning.auto-summary-interval-seconds", 12L));
         Bukkit.getScheduler().runTaskTimerAsynchronously(
             plugin,
             () -> maybeSummarizeAndImportLearningBatch(false),
@@ -172,8 +196,27 @@ public class SmartChatManager {
         );
     }
 
+    // Also called on reload, so a changed enabled flag or interval takes effect
+    public void startIdleLinePoolRefill() {
+        if (idleLinePoolRefillTask != null) {
+            idleLinePoolRefillTask.cancel();
+            idleLinePoolRefillTask = null;
+        }
+        RealmPulseSettings.IdlePool settings = plugin.getSettings().aiDialogue.idlePool;
+        if (!settings.enabled) {
+            return;
+        }
+        long intervalSeconds = settings.refillIntervalSeconds;
+        idleLinePoolRefillTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+            plugin,
+            this::refillIdleLinePool,
+            intervalSeconds * 20L,
+            intervalSeconds * 20L
+        );
+    }
+
     private void runIdleTick() {
-        List<GhostPlayer> ghosts = deathManager.getAliveGhosts(GhostManager.getOnlineGhosts());
+        List<GhostPlayer> ghosts = GhostManager.getOnlineAliveGhosts();
         if (ghosts.isEmpty()) {
             return;
         }
@@ -184,16 +227,21 @@ public class SmartChatManager {
         String seed = pickIdlePhraseForGhost(ghost);
 
         boolean strictAiMode = isStrictAiTemplateDisabled();
-        boolean useAi = isQaAiAvailable()
-            && plugin.getConfig().getBoolean("events.idle-chat-use-ai", true);
+        RealmPulseSettings.Events events = plugin.getSettings().events;
+        boolean useAi = isQaAiAvailable() && events.idleChatUseAi;
         if (strictAiMode) {
             useAi = true;
         }
-        double aiChance = clamp(plugin.getConfig().getDouble("events.idle-chat-ai-chance", 0.70), 0.0, 1.0);
+        double aiChance = events.idleChatAiChance;
         if (strictAiMode) {
             aiChance = 1.0;
         }
         if (useAi && ThreadLocalRandom.current().nextDouble() < aiChance) {
+            String pooled = takePooledIdleLine(ghost);
+            if (!pooled.isEmpty()) {
+                speakWithTyping(ghost, maybeAttachPlayerId(ghost, pooled, null, false), 0L);
+                return;
+            }
             requestAiLineForGhost(ghost, "idle", seed, aiLine -> {
                 String chosen = aiLine == null ? "" : aiLine.trim();
                 if (chosen.isBlank()) {
@@ -212,45 +260,146 @@ public class SmartChatManager {
         speakWithTyping(ghost, phrase, 0L);
     }
 
+    private String takePooledIdleLine(GhostPlayer ghost) {
+        RealmPulseSettings.IdlePool settings = plugin.getSettings().aiDialogue.idlePool;
+        if (!settings.enabled) {
+            return "";
+        }
+        boolean english = ghost.isEnglishSpeaker();
+        return idleLinePool.take(
+            IdleLinePool.bucketOf(english, resolveIdlePoolStyle(ghost, english)),
+            System.currentTimeMillis(),
+            settings.maxLineAgeMs,
+            line -> !isRecentlyUsed(line) && !isSeenByCurrentAudience(line)
+        );
+    }
+
+    /**
+     * Tops up the emptiest idle bucket of the ghosts currently online with one batched request.
+     * Skipped while other AI requests are in flight or once the hourly token budget is spent.
+     */
+    private void refillIdleLinePool() {
+        RealmPulseSettings.IdlePool settings = plugin.getSettings().aiDialogue.idlePool;
+        if (!settings.enabled || !isQaAiAvailable()) {
+            return;
+        }
+        if (deepSeekService.getInFlightRequests() > settings.quietMaxInFlight) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!idleLinePool.hasBudget(now, settings.tokenBudgetPerHour)) {
+            return;
+        }
+        int lowWater = settings.lowWater;
+        int highWater = settings.highWater;
+        long maxAgeMs = settings.maxLineAgeMs;
+        String bucket = null;
+        String style = "";
+        boolean english = false;
+        int lowest = lowWater;
+        for (GhostPlayer ghost : GhostManager.getOnlineAliveGhosts()) {
+            boolean ghostEnglish = ghost.isEnglishSpeaker();
+            String ghostStyle = resolveIdlePoolStyle(ghost, ghostEnglish);
+            String key = IdleLinePool.bucketOf(ghostEnglish, ghostStyle);
+            int size = idleLinePool.size(key, now, maxAgeMs);
+            if (size < lowest) {
+                bucket = key;
+                style = ghostStyle;
+                english = ghostEnglish;
+                lowest = size;
+            }
+        }
+        if (bucket == null || !idleLinePool.tryStartRefill()) {
+            return;
+        }
+        int count = Math.min(settings.batchSize, highWater - lowest);
+        String prompt = buildIdleBatchPrompt(english, style, count);
+        String targetBucket = bucket;
+        boolean targetEnglish = english;
+        deepSeekService.askQA(prompt, response -> {
+            try {
+                List<String> lines = new ArrayList<>();
+                if (response != null) {
+                    for (String raw : response.split("\\r?\\n")) {
+                        String line = cleanAiLine(raw, targetEnglish);
+                        if (!line.isEmpty()) {
+                            lines.add(line);
+                        }
+                    }
+                }
+                long doneAt = System.currentTimeMillis();
+                idleLinePool.recordTokens(doneAt, QaResponseCache.estimateTokens(prompt) + QaResponseCache.estimateTokens(response));
+                idleLinePool.offer(targetBucket, lines, highWater, doneAt);
+            } finally {
+                idleLinePool.finishRefill();
+            }
+        });
+    }
+
+    // Basic mode has no persona styles, so each language shares a single bucket
+    private String resolveIdlePoolStyle(GhostPlayer ghost, boolean english) {
+        return isAdvancedDialogueMode() ? resolveGhostStyleInstruction(ghost, english) : "";
+    }
+
+    private String buildIdleBatchPrompt(boolean english, String style, int count) {
+        LanguageClassifier.Result language = english ? LanguageClassifier.Result.EN : LanguageClassifier.Result.ZH;
+        String languageRule = english ? "Reply in English only." : "\u4EC5\u7528\u7B80\u4F53\u4E2D\u6587\u56DE\u590D\u3002";
+        Set<String> topics = new LinkedHashSet<>();
+        for (int i = 0; i < count * 2 && topics.size() < count; i++) {
+            topics.add(pickGhostTopicHint(null, english, null));
+        }
+        String recentGhost = getRecentDialogueByLanguage(language, getAiGhostContextLines());
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("You are writing idle global chat lines for human Minecraft survival players.\n");
+        prompt.append(languageRule).append('\n');
+        if (style != null && !style.isBlank()) {
+            prompt.append("Persona style: ").append(style).append('\n');
+        }
+        prompt.append("Topic hints: ").append(String.join(", ", topics)).append('\n');
+        prompt.append("Hard rules:\n");
+        prompt.append("- Output exactly ").append(count).append(" lines, one chat message per line.\n");
+        prompt.append("- Every line stands alone and talks about something different.\n");
+        prompt.append("- Keep each line natural, short, and human.\n");
+        prompt.append("- Never copy any context line directly.\n");
+        prompt.append("- No role tags, no bullet list, no numbering, no quotes, no markdown.\n");
+        if (english) {
+            prompt.append("- Keep each line within ").append(getAiMaxWordsEn()).append(" words.\n");
+        } else {
+            prompt.append("- Keep each line within ").append(getAiMaxCharsZh()).append(" Chinese characters.\n");
+        }
+        if (!recentGhost.isBlank()) {
+            prompt.append("Recent ghost chat:\n").append(recentGhost).append('\n');
+        }
+        return prompt.toString();
+    }
+
     private void runEnglishDialogueTick() {
-        List<GhostPlayer> onlineAlive = deathManager.getAliveGhosts(GhostManager.getOnlineGhosts());
+        List<GhostPlayer> onlineAlive = new ArrayList<>(GhostManager.getOnlineAliveGhosts());
         boolean englishMode = isConfiguredLanguageEnglish();
         onlineAlive.removeIf(ghost -> ghost.isEnglishSpeaker() != englishMode);
         if (onlineAlive.size() < 2) {
             return;
         }
 
-        double chance = clamp(
-            getCompatDouble("events.group-dialogue-chance", "events.english-dialogue-chance", englishMode ? 0.16 : 0.24),
-            0.0,
-            1.0
-        );
+        RealmPulseSettings.Events events = plugin.getSettings().events;
+        double chance = englishMode ? events.groupDialogueChanceEn : events.groupDialogueChanceZh;
         if (ThreadLocalRandom.current().nextDouble() > chance) {
             return;
         }
 
         Collections.shuffle(onlineAlive);
-        double ratio = clamp(
-            getCompatDouble("events.group-dialogue-participation-ratio", "events.english-dialogue-participation-ratio", 0.35),
-            0.2,
-            1.0
-        );
+        double ratio = events.groupDialogueParticipationRatio;
         int participants = Math.max(2, (int) Math.round(onlineAlive.size() * ratio));
         participants = Math.min(participants, onlineAlive.size());
         List<GhostPlayer> speakers = onlineAlive.subList(0, participants);
 
         String topicSeed = pickDialogueTopicHint(englishMode);
         boolean strictAiMode = isStrictAiTemplateDisabled();
-        boolean useAi = isQaAiAvailable()
-            && getCompatBoolean("events.group-dialogue-use-ai", "events.english-dialogue-use-ai", true);
+        boolean useAi = isQaAiAvailable() && events.groupDialogueUseAi;
         if (strictAiMode) {
             useAi = true;
         }
-        double aiChance = clamp(
-            getCompatDouble("events.group-dialogue-ai-chance", "events.english-dialogue-ai-chance", 0.85),
-            0.0,
-            1.0
-        );
+        double aiChance = events.groupDialogueAiChance;
         if (strictAiMode) {
             aiChance = 1.0;
         }
@@ -298,7 +447,7 @@ public class SmartChatManager {
             topic = pickDialogueTopicHint(englishMode);
         }
 
-        List<String> templates = plugin.getConfig().getStringList(
+        List<String> templates = plugin.getSettings().getStringList(
             first
                 ? (englishMode ? "messages.non-ai-dialogue.lead-templates-en" : "messages.non-ai-dialogue.lead-templates-zh")
                 : (englishMode ? "messages.non-ai-dialogue.reply-templates-en" : "messages.non-ai-dialogue.reply-templates-zh")
@@ -364,17 +513,17 @@ public class SmartChatManager {
     }
 
     private String pickDialogueTopicHint(boolean englishMode) {
-        List<String> topics = plugin.getConfig().getStringList(
+        List<String> topics = plugin.getSettings().getStringList(
             englishMode ? "messages.non-ai-dialogue.topics-en" : "messages.non-ai-dialogue.topics-zh"
         );
         if (topics.isEmpty()) {
             if (englishMode) {
-                topics = plugin.getConfig().getStringList("messages.english-topics");
+                topics = plugin.getSettings().getStringList("messages.english-topics");
                 if (topics.isEmpty()) {
                     topics = List.of("gear", "farm", "dungeon", "route", "boss");
                 }
             } else {
-                topics = plugin.getConfig().getStringList("ai-dialogue.default-topics-zh");
+                topics = plugin.getSettings().aiDialogue.defaultTopicsZh;
                 if (topics.isEmpty()) {
                     topics = List.of("装备", "副本", "路线", "材料", "农场");
                 }
@@ -426,7 +575,7 @@ public class SmartChatManager {
         }
         String[] rawLines = response.split("\\r?\\n");
         List<String> lines = new ArrayList<>();
-        List<String> similarityKeys = new ArrayList<>();
+        List<SimilarityFingerprint> similarityKeys = new ArrayList<>();
         for (String raw : rawLines) {
             String line = raw.replaceFirst("^[-*\\d.\\s]+", "");
             line = line.replaceFirst("^[A-Za-z][A-Za-z0-9_]{0,15}\\s*[:：-]\\s*", "");
@@ -448,7 +597,7 @@ public class SmartChatManager {
             if (isRecentlyUsed(line) || isSeenByCurrentAudience(line)) {
                 continue;
             }
-            String key = normalizeForSimilarity(line);
+            SimilarityFingerprint key = fingerprintOf(line);
             if (!key.isEmpty() && isTooSimilarToAny(key, similarityKeys, 0.82)) {
                 continue;
             }
@@ -464,37 +613,42 @@ public class SmartChatManager {
     }
 
     private String getRecentDialogueByLanguage(LanguageClassifier.Result language, int limit) {
-        synchronized (recentLock) {
-            List<String> filtered = recentGhostDialogue.stream()
-                .filter(line -> {
-                    LanguageClassifier.Result lineLanguage = LanguageClassifier.classify(line);
-                    if (language == LanguageClassifier.Result.OTHER) {
-                        return lineLanguage != LanguageClassifier.Result.OTHER;
-                    }
-                    return lineLanguage == language;
-                })
-                .collect(Collectors.toList());
+        recentLock.lock();
+        try {
+            List<String> filtered = new ArrayList<>();
+            for (String line : recentGhostDialogue) {
+                LanguageClassifier.Result lineLanguage = LanguageClassifier.classify(line);
+                if (language == LanguageClassifier.Result.OTHER
+                    ? lineLanguage != LanguageClassifier.Result.OTHER
+                    : lineLanguage == language) {
+                    filtered.add(line);
+                }
+            }
             int safeLimit = Math.max(1, limit);
             int from = Math.max(0, filtered.size() - safeLimit);
             return filtered.stream().skip(from).collect(Collectors.joining("\n"));
+        } finally {
+            recentLock.unlock();
         }
     }
 
     private String getRecentRealPlayerContext(LanguageClassifier.Result language, int limit) {
-        synchronized (recentLock) {
-            List<String> filtered = recentRealPlayerMessages.stream()
-                .filter(entry -> {
-                    String message = extractContextMessage(entry);
-                    LanguageClassifier.Result lineLanguage = LanguageClassifier.classify(message);
-                    if (language == LanguageClassifier.Result.OTHER) {
-                        return lineLanguage != LanguageClassifier.Result.OTHER;
-                    }
-                    return lineLanguage == language;
-                })
-                .collect(Collectors.toList());
+        recentLock.lock();
+        try {
+            List<String> filtered = new ArrayList<>();
+            for (String entry : recentRealPlayerMessages) {
+                LanguageClassifier.Result lineLanguage = LanguageClassifier.classify(extractContextMessage(entry));
+                if (language == LanguageClassifier.Result.OTHER
+                    ? lineLanguage != LanguageClassifier.Result.OTHER
+                    : lineLanguage == language) {
+                    filtered.add(entry);
+                }
+            }
             int safeLimit = Math.max(1, limit);
             int from = Math.max(0, filtered.size() - safeLimit);
             return filtered.stream().skip(from).collect(Collectors.joining("\n"));
+        } finally {
+            recentLock.unlock();
         }
     }
 
@@ -510,28 +664,28 @@ public class SmartChatManager {
     }
 
     private boolean isAdvancedDialogueMode() {
-        String mode = plugin.getConfig().getString("ai-dialogue.mode", "advanced");
-        return !"basic".equalsIgnoreCase(mode);
+        return plugin.getSettings().aiDialogue.advancedMode;
     }
 
     private int getAiGhostContextLines() {
-        return Math.max(2, plugin.getConfig().getInt("ai-dialogue.ghost-context-lines", 8));
+        return plugin.getSettings().aiDialogue.ghostContextLines;
     }
 
     private int getAiRealContextLines() {
-        return Math.max(0, plugin.getConfig().getInt("ai-dialogue.real-player-context-lines", 4));
+        return plugin.getSettings().aiDialogue.realPlayerContextLines;
     }
 
     private int getAiMaxWordsEn() {
-        return Math.max(6, plugin.getConfig().getInt("ai-dialogue.max-words-en", 14));
+        return plugin.getSettings().aiDialogue.maxWordsEn;
     }
 
     private int getAiMaxCharsZh() {
-        return Math.max(8, plugin.getConfig().getInt("ai-dialogue.max-chars-zh", 22));
+        return plugin.getSettings().aiDialogue.maxCharsZh;
     }
 
     private String resolveGhostStyleInstruction(GhostPlayer ghost, boolean english) {
-        List<String> styles = plugin.getConfig().getStringList(english ? "ai-dialogue.styles-en" : "ai-dialogue.styles-zh");
+        RealmPulseSettings.AiDialogue aiDialogue = plugin.getSettings().aiDialogue;
+        List<String> styles = english ? aiDialogue.stylesEn : aiDialogue.stylesZh;
         if (styles.isEmpty()) {
             if (english) {
                 styles = List.of(
@@ -561,8 +715,9 @@ public class SmartChatManager {
         String ghostKey = ghost == null || ghost.getName() == null
             ? ""
             : ghost.getName().toLowerCase(Locale.ROOT);
-        synchronized (memoryLock) {
-            LinkedList<String> topics = ghostTopicMemory.get(ghostKey);
+        memoryLock.lock();
+        try {
+            IndexedStringRing topics = ghostTopicMemory.get(ghostKey);
             if (topics != null && !topics.isEmpty()) {
                 List<String> candidates = new ArrayList<>();
                 for (String topic : topics) {
@@ -574,12 +729,14 @@ public class SmartChatManager {
                     return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
                 }
             }
+        } finally {
+            memoryLock.unlock();
         }
 
         if (english) {
             return pickFallbackEnglishTopic();
         }
-        List<String> zhTopics = plugin.getConfig().getStringList("ai-dialogue.default-topics-zh");
+        List<String> zhTopics = plugin.getSettings().aiDialogue.defaultTopicsZh;
         if (zhTopics.isEmpty()) {
             zhTopics = List.of("\u88c5\u5907", "\u526f\u672c", "\u8def\u7ebf", "\u6750\u6599", "\u519c\u573a");
         }
@@ -591,7 +748,7 @@ public class SmartChatManager {
             callback.accept("");
             return;
         }
-        int maxAttempts = Math.max(1, plugin.getConfig().getInt("ai-dialogue.single-line-max-attempts", 2));
+        int maxAttempts = plugin.getSettings().aiDialogue.singleLineMaxAttempts;
         requestAiLineForGhost(ghost, scene, seed, callback, 1, maxAttempts);
     }
 
@@ -603,9 +760,11 @@ public class SmartChatManager {
         int attempt,
         int maxAttempts
     ) {
-        String prompt = buildGhostSingleLinePrompt(ghost, scene, seed);
-        deepSeekService.askQA(prompt, response -> {
-            String parsed = parseAiSingleLine(response, ghost.isEnglishSpeaker());
+        boolean english = ghost.isEnglishSpeaker();
+        String header = buildGhostLinePromptHeader(english);
+        String item = buildGhostLinePromptItem(ghost, english, scene, seed);
+        deepSeekService.askQALineBatched(header, item, response -> {
+            String parsed = parseAiSingleLine(response, english);
             if (!parsed.isBlank() || attempt >= maxAttempts) {
                 callback.accept(parsed);
                 return;
@@ -615,37 +774,28 @@ public class SmartChatManager {
         });
     }
 
-    private String buildGhostSingleLinePrompt(GhostPlayer ghost, String scene, String seed) {
-        boolean english = ghost != null && ghost.isEnglishSpeaker();
+    // Rules and chat context shared by every ghost line of one language, so batched lines send them once
+    private String buildGhostLinePromptHeader(boolean english) {
         LanguageClassifier.Result language = english ? LanguageClassifier.Result.EN : LanguageClassifier.Result.ZH;
         String languageRule = english ? "Reply in English only." : "\u4EC5\u7528\u7B80\u4F53\u4E2D\u6587\u56DE\u590D\u3002";
-        String topic = pickGhostTopicHint(ghost, english, seed);
         String recentGhost = getRecentDialogueByLanguage(language, getAiGhostContextLines());
         String recentReal = getRecentRealPlayerContext(language, getAiRealContextLines());
-        String sceneTag = (scene == null || scene.isBlank()) ? "chat" : scene;
         if (!isAdvancedDialogueMode()) {
-            return "You are an active Minecraft survival player speaking in global chat.\n"
+            return "Write as an active Minecraft survival player speaking in global chat.\n"
                 + languageRule + "\n"
-                + "Context scene: " + sceneTag + "\n"
                 + "Rules:\n"
-                + "- Output exactly one short chat line.\n"
+                + "- Each line is one short chat message.\n"
                 + "- Do not copy any provided line.\n"
                 + "- Keep it natural and practical.\n"
-                + "- No bullets, no numbering, no quotes.\n"
-                + "Seed topic: " + topic + "\n"
+                + "- No bullets, no quotes.\n"
                 + "Recent lines:\n" + recentGhost;
         }
 
-        String style = resolveGhostStyleInstruction(ghost, english);
         StringBuilder prompt = new StringBuilder();
-        prompt.append("You are a human Minecraft survival player in global chat.\n");
+        prompt.append("Write as a human Minecraft survival player in global chat.\n");
         prompt.append(languageRule).append('\n');
-        prompt.append("Scene: ").append(sceneTag).append('\n');
-        prompt.append("Persona style: ").append(style).append('\n');
-        prompt.append("Topic hint: ").append(topic).append('\n');
         prompt.append("Hard rules:\n");
-        prompt.append("- Output exactly one line.\n");
-        prompt.append("- Keep it natural, short, and human.\n");
+        prompt.append("- Keep each line natural, short, and human.\n");
         prompt.append("- Never copy any context line directly.\n");
         prompt.append("- No role tags, no bullet list, no quotes, no markdown.\n");
         prompt.append("- Avoid repetitive openings and avoid textbook tone.\n");
@@ -663,34 +813,28 @@ public class SmartChatManager {
         return prompt.toString();
     }
 
+    private String buildGhostLinePromptItem(GhostPlayer ghost, boolean english, String scene, String seed) {
+        String topic = pickGhostTopicHint(ghost, english, seed);
+        String sceneTag = (scene == null || scene.isBlank()) ? "chat" : scene;
+        if (!isAdvancedDialogueMode()) {
+            return "Context scene: " + sceneTag + "\n"
+                + "Seed topic: " + topic + "\n";
+        }
+        return "Scene: " + sceneTag + "\n"
+            + "Persona style: " + resolveGhostStyleInstruction(ghost, english) + "\n"
+            + "Topic hint: " + topic + "\n";
+    }
+
     private String parseAiSingleLine(String response, boolean english) {
         if (response == null || response.isBlank()) {
             return "";
         }
         String[] lines = response.split("\\r?\\n");
         for (String raw : lines) {
-            String line = raw.replaceFirst("^[-*\\d.\\s]+", "").trim();
-            if (line.isEmpty()) {
-                continue;
-            }
-            line = sanitizeOutgoingMessage(line);
+            String line = cleanAiLine(raw, english);
             if (line.isEmpty()) {
                 continue;
             }
-            line = trimToAiLength(line, english);
-            line = sanitizeOutgoingMessage(line);
-            if (line.isEmpty()) {
-                continue;
-            }
-            if (!matchesLanguage(line, english)) {
-                continue;
-            }
-            if (containsPlaceholderTopicToken(line)) {
-                continue;
-            }
-            if (isLowSignalChatLine(line, english)) {
-                continue;
-            }
             if (isRecentlyUsed(line) || isSeenByCurrentAudience(line)) {
                 continue;
             }
@@ -698,12 +842,51 @@ public class SmartChatManager {
         }
         return "";
     }
+
+    // Sanitized and length-trimmed line in the right language, or "" when it is unusable
+    private String cleanAiLine(String raw, boolean english) {
+        String line = raw.replaceFirst("^[-*\\d.\\s]+", "").trim();
+        if (line.isEmpty()) {
+            return "";
+        }
+        line = sanitizeOutgoingMessage(line);
+        if (line.isEmpty()) {
+            return "";
+        }
+        line = trimToAiLength(line, english);
+        line = sanitizeOutgoingMessage(line);
+        if (line.isEmpty()) {
+            return "";
+        }
+        if (!matchesLanguage(line, english)) {
+            return "";
+        }
+        if (containsPlaceholderTopicToken(line)) {
+            return "";
+        }
+        if (isLowSignalChatLine(line, english)) {
+            return "";
+        }
+        return line;
+    }
 
     public void triggerAI(String question, String playerName, boolean ghostMentioned) {
         boolean strictAiMode = isStrictAiTemplateDisabled();
-        String prompt = buildQaReplyPrompt(question, playerName);
-        deepSeekService.askQA(prompt, answer -> {
+        LanguageClassifier.Result language = configuredLanguageResult();
+        String cacheKey = normalizeForSimilarity(question);
+        String cached = qaResponseCache.lookup(language, cacheKey, answer -> !isRecentlyUsed(answer) && !isSeenByCurrentAudience(answer));
+        if (!cached.isEmpty()) {
+            Bukkit.getScheduler().runTask(plugin, () -> scheduleConversationReply(cached, playerName, ghostMentioned, question));
+            return;
+        }
+        // Only an answer that will be replayed to other players is generated without the asker and chat context
+        boolean cacheable = qaResponseCache.wantsVariant(language, cacheKey);
+        String prompt = buildQaReplyPrompt(question, playerName, !cacheable);
+        deepSeekService.askQAFirstLine(prompt, answer -> {
             String finalAnswer = answer == null ? "" : answer.trim();
+            if (cacheable && !finalAnswer.isBlank() && !mentionsPlayer(finalAnswer, playerName)) {
+                qaResponseCache.store(language, cacheKey, finalAnswer, prompt);
+            }
             if (finalAnswer.isBlank()) {
                 if (strictAiMode) {
                     return;
@@ -725,14 +908,20 @@ public class SmartChatManager {
         return pickChineseQaLearningPhrase();
     }
 
-    private String buildQaReplyPrompt(String question, String playerName) {
+    private static boolean mentionsPlayer(String answer, String playerName) {
+        return playerName != null && !playerName.isBlank()
+            && answer.toLowerCase(Locale.ROOT).contains(playerName.toLowerCase(Locale.ROOT));
+    }
+
+    // Without context the prompt leaves out the asking player and recent chat, so the answer fits anyone
+    private String buildQaReplyPrompt(String question, String playerName, boolean withContext) {
         LanguageClassifier.Result language = configuredLanguageResult();
         boolean english = language == LanguageClassifier.Result.EN;
         String languageRule = english ? "Reply in English only." : "\u4EC5\u7528\u7B80\u4F53\u4E2D\u6587\u56DE\u590D\u3002";
 
         String player = playerName == null ? "" : playerName;
-        String recentGhost = getRecentDialogueByLanguage(language, getAiGhostContextLines());
-        String recentReal = getRecentRealPlayerContext(language, getAiRealContextLines());
+        String recentGhost = withContext ? getRecentDialogueByLanguage(language, getAiGhostContextLines()) : "";
+        String recentReal = withContext ? getRecentRealPlayerContext(language, getAiRealContextLines()) : "";
 
         if (!isAdvancedDialogueMode()) {
             return "You are a normal Minecraft survival player in server chat.\n"
@@ -742,15 +931,17 @@ public class SmartChatManager {
                 + "- Do not repeat the player's original sentence.\n"
                 + "- Keep it practical and human (route, gear, farm, fix, timing).\n"
                 + "- No role tags, no explanation, no markdown.\n"
-                + "Player: " + player + "\n"
+                + (withContext ? "Player: " + player + "\n" : "")
                 + "Question: " + question + "\n"
-                + "Recent lines:\n" + recentGhost;
+                + (withContext ? "Recent lines:\n" + recentGhost : "");
         }
 
         StringBuilder prompt = new StringBuilder();
         prompt.append("You are a normal Minecraft survival player replying in global chat.\n");
         prompt.append(languageRule).append('\n');
-        prompt.append("Player: ").append(player).append('\n');
+        if (withContext) {
+            prompt.append("Player: ").append(player).append('\n');
+        }
         prompt.append("Question: ").append(question).append('\n');
         prompt.append("Hard rules:\n");
         prompt.append("- Output exactly one line.\n");
@@ -775,7 +966,7 @@ public class SmartChatManager {
     public void learnFromRealPlayer(String playerName, String message, boolean priorityQuestion) {
         rememberPlayer(playerName);
         rememberRealPlayerMessage(playerName, message);
-        if (!plugin.getConfig().getBoolean("learning.enabled", true)) {
+        if (!plugin.getSettings().getBoolean("learning.enabled", true)) {
             return;
         }
         String raw = sanitizeRawLearningMessage(message);
@@ -785,7 +976,7 @@ public class SmartChatManager {
         if (!isLearningCandidate(playerName, raw, priorityQuestion)) {
             return;
         }
-        int rawMaxSize = plugin.getConfig().getInt("learning.raw-max-size", 2000);
+        int rawMaxSize = plugin.getSettings().getInt("learning.raw-max-size", 2000);
         rawLearningStore.addRaw(raw, rawMaxSize);
         LearningBucket bucket = priorityQuestion ? LearningBucket.QA : LearningBucket.GENERAL;
         enqueueLearningPhrase(raw, priorityQuestion, bucket);
@@ -793,31 +984,25 @@ public class SmartChatManager {
     }
 
     public void maybeSimulateBotMentionDialogue(boolean ghostMentioned) {
-        if (!getCompatBoolean("events.bot-mention-dialogue-enabled", "events.fake-mention-dialogue-enabled", true)) {
+        RealmPulseSettings.Events events = plugin.getSettings().events;
+        if (!events.botMentionDialogueEnabled) {
             return;
         }
         if (ghostMentioned) {
             return;
         }
         long now = System.currentTimeMillis();
-        long minIntervalMs = Math.max(
-            30L,
-            plugin.getConfig().getLong("events.bot-mention-dialogue-min-interval-seconds", 240L)
-        ) * 1000L;
+        long minIntervalMs = events.botMentionDialogueMinIntervalMs;
         if (now < nextBotMentionDialogueAt) {
             return;
         }
 
-        double chance = getCompatDouble(
-            "events.bot-mention-dialogue-chance",
-            "events.player-mention-reply-chance",
-            0.02
-        );
+        double chance = events.botMentionDialogueChance;
         if (ThreadLocalRandom.current().nextDouble() > chance) {
             return;
         }
 
-        List<GhostPlayer> ghosts = deathManager.getAliveGhosts(GhostManager.getOnlineGhosts());
+        List<GhostPlayer> ghosts = new ArrayList<>(GhostManager.getOnlineAliveGhosts());
         if (ghosts.size() < 2) {
             return;
         }
@@ -834,12 +1019,11 @@ public class SmartChatManager {
             return;
         }
         boolean strictAiMode = isStrictAiTemplateDisabled();
-        boolean useAi = isQaAiAvailable()
-            && plugin.getConfig().getBoolean("events.ghost-mention-reply-use-ai", true);
+        boolean useAi = isQaAiAvailable() && events.ghostMentionReplyUseAi;
         if (strictAiMode) {
             useAi = true;
         }
-        double aiChance = clamp(plugin.getConfig().getDouble("events.ghost-mention-reply-ai-chance", 0.75), 0.0, 1.0);
+        double aiChance = events.ghostMentionReplyAiChance;
         if (strictAiMode) {
             aiChance = 1.0;
         }
@@ -898,7 +1082,7 @@ public class SmartChatManager {
                         return;
                     }
                     reply = buildGhostMentionReply(target, speaker, content, ghostMentioned);
-                } else if (speaker != null && ThreadLocalRandom.current().nextDouble() < plugin.getConfig().getDouble("events.ghost-mention-back-chance", 0.45)) {
+                } else if (speaker != null && ThreadLocalRandom.current().nextDouble() < plugin.getSettings().events.ghostMentionBackChance) {
                     reply = "@" + speaker.getName() + " " + reply;
                 }
                 if (reply.isBlank()) {
@@ -942,10 +1126,10 @@ public class SmartChatManager {
         }
         boolean english = speaker.isEnglishSpeaker();
         List<String> templates = english
-            ? plugin.getConfig().getStringList("messages.ghost-mention-templates-en")
-            : plugin.getConfig().getStringList("messages.ghost-mention-templates-zh");
+            ? plugin.getSettings().getStringList("messages.ghost-mention-templates-en")
+            : plugin.getSettings().getStringList("messages.ghost-mention-templates-zh");
         if (templates.isEmpty()) {
-            templates = plugin.getConfig().getStringList("messages.ghost-mention-templates");
+            templates = plugin.getSettings().getStringList("messages.ghost-mention-templates");
         }
 
         String template = pickLocalizedTemplate(templates, english);
@@ -978,13 +1162,13 @@ public class SmartChatManager {
         }
 
         List<String> templates = english
-            ? plugin.getConfig().getStringList("messages.ghost-mention-reply-templates-en")
-            : plugin.getConfig().getStringList("messages.ghost-mention-reply-templates-zh");
+            ? plugin.getSettings().getStringList("messages.ghost-mention-reply-templates-en")
+            : plugin.getSettings().getStringList("messages.ghost-mention-reply-templates-zh");
         if (templates.isEmpty()) {
-            templates = plugin.getConfig().getStringList("messages.ghost-mention-reply-templates");
+            templates = plugin.getSettings().getStringList("messages.ghost-mention-reply-templates");
         }
         if (templates.isEmpty()) {
-            templates = plugin.getConfig().getStringList("messages.follow-up-templates");
+            templates = plugin.getSettings().getStringList("messages.follow-up-templates");
         }
 
         String reply = "";
@@ -1006,7 +1190,7 @@ public class SmartChatManager {
         }
 
         if (speaker != null) {
-            double chance = plugin.getConfig().getDouble("events.ghost-mention-back-chance", 0.45);
+            double chance = plugin.getSettings().events.ghostMentionBackChance;
             if (boosted) {
                 chance = Math.min(1.0, chance + 0.10);
             }
@@ -1034,43 +1218,84 @@ public class SmartChatManager {
     }
 
     private void enqueueLearningPhrase(String phrase, boolean priority, LearningBucket bucket) {
-        LinkedList<String> queue = queueForBucket(bucket);
-        String candidateKey = normalizeForSimilarity(phrase);
+        IndexedStringRing queue = queueForBucket(bucket);
+        SimilarityFingerprint candidateKey = fingerprintOf(phrase);
         double dedupThreshold = clamp(
-            plugin.getConfig().getDouble("learning.queue-dedup-similarity-threshold", 0.90),
+            plugin.getSettings().getDouble("learning.queue-dedup-similarity-threshold", 0.90),
             0.60,
             0.99
         );
-        int tailScan = Math.max(20, plugin.getConfig().getInt("learning.queue-dedup-tail-scan", 120));
-        synchronized (learningLock) {
+        int tailScan = Math.max(20, plugin.getSettings().getInt("learning.queue-dedup-tail-scan", 120));
+        learningLock.lock();
+        try {
             if (queue.contains(phrase)) {
                 return;
             }
             if (!candidateKey.isEmpty()) {
                 int scanned = 0;
                 for (int i = queue.size() - 1; i >= 0 && scanned < tailScan; i--, scanned++) {
-                    String existingKey = normalizeForSimilarity(queue.get(i));
-                    if (isSimilar(candidateKey, existingKey, dedupThreshold)) {
-                        return;
-                    }
-                }
-            }
-            if (priority) {
-                queue.addFirst(phrase);
-            } else {
-                queue.addLast(phrase);
-            }
-            int maxPending = Math.max(50, plugin.getConfig().getInt("learning.pending-max-size", 300));
-            while (queue.size() > maxPending) {
-                queue.removeFirst();
+                    SimilarityFingerprint existingKey = pendingLearningFingerprint(queue.get(i));
+                    if (candidateKey.isSimilar(existingKey, dedupThreshold)) {
+                        return;
+                    }
+                }
             }
+            int maxPending = Math.max(50, plugin.getSettings().getInt("learning.pending-max-size", 300));
+            queue.setCapacity(maxPending);
+            if (!priority) {
+                queue.addLast(phrase);
+            } else if (!queue.isFull()) {
+                queue.addFirst(phrase);
+            } else {
+                // A full queue drops from the front, so a priority phrase would be the one dropped
+                return;
+            }
+            pendingLearningFingerprints.put(phrase, candidateKey);
+            prunePendingLearningFingerprints(maxPending);
+        } finally {
+            learningLock.unlock();
+        }
+    }
+
+    // Caller holds learningLock
+    private SimilarityFingerprint pendingLearningFingerprint(String phrase) {
+        return pendingLearningFingerprints.computeIfAbsent(phrase, this::fingerprintOf);
+    }
+
+    // Caller holds learningLock; entries for phrases drained into a batch are dropped lazily
+    private void prunePendingLearningFingerprints(int maxPending) {
+        if (pendingLearningFingerprints.size() <= maxPending * 3) {
+            return;
         }
+        pendingLearningFingerprints.keySet().removeIf(phrase ->
+            !pendingLearningRaw.contains(phrase) && !pendingLearningQaRaw.contains(phrase)
+        );
     }
 
     public boolean flushLearningNow() {
         return maybeSummarizeAndImportLearningBatch(true);
     }
 
+    // Writes every learning store back out as YAML, returns how many files were written
+    public int exportLearningYaml() {
+        int written = 0;
+        written += phraseLearningStore.exportYaml() ? 1 : 0;
+        written += qaPhraseLearningStore.exportYaml() ? 1 : 0;
+        written += legacyPhraseLearningStore.exportYaml() ? 1 : 0;
+        written += rawLearningStore.exportYaml() ? 1 : 0;
+        return written;
+    }
+
+    // Merges the YAML files into the live stores, returns how many phrases were new
+    public int importLearningYaml() {
+        int added = 0;
+        added += phraseLearningStore.importYaml();
+        added += qaPhraseLearningStore.importYaml();
+        added += legacyPhraseLearningStore.importYaml();
+        rawLearningStore.importYaml(plugin.getSettings().getInt("learning.raw-max-size", 2000));
+        return added;
+    }
+
     private boolean maybeSummarizeAndImportLearningBatch(boolean force) {
         if (force) {
             boolean qaStarted = maybeSummarizeAndImportLearningBatch(true, LearningBucket.QA);
@@ -1083,18 +1308,21 @@ public class SmartChatManager {
     }
 
     private boolean maybeSummarizeAndImportLearningBatch(boolean force, LearningBucket bucket) {
-        int batchSize = Math.max(5, plugin.getConfig().getInt("learning.summary-batch-size", 20));
-        int minFiltered = Math.max(3, plugin.getConfig().getInt("learning.summary-min-filtered-size", 8));
-        long cooldownMs = Math.max(5L, plugin.getConfig().getLong("learning.summary-cooldown-seconds", 30L)) * 1000L;
+        int batchSize = Math.max(5, plugin.getSettings().getInt("learning.summary-batch-size", 20));
+        int minFiltered = Math.max(3, plugin.getSettings().getInt("learning.summary-min-filtered-size", 8));
+        long cooldownMs = Math.max(5L, plugin.getSettings().getLong("learning.summary-cooldown-seconds", 30L)) * 1000L;
         long now = System.currentTimeMillis();
         int backlogBypassThreshold = Math.max(
             batchSize,
-            plugin.getConfig().getInt("learning.summary-backlog-bypass-threshold", batchSize * 3)
+            plugin.getSettings().getInt("learning.summary-backlog-bypass-threshold", batchSize * 3)
         );
-        LinkedList<String> queue = queueForBucket(bucket);
+        IndexedStringRing queue = queueForBucket(bucket);
         int queueSize;
-        synchronized (learningLock) {
+        learningLock.lock();
+        try {
             queueSize = queue.size();
+        } finally {
+            learningLock.unlock();
         }
         boolean bypassCooldown = !force && queueSize >= backlogBypassThreshold;
         if ((!force && !bypassCooldown && now - getLastSummaryAt(bucket) < cooldownMs) || isSummaryInFlight(bucket)) {
@@ -1102,7 +1330,8 @@ public class SmartChatManager {
         }
 
         List<String> batch = new ArrayList<>();
-        synchronized (learningLock) {
+        learningLock.lock();
+        try {
             int required = force ? Math.max(1, Math.min(batchSize, queue.size())) : batchSize;
             if (queue.size() < required) {
                 return false;
@@ -1110,7 +1339,9 @@ public class SmartChatManager {
             for (int i = 0; i < required; i++) {
                 batch.add(queue.removeFirst());
             }
-        }
+        } finally {
+            learningLock.unlock();
+        }
 
         List<String> filtered = filterLearningBatch(batch);
         if (filtered.isEmpty()) {
@@ -1122,11 +1353,11 @@ public class SmartChatManager {
         }
 
         setLastSummaryAt(bucket, now);
-        boolean apiSummaryEnabled = plugin.getConfig().getBoolean("learning.api-summary-enabled", true);
+        boolean apiSummaryEnabled = plugin.getSettings().getBoolean("learning.api-summary-enabled", true);
         boolean summaryChannelEnabled = apiSummaryEnabled && configService.getBoolean("ai.summary.enabled", true);
         boolean useApi = summaryChannelEnabled && isSummaryApiConfigured();
-        boolean allowRawFallback = plugin.getConfig().getBoolean("learning.allow-raw-fallback-import", false);
-        int apiAttempts = Math.max(1, plugin.getConfig().getInt("learning.summary-api-max-attempts", 2));
+        boolean allowRawFallback = plugin.getSettings().getBoolean("learning.allow-raw-fallback-import", false);
+        int apiAttempts = Math.max(1, plugin.getSettings().getInt("learning.summary-api-max-attempts", 2));
 
         if (!useApi) {
             boolean forceFallback = shouldForceFallbackAfterFailure(bucket);
@@ -1277,9 +1508,9 @@ public class SmartChatManager {
 
     private List<String> filterLearningBatch(List<String> rawBatch) {
         Set<String> dedup = new LinkedHashSet<>();
-        List<String> similarityKeys = new ArrayList<>();
+        List<SimilarityFingerprint> similarityKeys = new ArrayList<>();
         double inputDedupThreshold = clamp(
-            plugin.getConfig().getDouble("learning.summary-input-dedup-similarity-threshold", 0.90),
+            plugin.getSettings().getDouble("learning.summary-input-dedup-similarity-threshold", 0.90),
             0.60,
             0.99
         );
@@ -1293,7 +1524,7 @@ public class SmartChatManager {
             if (isLowSignalChatLine(cleaned, english)) {
                 continue;
             }
-            String key = normalizeForSimilarity(cleaned);
+            SimilarityFingerprint key = fingerprintOf(cleaned);
             if (key.isEmpty()) {
                 continue;
             }
@@ -1347,8 +1578,8 @@ public class SmartChatManager {
             return false;
         }
         LanguageClassifier.Result language = LanguageClassifier.classify(raw);
-        if (language == LanguageClassifier.Result.EN && plugin.getConfig().getBoolean("learning.filter-short-english", true)) {
-            int minWords = Math.max(2, plugin.getConfig().getInt("learning.min-english-words", 3));
+        if (language == LanguageClassifier.Result.EN && plugin.getSettings().getBoolean("learning.filter-short-english", true)) {
+            int minWords = Math.max(2, plugin.getSettings().getInt("learning.min-english-words", 3));
             int words = WHITESPACE_PATTERN.split(raw.trim()).length;
             if (words < minWords) {
                 return false;
@@ -1368,7 +1599,7 @@ public class SmartChatManager {
     }
 
     private boolean looksLikeNoise(String text) {
-        int repeatedLimit = Math.max(4, plugin.getConfig().getInt("learning.max-repeated-char-run", 5));
+        int repeatedLimit = Math.max(4, plugin.getSettings().getInt("learning.max-repeated-char-run", 5));
         if (repeatedLimit <= 1) {
             return false;
         }
@@ -1391,7 +1622,7 @@ public class SmartChatManager {
         if (key.isBlank()) {
             return true;
         }
-        long cooldownSeconds = Math.max(0L, plugin.getConfig().getLong("learning.per-player-cooldown-seconds", 6L));
+        long cooldownSeconds = Math.max(0L, plugin.getSettings().getLong("learning.per-player-cooldown-seconds", 6L));
         if (priorityQuestion) {
             cooldownSeconds = Math.max(0L, Math.round(cooldownSeconds * 0.5));
         }
@@ -1399,29 +1630,23 @@ public class SmartChatManager {
             return true;
         }
         long now = System.currentTimeMillis();
-        synchronized (learningThrottleLock) {
-            long nextAt = playerLearningNextAt.getOrDefault(key, 0L);
-            if (now < nextAt) {
-                return false;
-            }
-            playerLearningNextAt.put(key, now + cooldownSeconds * 1000L);
-            int maxTrackedPlayers = Math.max(100, plugin.getConfig().getInt("learning.throttle-memory-size", 600));
-            if (playerLearningNextAt.size() > maxTrackedPlayers) {
-                playerLearningNextAt.entrySet().removeIf(entry -> now > entry.getValue() + 60_000L);
-            }
-            return true;
+        if (playerLearningNextAt.claim(key, now, now + cooldownSeconds * 1000L, false) < 0L) {
+            return false;
         }
+        int maxTrackedPlayers = Math.max(100, plugin.getSettings().getInt("learning.throttle-memory-size", 600));
+        playerLearningNextAt.expire(now, maxTrackedPlayers);
+        return true;
     }
 
     private void trimLearningStore(PhraseLearningStore store) {
         if (store == null) {
             return;
         }
-        int maxRefined = Math.max(200, plugin.getConfig().getInt("learning.max-refined-size", 1200));
+        int maxRefined = Math.max(200, plugin.getSettings().getInt("learning.max-refined-size", 1200));
         store.trimToMaxSize(maxRefined);
     }
 
-    private LinkedList<String> queueForBucket(LearningBucket bucket) {
+    private IndexedStringRing queueForBucket(LearningBucket bucket) {
         return bucket == LearningBucket.QA ? pendingLearningQaRaw : pendingLearningRaw;
     }
 
@@ -1474,7 +1699,7 @@ public class SmartChatManager {
     }
 
     private boolean shouldForceFallbackAfterFailure(LearningBucket bucket) {
-        int threshold = Math.max(0, plugin.getConfig().getInt("learning.summary-force-fallback-after-failures", 5));
+        int threshold = Math.max(0, plugin.getSettings().getInt("learning.summary-force-fallback-after-failures", 5));
         if (threshold <= 0) {
             return false;
         }
@@ -1485,7 +1710,7 @@ public class SmartChatManager {
     private void logSummaryWarning(LearningBucket bucket, String message) {
         long warnIntervalMs = Math.max(
             30L,
-            plugin.getConfig().getLong("learning.summary-warning-interval-seconds", 120L)
+            plugin.getSettings().getLong("learning.summary-warning-interval-seconds", 120L)
         ) * 1000L;
         long now = System.currentTimeMillis();
         long lastWarn = bucket == LearningBucket.QA ? lastQaLearningSummaryWarningAt : lastLearningSummaryWarningAt;
@@ -1524,17 +1749,18 @@ public class SmartChatManager {
     }
 
     private void requeueFilteredBatch(List<String> filtered, LearningBucket bucket) {
-        LinkedList<String> queue = queueForBucket(bucket);
-        synchronized (learningLock) {
+        IndexedStringRing queue = queueForBucket(bucket);
+        int maxPending = Math.max(50, plugin.getSettings().getInt("learning.pending-max-size", 300));
+        learningLock.lock();
+        try {
+            queue.setCapacity(maxPending);
             for (String phrase : filtered) {
                 if (!queue.contains(phrase)) {
                     queue.addLast(phrase);
                 }
             }
-            int maxPending = Math.max(50, plugin.getConfig().getInt("learning.pending-max-size", 300));
-            while (queue.size() > maxPending) {
-                queue.removeFirst();
-            }
+        } finally {
+            learningLock.unlock();
         }
     }
 
@@ -1542,24 +1768,24 @@ public class SmartChatManager {
         if (summarized == null || summarized.isBlank()) {
             return Collections.emptyList();
         }
-        boolean strictNoCopy = plugin.getConfig().getBoolean("learning.strict-no-copy", true);
-        boolean enforceConfiguredLanguage = plugin.getConfig().getBoolean("learning.enforce-configured-chat-language", true);
+        boolean strictNoCopy = plugin.getSettings().getBoolean("learning.strict-no-copy", true);
+        boolean enforceConfiguredLanguage = plugin.getSettings().getBoolean("learning.enforce-configured-chat-language", true);
         LanguageClassifier.Result configuredLanguage = configuredLanguageResult();
-        boolean keepDominantLanguage = plugin.getConfig().getBoolean("learning.summary-keep-dominant-language", true);
+        boolean keepDominantLanguage = plugin.getSettings().getBoolean("learning.summary-keep-dominant-language", true);
         double dominantThreshold = clamp(
-            plugin.getConfig().getDouble("learning.summary-dominant-language-threshold", 0.70),
+            plugin.getSettings().getDouble("learning.summary-dominant-language-threshold", 0.70),
             0.50,
             0.95
         );
         LanguagePreference sourcePreference = detectSourceLanguagePreference(sourceBatch, dominantThreshold);
         double outputDedupThreshold = clamp(
-            plugin.getConfig().getDouble("learning.summary-dedup-similarity-threshold", 0.86),
+            plugin.getSettings().getDouble("learning.summary-dedup-similarity-threshold", 0.86),
             0.55,
             0.99
         );
         double copyDefault = strictNoCopy ? 0.88 : 0.93;
         double copyThreshold = clamp(
-            plugin.getConfig().getDouble("learning.summary-copy-similarity-threshold", copyDefault),
+            plugin.getSettings().getDouble("learning.summary-copy-similarity-threshold", copyDefault),
             0.60,
             0.99
         );
@@ -1567,36 +1793,21 @@ public class SmartChatManager {
             copyThreshold = Math.min(copyThreshold, 0.90);
         }
 
-        List<String> sourceKeys = new ArrayList<>();
-        List<String> existingKeys = new ArrayList<>();
+        List<SimilarityFingerprint> sourceKeys = new ArrayList<>();
+        List<SimilarityFingerprint> existingKeys = new ArrayList<>();
         for (String source : sourceBatch) {
-            String sourceKey = normalizeForSimilarity(source);
+            SimilarityFingerprint sourceKey = fingerprintOf(source);
             if (!sourceKey.isEmpty()) {
                 sourceKeys.add(sourceKey);
             }
         }
-        for (String phrase : phraseLearningStore.getPhrases()) {
-            String key = normalizeForSimilarity(phrase);
-            if (!key.isEmpty()) {
-                existingKeys.add(key);
-            }
-        }
-        for (String phrase : qaPhraseLearningStore.getPhrases()) {
-            String key = normalizeForSimilarity(phrase);
-            if (!key.isEmpty()) {
-                existingKeys.add(key);
-            }
-        }
-        for (String phrase : legacyPhraseLearningStore.getPhrases()) {
-            String key = normalizeForSimilarity(phrase);
-            if (!key.isEmpty()) {
-                existingKeys.add(key);
-            }
-        }
+        existingKeys.addAll(phraseLearningStore.getFingerprints());
+        existingKeys.addAll(qaPhraseLearningStore.getFingerprints());
+        existingKeys.addAll(legacyPhraseLearningStore.getFingerprints());
 
         String[] lines = summarized.split("\\r?\\n");
         Set<String> exactDedup = new LinkedHashSet<>();
-        List<String> similarityDedup = new ArrayList<>();
+        List<SimilarityFingerprint> similarityDedup = new ArrayList<>();
         for (String raw : lines) {
             String stripped = raw.replaceFirst("^[-*\\d.\\s]+", "");
             stripped = stripAllPlayerMentions(stripped);
@@ -1620,7 +1831,7 @@ public class SmartChatManager {
                         continue;
                     }
                 }
-                String candidateKey = normalizeForSimilarity(normalized);
+                SimilarityFingerprint candidateKey = fingerprintOf(normalized);
                 if (candidateKey.isEmpty()) {
                     continue;
                 }
@@ -1650,31 +1861,50 @@ public class SmartChatManager {
         return english ? "anyone online" : "\u6709\u4eba\u5728\u7ebf\u5417";
     }
 
-    private String pickIdlePhraseByLanguage(boolean english) {
-        List<String> localized = plugin.getConfig().getStringList(english ? "messages.idle-phrases-en" : "messages.idle-phrases-zh");
-        List<String> pool = new ArrayList<>(localized.isEmpty() ? plugin.getConfig().getStringList("messages.idle-phrases") : localized);
-        pool.addAll(phraseLearningStore.getPhrases());
-        pool.addAll(legacyPhraseLearningStore.getPhrases());
-        double qaBlendChance = clamp(plugin.getConfig().getDouble("learning.qa-idle-blend-chance", 0.2), 0.0, 1.0);
-        if (ThreadLocalRandom.current().nextDouble() < qaBlendChance) {
-            pool.addAll(qaPhraseLearningStore.getPhrases());
+    private String pickIdlePhraseByLanguage(boolean english) {
+        ensurePhrasePoolsCurrent();
+        double qaBlendChance = plugin.getSettings().qa.idleBlendChance;
+        boolean blendQa = ThreadLocalRandom.current().nextDouble() < qaBlendChance;
+        return PhrasePool.pick(
+            english,
+            phrase -> !isRecentlyUsed(phrase),
+            english ? configIdlePoolEn : configIdlePoolZh,
+            phraseLearningStore.pool(),
+            legacyPhraseLearningStore.pool(),
+            blendQa ? qaPhraseLearningStore.pool() : null
+        );
+    }
+
+    /**
+     * Pools are pre-filtered for low-signal lines, which depends on config, so re-filter after a
+     * reload. Callers that see stale settings wait for the one rebuilding; the settings are only
+     * published once every pool carries the new phrases and filter.
+     */
+    private void ensurePhrasePoolsCurrent() {
+        RealmPulseSettings settings = plugin.getSettings();
+        if (settings == phrasePoolSettings) {
+            return;
         }
-        if (pool.isEmpty()) {
-            return "";
+        synchronized (phrasePoolLock) {
+            if (settings == phrasePoolSettings) {
+                return;
+            }
+            List<String> generic = settings.getStringList("messages.idle-phrases");
+            List<String> en = settings.getStringList("messages.idle-phrases-en");
+            List<String> zh = settings.getStringList("messages.idle-phrases-zh");
+            BiPredicate<String, Boolean> highSignal = (phrase, english) -> !isLowSignalChatLine(phrase, english);
+            configIdlePoolEn.replaceAll(en.isEmpty() ? generic : en, highSignal);
+            configIdlePoolZh.replaceAll(zh.isEmpty() ? generic : zh, highSignal);
+            for (PhrasePool pool : List.of(
+                ghostDialoguePool,
+                phraseLearningStore.pool(),
+                qaPhraseLearningStore.pool(),
+                legacyPhraseLearningStore.pool()
+            )) {
+                pool.setFilter(highSignal);
+            }
+            phrasePoolSettings = settings;
         }
-        Collections.shuffle(pool);
-        for (String phrase : pool) {
-            if (!matchesLanguage(phrase, english)) {
-                continue;
-            }
-            if (isLowSignalChatLine(phrase, english)) {
-                continue;
-            }
-            if (!isRecentlyUsed(phrase)) {
-                return phrase;
-            }
-        }
-        return "";
     }
 
     private String pickEnglishStarter() {
@@ -1682,7 +1912,7 @@ public class SmartChatManager {
         if (!learned.isBlank()) {
             return learned;
         }
-        List<String> seeds = plugin.getConfig().getStringList("messages.english-seed-phrases");
+        List<String> seeds = plugin.getSettings().getStringList("messages.english-seed-phrases");
         if (seeds.isEmpty()) {
             return "anyone farming tonight";
         }
@@ -1699,7 +1929,7 @@ public class SmartChatManager {
             return learned;
         }
         String topic = extractTopicWord(previous);
-        List<String> templates = plugin.getConfig().getStringList("messages.english-content-templates");
+        List<String> templates = plugin.getSettings().getStringList("messages.english-content-templates");
         if (!templates.isEmpty()) {
             String t = templates.get(ThreadLocalRandom.current().nextInt(templates.size()));
             if (topic.isBlank()) topic = pickFallbackEnglishTopic();
@@ -1725,53 +1955,20 @@ public class SmartChatManager {
     }
 
     private String pickLearningPhraseByLanguage(boolean english, boolean qaPreferred) {
-        LinkedHashSet<String> pool = new LinkedHashSet<>();
-        if (qaPreferred) {
-            for (String phrase : qaPhraseLearningStore.getPhrases()) {
-                if (matchesLanguage(phrase, english)) {
-                    pool.add(phrase);
-                }
-            }
-        }
-        for (String phrase : phraseLearningStore.getPhrases()) {
-            if (matchesLanguage(phrase, english)) {
-                pool.add(phrase);
-            }
-        }
-        for (String phrase : legacyPhraseLearningStore.getPhrases()) {
-            if (matchesLanguage(phrase, english)) {
-                pool.add(phrase);
-            }
-        }
+        ensurePhrasePoolsCurrent();
+        boolean includeQa = qaPreferred;
         if (!qaPreferred) {
-            double qaBlendChance = clamp(plugin.getConfig().getDouble("learning.qa-idle-blend-chance", 0.2), 0.0, 1.0);
-            if (ThreadLocalRandom.current().nextDouble() < qaBlendChance) {
-                for (String phrase : qaPhraseLearningStore.getPhrases()) {
-                    if (matchesLanguage(phrase, english)) {
-                        pool.add(phrase);
-                    }
-                }
-            }
+            double qaBlendChance = plugin.getSettings().qa.idleBlendChance;
+            includeQa = ThreadLocalRandom.current().nextDouble() < qaBlendChance;
         }
-        synchronized (recentLock) {
-            for (String line : recentGhostDialogue) {
-                if (matchesLanguage(line, english)) {
-                    pool.add(line);
-                }
-            }
-        }
-        if (pool.isEmpty()) return "";
-        List<String> shuffled = new ArrayList<>(pool);
-        Collections.shuffle(shuffled);
-        for (String candidate : shuffled) {
-            if (isLowSignalChatLine(candidate, english)) {
-                continue;
-            }
-            if (!isRecentlyUsed(candidate)) {
-                return candidate;
-            }
-        }
-        return "";
+        return PhrasePool.pick(
+            english,
+            candidate -> !isRecentlyUsed(candidate),
+            includeQa ? qaPhraseLearningStore.pool() : null,
+            phraseLearningStore.pool(),
+            legacyPhraseLearningStore.pool(),
+            ghostDialoguePool
+        );
     }
 
     private String extractTopicWord(String text) {
@@ -1794,7 +1991,7 @@ public class SmartChatManager {
     }
 
     private String pickFallbackEnglishTopic() {
-        List<String> topics = plugin.getConfig().getStringList("messages.english-topics");
+        List<String> topics = plugin.getSettings().getStringList("messages.english-topics");
         if (topics.isEmpty()) {
             topics = List.of("gear", "iron", "farm", "dungeon", "boss", "route");
         }
@@ -1824,34 +2021,8 @@ public class SmartChatManager {
         return LanguageClassifier.matches(text, english);
     }
 
-    private boolean getCompatBoolean(String primaryPath, String legacyPath, boolean def) {
-        if (plugin.getConfig().contains(primaryPath, true)) {
-            return plugin.getConfig().getBoolean(primaryPath, def);
-        }
-        return plugin.getConfig().getBoolean(legacyPath, def);
-    }
-
-    private long getCompatLong(String primaryPath, String legacyPath, long def) {
-        if (plugin.getConfig().contains(primaryPath, true)) {
-            return plugin.getConfig().getLong(primaryPath, def);
-        }
-        return plugin.getConfig().getLong(legacyPath, def);
-    }
-
-    private double getCompatDouble(String primaryPath, String legacyPath, double def) {
-        if (plugin.getConfig().contains(primaryPath, true)) {
-            return plugin.getConfig().getDouble(primaryPath, def);
-        }
-        return plugin.getConfig().getDouble(legacyPath, def);
-    }
-
     private boolean isConfiguredLanguageEnglish() {
-        String configured = plugin.getConfig().getString("chat.language", "zh");
-        if (configured == null) {
-            return false;
-        }
-        String normalized = configured.trim().toLowerCase(Locale.ROOT);
-        return "en".equals(normalized) || "english".equals(normalized);
+        return plugin.getSettings().chat.english;
     }
 
     private LanguageClassifier.Result configuredLanguageResult() {
@@ -1859,21 +2030,16 @@ public class SmartChatManager {
     }
 
     private boolean isQaAiAvailable() {
-        if (!configService.getBoolean("ai.enabled", true) || !configService.getBoolean("ai.qa.enabled", true)) {
-            return false;
-        }
-        String apiUrl = configService.getString("ai.qa.api-url", "");
-        String model = configService.getString("ai.qa.model", "");
-        return apiUrl != null && !apiUrl.isBlank() && model != null && !model.isBlank();
+        return plugin.getSettings().qa.available;
     }
 
     private boolean isStrictAiTemplateDisabled() {
-        return plugin.getConfig().getBoolean("events.ai-strict-no-template-fallback", true)
+        return plugin.getSettings().events.aiStrictNoTemplateFallback
             && isQaAiAvailable();
     }
 
     private void scheduleConversationReply(String answer, String playerName, boolean ghostMentioned, String sourceQuestion) {
-        List<GhostPlayer> ghosts = new ArrayList<>(deathManager.getAliveGhosts(GhostManager.getOnlineGhosts()));
+        List<GhostPlayer> ghosts = new ArrayList<>(GhostManager.getOnlineAliveGhosts());
         if (ghosts.isEmpty()) return;
         boolean strictAiMode = isStrictAiTemplateDisabled();
 
@@ -1897,7 +2063,9 @@ public class SmartChatManager {
         }
 
         Collections.shuffle(ghosts);
-        double replyChance = plugin.getConfig().getDouble("events.reply-chance", 0.2);
+        RealmPulseSettings settings = plugin.getSettings();
+        RealmPulseSettings.Events events = settings.events;
+        double replyChance = events.replyChance;
         int responders = (int) Math.max(1, Math.floor(ghosts.size() * replyChance));
         responders = Math.min(responders, ghosts.size());
 
@@ -1907,24 +2075,23 @@ public class SmartChatManager {
         if (leadMessage.isBlank()) {
             return;
         }
-        long leadMinDelay = Math.max(20L, plugin.getConfig().getLong("events.qa-lead-delay-min-ticks", 120L));
-        long leadMaxDelay = Math.max(leadMinDelay, plugin.getConfig().getLong("events.qa-lead-delay-max-ticks", 240L));
+        long leadMinDelay = events.qaLeadDelayMinTicks;
+        long leadMaxDelay = events.qaLeadDelayMaxTicks;
         long leadGap = leadMinDelay + ThreadLocalRandom.current().nextLong(leadMaxDelay - leadMinDelay + 1L);
         speakWithTyping(lead, leadMessage, leadGap, true);
 
         if (forcedResponder != null || strictAiMode) {
             return;
         }
-        double followupChance = plugin.getConfig().getDouble("events.ghost-followup-chance", 0.2);
+        double followupChance = events.ghostFollowupChance;
         if (ThreadLocalRandom.current().nextDouble() > followupChance || responders <= 1) return;
 
-        boolean useAiFollowup = plugin.getConfig().getBoolean("events.reply-followup-use-ai", true)
-            && configService.getBoolean("ai.qa.enabled", true);
-        double followupAiChance = clamp(plugin.getConfig().getDouble("events.reply-followup-ai-chance", 0.65), 0.0, 1.0);
+        boolean useAiFollowup = events.replyFollowupUseAi && settings.qa.enabled;
+        double followupAiChance = events.replyFollowupAiChance;
 
         responders = Math.min(responders, 2);
-        long followStepMin = Math.max(30L, plugin.getConfig().getLong("events.qa-follow-delay-step-min-ticks", 90L));
-        long followStepMax = Math.max(followStepMin, plugin.getConfig().getLong("events.qa-follow-delay-step-max-ticks", 170L));
+        long followStepMin = events.qaFollowDelayStepMinTicks;
+        long followStepMax = events.qaFollowDelayStepMaxTicks;
         long gap = leadGap + followStepMin;
         for (int i = 1; i < responders; i++) {
             GhostPlayer follower = ghosts.get(i);
@@ -1954,7 +2121,7 @@ public class SmartChatManager {
     }
 
     private String buildFollowupLine(String leadAnswer, boolean englishSpeaker) {
-        List<String> templates = plugin.getConfig().getStringList("messages.follow-up-templates");
+        List<String> templates = plugin.getSettings().getStringList("messages.follow-up-templates");
         String topic = extractTopicWord(leadAnswer);
         if (topic.isBlank()) topic = englishSpeaker ? "route" : "farm";
         if (!englishSpeaker && !matchesLanguage(topic, false)) topic = "\u8def\u7ebf";
@@ -1991,23 +2158,11 @@ public class SmartChatManager {
         String player = resolveGhostMentionTarget(preferredPlayer, speaker == null ? "" : speaker.getName());
         if (player == null || player.isBlank()) return phrase;
 
-        double chance = getCompatDouble(
-            "messages.append-ghost-id-chance",
-            "messages.append-player-id-chance",
-            0.01
-        );
-        if (ghostMentioned) {
-            chance = getCompatDouble(
-                "messages.append-ghost-id-boost-chance",
-                "messages.append-player-id-boost-chance",
-                0.03
-            );
-        }
+        RealmPulseSettings.IdTag idTag = plugin.getSettings().idTag;
+        double chance = ghostMentioned ? idTag.boostChance : idTag.chance;
         if (ThreadLocalRandom.current().nextDouble() > chance) return phrase;
 
-        String format = plugin.getConfig().contains("messages.ghost-id-format", true)
-            ? plugin.getConfig().getString("messages.ghost-id-format", "{message} @{player}")
-            : plugin.getConfig().getString("messages.player-id-format", "{message} @{player}");
+        String format = idTag.format;
         return format.replace("{message}", phrase).replace("{player}", player);
     }
 
@@ -2019,7 +2174,7 @@ public class SmartChatManager {
             return "";
         }
 
-        List<GhostPlayer> ghosts = deathManager.getAliveGhosts(GhostManager.getOnlineGhosts());
+        List<GhostPlayer> ghosts = GhostManager.getOnlineAliveGhosts();
         if (ghosts.isEmpty()) {
             return "";
         }
@@ -2044,86 +2199,40 @@ public class SmartChatManager {
         if (message == null || message.isBlank()) {
             return null;
         }
-        List<GhostPlayer> ghosts = deathManager.getAliveGhosts(GhostManager.getOnlineGhosts());
+        List<GhostPlayer> ghosts = GhostManager.getOnlineAliveGhosts();
         if (ghosts.isEmpty()) {
             return null;
         }
 
-        Matcher matcher = PLAYER_MENTION_PATTERN.matcher(message);
-        while (matcher.find()) {
-            GhostPlayer byAtMention = findGhostByName(ghosts, matcher.group(1));
-            if (byAtMention != null) {
-                return byAtMention;
-            }
-        }
-
-        String lower = message.toLowerCase(Locale.ROOT);
+        // An explicit "@name" wins, otherwise the earliest whole-name mention
         GhostPlayer matched = null;
         int bestIndex = Integer.MAX_VALUE;
-        for (GhostPlayer ghost : ghosts) {
-            String name = ghost.getName();
-            if (name == null || name.isBlank()) {
+        for (GhostMentionMatcher.Mention mention : GhostManager.getMentionMatcher().findAll(message)) {
+            if (!mention.wholeToken() || deathManager.isGhostDead(mention.ghost())) {
                 continue;
             }
-            int index = indexOfWholeGhostName(lower, name.toLowerCase(Locale.ROOT));
-            if (index >= 0 && index < bestIndex) {
-                bestIndex = index;
-                matched = ghost;
-            }
-        }
-        return matched;
-    }
-
-    private GhostPlayer findGhostByName(List<GhostPlayer> ghosts, String candidateName) {
-        if (ghosts == null || ghosts.isEmpty() || candidateName == null || candidateName.isBlank()) {
-            return null;
-        }
-        for (GhostPlayer ghost : ghosts) {
-            String name = ghost.getName();
-            if (name != null && candidateName.equalsIgnoreCase(name)) {
-                return ghost;
-            }
-        }
-        return null;
-    }
-
-    private int indexOfWholeGhostName(String textLower, String ghostNameLower) {
-        if (textLower == null || textLower.isBlank() || ghostNameLower == null || ghostNameLower.isBlank()) {
-            return -1;
-        }
-        int from = 0;
-        while (from <= textLower.length() - ghostNameLower.length()) {
-            int index = textLower.indexOf(ghostNameLower, from);
-            if (index < 0) {
-                return -1;
+            if (mention.at()) {
+                return mention.ghost();
             }
-            int leftIndex = index - 1;
-            int rightIndex = index + ghostNameLower.length();
-            boolean leftOk = leftIndex < 0 || !isGhostNameChar(textLower.charAt(leftIndex));
-            boolean rightOk = rightIndex >= textLower.length() || !isGhostNameChar(textLower.charAt(rightIndex));
-            if (leftOk && rightOk) {
-                return index;
+            if (mention.start() < bestIndex) {
+                bestIndex = mention.start();
+                matched = mention.ghost();
             }
-            from = index + 1;
         }
-        return -1;
-    }
-
-    private boolean isGhostNameChar(char ch) {
-        return Character.isLetterOrDigit(ch) || ch == '_';
+        return matched;
     }
 
     private String sanitizeLearnedPhrase(String message) {
         if (message == null) return "";
         String value = WHITESPACE_PATTERN.matcher(message.trim()).replaceAll(" ");
-        int minLength = plugin.getConfig().getInt("learning.min-length", 2);
-        int maxLength = plugin.getConfig().getInt("learning.max-length", 36);
+        int minLength = plugin.getSettings().getInt("learning.min-length", 2);
+        int maxLength = plugin.getSettings().getInt("learning.max-length", 36);
         if (value.length() < minLength || value.length() > maxLength) return "";
         if (value.startsWith("/")) return "";
         if (!containsMeaningfulChars(value)) return "";
 
         String lower = value.toLowerCase(Locale.ROOT);
-        for (String bad : plugin.getConfig().getStringList("learning.block-contains")) {
+        for (String bad : plugin.getSettings().getStringList("learning.block-contains")) {
             if (!bad.isBlank() && lower.contains(bad.toLowerCase(Locale.ROOT))) return "";
         }
         return value;
@@ -2139,11 +2248,11 @@ public class SmartChatManager {
     private String sanitizeSummaryInput(String message) {
         if (message == null) return "";
         String value = WHITESPACE_PATTERN.matcher(message.trim()).replaceAll(" ");
-        int minLength = plugin.getConfig().getInt("learning.min-length", 2);
-        int maxLength = Math.max(40, plugin.getConfig().getInt("learning.summary-input-max-length", 90));
+        int minLength = plugin.getSettings().getInt("learning.min-length", 2);
+        int maxLength = Math.max(40, plugin.getSettings().getInt("learning.summary-input-max-length", 90));
         if (value.length() < minLength || value.length() > maxLength) return "";
         String lower = value.toLowerCase(Locale.ROOT);
-        for (String bad : plugin.getConfig().getStringList("learning.block-contains")) {
+        for (String bad : plugin.getSettings().getStringList("learning.block-contains")) {
             if (!bad.isBlank() && lower.contains(bad.toLowerCase(Locale.ROOT))) return "";
         }
         return value;
@@ -2200,7 +2309,7 @@ public class SmartChatManager {
         if (message == null || message.isBlank()) {
             return "";
         }
-        if (!plugin.getConfig().getBoolean("messages.filter-offline-player-mentions", true)) {
+        if (!plugin.getSettings().getBoolean("messages.filter-offline-player-mentions", true)) {
             return message;
         }
         Matcher matcher = PLAYER_MENTION_PATTERN.matcher(message);
@@ -2242,12 +2351,7 @@ public class SmartChatManager {
         if (name == null || name.isBlank()) {
             return false;
         }
-        for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-            if (name.equalsIgnoreCase(ghost.getName())) {
-                return true;
-            }
-        }
-        return false;
+        return GhostManager.findOnlineGhost(name) != null;
     }
 
     private boolean containsMeaningfulChars(String text) {
@@ -2263,110 +2367,82 @@ public class SmartChatManager {
         if (key.isEmpty()) {
             return true;
         }
-        String similarityKey = normalizeForSimilarity(key);
-        double threshold = clamp(
-            plugin.getConfig().getDouble("messages.no-repeat-similarity-threshold", 0.84),
-            0.55,
-            0.99
-        );
-        synchronized (recentLock) {
-            if (recentMessages.contains(key)) {
+        SimilarityFingerprint similarityKey = fingerprintOf(key);
+        double threshold = plugin.getSettings().noRepeat.similarityThreshold;
+        recentLock.lock();
+        try {
+            if (recentMessages.containsKey(key)) {
                 return true;
             }
-            if (similarityKey.isEmpty()) {
-                return false;
+            return recentIndex.findSimilar(similarityKey, threshold, ignored -> true) != null;
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void recordUsedMessage(String message) {
+        String key = normalizeMessage(message);
+        SimilarityFingerprint fingerprint = fingerprintOf(key);
+        recentLock.lock();
+        try {
+            SimilarityFingerprint previous = recentMessages.remove(key);
+            if (previous != null) {
+                releaseRecent(previous);
             }
-            for (String recent : recentMessages) {
-                String recentKey = normalizeForSimilarity(recent);
-                if (isSimilar(similarityKey, recentKey, threshold)) {
-                    return true;
-                }
+            recentMessages.put(key, fingerprint);
+            Integer refs = recentIndex.get(fingerprint.key());
+            recentIndex.put(fingerprint, refs == null ? 1 : refs + 1);
+            int maxRecent = plugin.getSettings().noRepeat.window;
+            Iterator<SimilarityFingerprint> oldest = recentMessages.values().iterator();
+            while (recentMessages.size() > maxRecent && oldest.hasNext()) {
+                releaseRecent(oldest.next());
+                oldest.remove();
             }
-            return false;
+        } finally {
+            recentLock.unlock();
         }
     }
 
-    private void recordUsedMessage(String message) {
-        String key = normalizeMessage(message);
-        synchronized (recentLock) {
-            recentMessages.remove(key);
-            recentMessages.addLast(key);
-            int maxRecent = Math.max(10, plugin.getConfig().getInt("messages.no-repeat-window", 40));
-            while (recentMessages.size() > maxRecent) recentMessages.removeFirst();
-        }
+    // Several raw messages can share one similarity key, the index entry lives until the last one leaves
+    private void releaseRecent(SimilarityFingerprint fingerprint) {
+        Integer refs = recentIndex.get(fingerprint.key());
+        if (refs == null) {
+            return;
+        }
+        if (refs <= 1) {
+            recentIndex.remove(fingerprint.key());
+        } else {
+            recentIndex.put(fingerprint, refs - 1);
+        }
     }
 
     private boolean isSeenByCurrentAudience(String message) {
-        String candidateKey = normalizeForSimilarity(message);
+        SimilarityFingerprint candidateKey = fingerprintOf(message);
         if (candidateKey.isEmpty()) {
             return false;
         }
         double threshold = clamp(
-            plugin.getConfig().getDouble("messages.audience-no-repeat-similarity-threshold", 0.82),
+            plugin.getSettings().getDouble("messages.audience-no-repeat-similarity-threshold", 0.82),
             0.55,
             0.99
         );
-        int tailScan = Math.max(8, plugin.getConfig().getInt("messages.audience-similarity-tail-scan", 24));
-        synchronized (recentLock) {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                if (player == null || !player.isOnline() || player.getName() == null || player.getName().isBlank()) {
-                    continue;
-                }
-                LinkedList<String> seen = audienceSeenMessages.get(player.getName().toLowerCase(Locale.ROOT));
-                if (seen == null || seen.isEmpty()) {
-                    continue;
-                }
-                int scanned = 0;
-                Iterator<String> descending = seen.descendingIterator();
-                while (descending.hasNext() && scanned < tailScan) {
-                    String seenKey = descending.next();
-                    scanned++;
-                    if (candidateKey.equals(seenKey)) {
-                        return true;
-                    }
-                    if (isSimilar(candidateKey, seenKey, threshold)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private void rememberAudienceSeenMessage(String message) {
-        String key = normalizeForSimilarity(message);
-        if (key.isEmpty()) {
-            return;
-        }
-        int perPlayerWindow = Math.max(20, plugin.getConfig().getInt("messages.audience-no-repeat-window", 120));
-        int trackedPlayersMax = Math.max(50, plugin.getConfig().getInt("messages.audience-tracked-players", 400));
-        synchronized (recentLock) {
-            audienceSeenMessages.entrySet().removeIf(entry -> {
-                Player player = Bukkit.getPlayerExact(entry.getKey());
-                return player == null || !player.isOnline();
-            });
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                if (player == null || !player.isOnline() || player.getName() == null || player.getName().isBlank()) {
-                    continue;
-                }
-                String playerKey = player.getName().toLowerCase(Locale.ROOT);
-                LinkedList<String> seen = audienceSeenMessages.computeIfAbsent(playerKey, ignored -> new LinkedList<>());
-                seen.removeIf(existing -> existing.equalsIgnoreCase(key));
-                seen.addLast(key);
-                while (seen.size() > perPlayerWindow) {
-                    seen.removeFirst();
-                }
-            }
-            while (audienceSeenMessages.size() > trackedPlayersMax) {
-                Iterator<String> iterator = audienceSeenMessages.keySet().iterator();
-                if (!iterator.hasNext()) {
-                    break;
-                }
-                iterator.next();
-                iterator.remove();
-            }
-        }
-    }
+        int tailScan = Math.max(8, plugin.getSettings().getInt("messages.audience-similarity-tail-scan", 24));
+        return audienceHistory.isSeenByOnlineAudience(candidateKey, threshold, tailScan);
+    }
+
+    private void rememberAudienceSeenMessage(String message) {
+        SimilarityFingerprint key = fingerprintOf(message);
+        if (key.isEmpty()) {
+            return;
+        }
+        int window = Math.max(20, plugin.getSettings().getInt("messages.audience-no-repeat-window", 120));
+        int tailScan = Math.max(8, plugin.getSettings().getInt("messages.audience-similarity-tail-scan", 24));
+        audienceHistory.remember(key, Math.max(window, tailScan));
+    }
+
+    public AudienceHistory getAudienceHistory() {
+        return audienceHistory;
+    }
 
     private String normalizeMessage(String message) {
         if (message == null) {
@@ -2386,56 +2462,17 @@ public class SmartChatManager {
         return normalized;
     }
 
-    private boolean isTooSimilarToAny(String key, List<String> candidates, double threshold) {
-        for (String candidate : candidates) {
-            if (isSimilar(key, candidate, threshold)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean isSimilar(String left, String right, double threshold) {
-        if (left == null || right == null || left.isEmpty() || right.isEmpty()) {
-            return false;
-        }
-        if (left.equals(right)) {
-            return true;
-        }
-        int shorter = Math.min(left.length(), right.length());
-        int longer = Math.max(left.length(), right.length());
-        if (longer > 0 && ((double) shorter / (double) longer) < 0.45) {
-            return false;
-        }
-        return diceSimilarity(left, right) >= threshold;
+    private SimilarityFingerprint fingerprintOf(String message) {
+        return SimilarityFingerprint.of(normalizeForSimilarity(message));
     }
 
-    private double diceSimilarity(String left, String right) {
-        if (left.equals(right)) {
-            return 1.0;
-        }
-        if (left.length() < 2 || right.length() < 2) {
-            return 0.0;
-        }
-        Map<String, Integer> leftBigrams = new HashMap<>();
-        for (int i = 0; i < left.length() - 1; i++) {
-            String bigram = left.substring(i, i + 2);
-            leftBigrams.merge(bigram, 1, Integer::sum);
-        }
-        int intersection = 0;
-        for (int i = 0; i < right.length() - 1; i++) {
-            String bigram = right.substring(i, i + 2);
-            Integer count = leftBigrams.get(bigram);
-            if (count != null && count > 0) {
-                leftBigrams.put(bigram, count - 1);
-                intersection++;
+    private boolean isTooSimilarToAny(SimilarityFingerprint key, List<SimilarityFingerprint> candidates, double threshold) {
+        for (SimilarityFingerprint candidate : candidates) {
+            if (key.isSimilar(candidate, threshold)) {
+                return true;
             }
         }
-        int total = (left.length() - 1) + (right.length() - 1);
-        if (total <= 0) {
-            return 0.0;
-        }
-        return (2.0 * intersection) / (double) total;
+        return false;
     }
 
     private double clamp(double value, double min, double max) {
@@ -2456,7 +2493,7 @@ public class SmartChatManager {
             return fallback;
         }
 
-        int attempts = Math.max(0, plugin.getConfig().getInt("messages.repeat-rewrite-attempts", 2));
+        int attempts = Math.max(0, plugin.getSettings().getInt("messages.repeat-rewrite-attempts", 2));
         for (int i = 0; i < attempts; i++) {
             String rewritten = sanitizeOutgoingMessage(rewriteCandidate(candidate, i));
             if (rewritten.isBlank()) {
@@ -2518,10 +2555,11 @@ public class SmartChatManager {
 
     private void rememberPlayer(String playerName) {
         if (playerName == null || playerName.isBlank()) return;
-        synchronized (recentLock) {
-            recentPlayerNames.removeIf(name -> name.equalsIgnoreCase(playerName));
+        recentLock.lock();
+        try {
             recentPlayerNames.addLast(playerName);
-            while (recentPlayerNames.size() > 50) recentPlayerNames.removeFirst();
+        } finally {
+            recentLock.unlock();
         }
     }
 
@@ -2537,28 +2575,38 @@ public class SmartChatManager {
         }
         String owner = (playerName == null || playerName.isBlank()) ? "player" : playerName;
         String entry = owner + ": " + normalized;
-        synchronized (recentLock) {
+        recentLock.lock();
+        try {
+            recentRealPlayerMessages.setCapacity(plugin.getSettings().aiDialogue.realPlayerMemorySize);
             recentRealPlayerMessages.addLast(entry);
-            int maxMemory = Math.max(20, plugin.getConfig().getInt("ai-dialogue.real-player-memory-size", 120));
-            while (recentRealPlayerMessages.size() > maxMemory) {
-                recentRealPlayerMessages.removeFirst();
-            }
+        } finally {
+            recentLock.unlock();
         }
     }
 
     private String pickRecentPlayer() {
-        synchronized (recentLock) {
+        recentLock.lock();
+        try {
             if (recentPlayerNames.isEmpty()) return null;
             return recentPlayerNames.get(ThreadLocalRandom.current().nextInt(recentPlayerNames.size()));
+        } finally {
+            recentLock.unlock();
         }
     }
 
     private void rememberGhostLine(String messageText) {
-        synchronized (recentLock) {
-            recentGhostDialogue.removeIf(line -> line.equalsIgnoreCase(messageText));
-            recentGhostDialogue.addLast(messageText);
-            int maxMemory = Math.max(20, plugin.getConfig().getInt("messages.ghost-dialogue-memory-size", 80));
-            while (recentGhostDialogue.size() > maxMemory) recentGhostDialogue.removeFirst();
+        recentLock.lock();
+        try {
+            int maxMemory = Math.max(20, plugin.getSettings().getInt("messages.ghost-dialogue-memory-size", 80));
+            while (recentGhostDialogue.size() > maxMemory) ghostDialoguePool.remove(recentGhostDialogue.removeFirst());
+            recentGhostDialogue.setCapacity(maxMemory);
+            String evicted = recentGhostDialogue.addLast(messageText);
+            if (evicted != null) {
+                ghostDialoguePool.remove(evicted);
+            }
+            ghostDialoguePool.add(messageText);
+        } finally {
+            recentLock.unlock();
         }
     }
 
@@ -2571,15 +2619,14 @@ public class SmartChatManager {
             return;
         }
         String key = ghost.getName().toLowerCase(Locale.ROOT);
-        synchronized (memoryLock) {
-            LinkedList<String> topics = ghostTopicMemory.computeIfAbsent(key, ignored -> new LinkedList<>());
-            topics.removeIf(existing -> existing.equalsIgnoreCase(topic));
+        memoryLock.lock();
+        try {
+            RealmPulseSettings.AiDialogue aiDialogue = plugin.getSettings().aiDialogue;
+            int maxTopicMemory = aiDialogue.perGhostTopicMemory;
+            IndexedStringRing topics = ghostTopicMemory.computeIfAbsent(key, ignored -> new IndexedStringRing(true, maxTopicMemory));
+            topics.setCapacity(maxTopicMemory);
             topics.addLast(topic);
-            int maxTopicMemory = Math.max(3, plugin.getConfig().getInt("ai-dialogue.per-ghost-topic-memory", 12));
-            while (topics.size() > maxTopicMemory) {
-                topics.removeFirst();
-            }
-            int maxTopicOwners = Math.max(50, plugin.getConfig().getInt("ai-dialogue.topic-owner-max-size", 600));
+            int maxTopicOwners = aiDialogue.topicOwnerMaxSize;
             if (ghostTopicMemory.size() > maxTopicOwners) {
                 Set<String> activeGhostKeys = GhostManager.getGhosts().stream()
                     .map(GhostPlayer::getName)
@@ -2596,6 +2643,8 @@ public class SmartChatManager {
                     iterator.remove();
                 }
             }
+        } finally {
+            memoryLock.unlock();
         }
     }
 
@@ -2603,7 +2652,8 @@ public class SmartChatManager {
         if (message == null || message.isBlank()) {
             return true;
         }
-        if (!plugin.getConfig().getBoolean("humanization.filter-low-signal-lines", true)) {
+        RealmPulseSettings.Humanization humanization = plugin.getSettings().humanization;
+        if (!humanization.filterLowSignalLines) {
             return false;
         }
         String trimmed = message.trim();
@@ -2618,10 +2668,8 @@ public class SmartChatManager {
             return true;
         }
         String lower = trimmed.toLowerCase(Locale.ROOT);
-        for (String blocked : plugin.getConfig().getStringList("humanization.low-signal-blocklist")) {
-            if (!blocked.isBlank() && lower.equals(blocked.toLowerCase(Locale.ROOT))) {
-                return true;
-            }
+        if (humanization.lowSignalBlocklist.contains(lower)) {
+            return true;
         }
         if (englishSpeaker) {
             String[] words = WHITESPACE_PATTERN.split(lower);
@@ -2633,7 +2681,8 @@ public class SmartChatManager {
     }
 
     private boolean reserveSpeakSlot(GhostPlayer ghost, String message, boolean highPriority) {
-        if (!plugin.getConfig().getBoolean("humanization.enabled", true)) {
+        RealmPulseSettings.Humanization humanization = plugin.getSettings().humanization;
+        if (!humanization.enabled) {
             return true;
         }
         if (!highPriority && shouldSuppressForPopulation()) {
@@ -2641,13 +2690,13 @@ public class SmartChatManager {
         }
 
         long now = System.currentTimeMillis();
-        long globalCooldownMs = Math.max(0L, plugin.getConfig().getLong("humanization.global-chat-cooldown-seconds", 4L)) * 1000L;
-        long burstWindowMs = Math.max(5L, plugin.getConfig().getLong("humanization.burst-window-seconds", 30L)) * 1000L;
-        int burstMax = Math.max(1, plugin.getConfig().getInt("humanization.burst-max-lines", 4));
-        long topicCooldownMs = Math.max(0L, plugin.getConfig().getLong("humanization.same-topic-cooldown-seconds", 120L)) * 1000L;
+        long globalCooldownMs = humanization.globalCooldownMs;
+        long burstWindowMs = humanization.burstWindowMs;
+        int burstMax = humanization.burstMaxLines;
+        long topicCooldownMs = humanization.topicCooldownMs;
 
-        long ghostMinSeconds = Math.max(2L, plugin.getConfig().getLong("humanization.ghost-chat-cooldown-seconds-min", 20L));
-        long ghostMaxSeconds = Math.max(ghostMinSeconds, plugin.getConfig().getLong("humanization.ghost-chat-cooldown-seconds-max", 75L));
+        long ghostMinSeconds = humanization.ghostCooldownMinSeconds;
+        long ghostMaxSeconds = humanization.ghostCooldownMaxSeconds;
         long randomGhostSeconds = ghostMinSeconds + ThreadLocalRandom.current().nextLong(ghostMaxSeconds - ghostMinSeconds + 1L);
         if (highPriority) {
             randomGhostSeconds = Math.max(2L, Math.round(randomGhostSeconds * 0.6));
@@ -2656,70 +2705,82 @@ public class SmartChatManager {
         String ghostKey = ghost == null || ghost.getName() == null ? "" : ghost.getName().toLowerCase(Locale.ROOT);
         String topicKey = normalizeTopicKey(extractTopicWord(message));
 
-        synchronized (throttleLock) {
-            pruneCooldownCaches(now);
-            while (!recentSendTimeline.isEmpty() && now - recentSendTimeline.getFirst() > burstWindowMs) {
-                recentSendTimeline.removeFirst();
-            }
-            if (!highPriority && now < globalNextSpeakAt) {
+        maybePruneCooldownCaches(now, humanization);
+        if (!highPriority && now < globalNextSpeakAt.get()) {
+            return false;
+        }
+
+        // Each piece of state is claimed on its own and released again if a later check fails
+        long ghostUntil = now + randomGhostSeconds * 1000L;
+        long previousGhost = 0L;
+        if (!ghostKey.isBlank()) {
+            previousGhost = ghostNextSpeakAt.claim(ghostKey, now, ghostUntil, highPriority);
+            if (previousGhost < 0L) {
                 return false;
             }
-            if (!highPriority && recentSendTimeline.size() >= burstMax) {
+        }
+        if (topicCooldownMs <= 0L) {
+            topicKey = "";
+        }
+        long topicUntil = now + topicCooldownMs;
+        long previousTopic = 0L;
+        if (!topicKey.isBlank()) {
+            previousTopic = topicNextSpeakAt.claim(topicKey, now, topicUntil, highPriority);
+            if (previousTopic < 0L) {
+                releaseCooldowns(ghostKey, ghostUntil, previousGhost, "", 0L, 0L);
                 return false;
             }
-            if (!ghostKey.isBlank()) {
-                long ghostNext = ghostNextSpeakAt.getOrDefault(ghostKey, 0L);
-                if (!highPriority && now < ghostNext) {
-                    return false;
-                }
-            }
-            if (!highPriority && topicCooldownMs > 0L && !topicKey.isBlank()) {
-                long topicNext = topicNextSpeakAt.getOrDefault(topicKey, 0L);
-                if (now < topicNext) {
-                    return false;
-                }
-            }
+        }
 
-            long effectiveGlobal = highPriority ? Math.max(1000L, globalCooldownMs / 2L) : globalCooldownMs;
-            if (effectiveGlobal > 0L) {
-                globalNextSpeakAt = now + effectiveGlobal;
-            }
-            recentSendTimeline.addLast(now);
-            if (!ghostKey.isBlank()) {
-                ghostNextSpeakAt.put(ghostKey, now + randomGhostSeconds * 1000L);
+        long effectiveGlobal = highPriority ? Math.max(1000L, globalCooldownMs / 2L) : globalCooldownMs;
+        long previousGlobal;
+        long claimedGlobal;
+        while (true) {
+            previousGlobal = globalNextSpeakAt.get();
+            if (!highPriority && now < previousGlobal) {
+                releaseCooldowns(ghostKey, ghostUntil, previousGhost, topicKey, topicUntil, previousTopic);
+                return false;
             }
-            if (topicCooldownMs > 0L && !topicKey.isBlank()) {
-                topicNextSpeakAt.put(topicKey, now + topicCooldownMs);
+            claimedGlobal = effectiveGlobal > 0L ? now + effectiveGlobal : previousGlobal;
+            if (claimedGlobal == previousGlobal || globalNextSpeakAt.compareAndSet(previousGlobal, claimedGlobal)) {
+                break;
             }
-            return true;
+            throttleCasRetries.increment();
         }
-    }
 
-    private void pruneCooldownCaches(long now) {
-        long staleAfterMs = Math.max(300_000L, plugin.getConfig().getLong("humanization.cooldown-cache-stale-seconds", 1800L) * 1000L);
-        int maxTopicCache = Math.max(200, plugin.getConfig().getInt("humanization.topic-cache-max-size", 4000));
-        int maxGhostCache = Math.max(100, plugin.getConfig().getInt("humanization.ghost-cache-max-size", 1000));
-
-        pruneExpiryMap(topicNextSpeakAt, now, staleAfterMs);
-        pruneExpiryMap(ghostNextSpeakAt, now, staleAfterMs);
-        trimMapByEarliestExpiry(topicNextSpeakAt, maxTopicCache);
-        trimMapByEarliestExpiry(ghostNextSpeakAt, maxGhostCache);
+        burstLock.lock();
+        try {
+            recentSendTimeline.setCapacity(burstMax);
+            recentSendTimeline.removeOlderThan(now - burstWindowMs);
+            if (highPriority || recentSendTimeline.size() < burstMax) {
+                recentSendTimeline.addLast(now);
+                return true;
+            }
+        } finally {
+            burstLock.unlock();
+        }
+        globalNextSpeakAt.compareAndSet(claimedGlobal, previousGlobal);
+        releaseCooldowns(ghostKey, ghostUntil, previousGhost, topicKey, topicUntil, previousTopic);
+        return false;
     }
 
-    private void pruneExpiryMap(Map<String, Long> map, long now, long staleAfterMs) {
-        map.entrySet().removeIf(entry -> now - entry.getValue() > staleAfterMs);
+    private void releaseCooldowns(String ghostKey, long ghostUntil, long previousGhost, String topicKey, long topicUntil, long previousTopic) {
+        throttleRollbacks.increment();
+        if (!ghostKey.isBlank()) {
+            ghostNextSpeakAt.release(ghostKey, ghostUntil, previousGhost);
+        }
+        if (!topicKey.isBlank()) {
+            topicNextSpeakAt.release(topicKey, topicUntil, previousTopic);
+        }
     }
 
-    private void trimMapByEarliestExpiry(Map<String, Long> map, int maxSize) {
-        if (map.size() <= maxSize) {
+    private void maybePruneCooldownCaches(long now, RealmPulseSettings.Humanization humanization) {
+        long dueAt = nextCooldownPruneAt.get();
+        if (now < dueAt || !nextCooldownPruneAt.compareAndSet(dueAt, now + 1000L)) {
             return;
         }
-        List<Map.Entry<String, Long>> entries = new ArrayList<>(map.entrySet());
-        entries.sort(Map.Entry.comparingByValue());
-        int removeCount = map.size() - maxSize;
-        for (int i = 0; i < removeCount && i < entries.size(); i++) {
-            map.remove(entries.get(i).getKey());
-        }
+        topicNextSpeakAt.expire(now, humanization.topicCacheMaxSize);
+        ghostNextSpeakAt.expire(now, humanization.ghostCacheMaxSize);
     }
 
     private String normalizeTopicKey(String topic) {
@@ -2731,21 +2792,24 @@ public class SmartChatManager {
     }
 
     private boolean shouldSuppressForPopulation() {
-        if (!plugin.getConfig().getBoolean("humanization.require-real-player-online", true)) {
+        RealmPulseSettings.Humanization humanization = plugin.getSettings().humanization;
+        if (!humanization.requireRealPlayerOnline) {
             return false;
         }
-        int minPlayers = Math.max(0, plugin.getConfig().getInt("humanization.min-online-real-players", 1));
-        return Bukkit.getOnlinePlayers().size() < minPlayers;
+        return Bukkit.getOnlinePlayers().size() < humanization.minOnlineRealPlayers;
     }
 
     public LearningStatus getLearningStatus() {
         int pendingGeneral;
         int pendingQa;
         int pending;
-        synchronized (learningLock) {
+        learningLock.lock();
+        try {
             pendingGeneral = pendingLearningRaw.size();
             pendingQa = pendingLearningQaRaw.size();
             pending = pendingGeneral + pendingQa;
+        } finally {
+            learningLock.unlock();
         }
         return new LearningStatus(
             rawLearningStore.size(),
@@ -2760,6 +2824,22 @@ public class SmartChatManager {
         );
     }
 
+    public QaResponseCache.CacheStatus getQaCacheStatus() {
+        return qaResponseCache.getStatus();
+    }
+
+    public IdleLinePool.PoolStatus getIdleLinePoolStatus() {
+        return idleLinePool.getStatus(System.currentTimeMillis());
+    }
+
+    public ConcurrencyStatus getConcurrencyStatus() {
+        return new ConcurrencyStatus(
+            List.of(recentLock.getStatus(), learningLock.getStatus(), memoryLock.getStatus(), burstLock.getStatus()),
+            throttleCasRetries.sum(),
+            throttleRollbacks.sum()
+        );
+    }
+
     private void speakWithTyping(GhostPlayer ghost, String messageText, long extraGapTicks) {
         speakWithTyping(ghost, messageText, extraGapTicks, false);
     }
@@ -2788,13 +2868,13 @@ public class SmartChatManager {
         rememberGhostTopic(ghost, finalMessage);
         rememberAudienceSeenMessage(finalMessage);
 
-        long baseMin = plugin.getConfig().getLong("messages.typing-base-min-ticks", 15L);
-        long baseMax = Math.max(baseMin, plugin.getConfig().getLong("messages.typing-base-max-ticks", 35L));
-        long perChar = Math.max(1L, plugin.getConfig().getLong("messages.typing-per-char-ticks", 2L));
-        long typingTicks = baseMin + ThreadLocalRandom.current().nextLong(baseMax - baseMin + 1L) + finalMessage.length() * perChar;
+        RealmPulseSettings.Typing typing = plugin.getSettings().typing;
+        long typingTicks = typing.baseMinTicks
+            + ThreadLocalRandom.current().nextLong(typing.baseMaxTicks - typing.baseMinTicks + 1L)
+            + finalMessage.length() * typing.perCharTicks;
         long totalDelay = Math.max(0L, extraGapTicks) + typingTicks;
 
-        String format = configService.getString("chat.format", "{prefix}{name}: {message}");
+        String format = plugin.getSettings().chat.format;
         String output = finalMessage;
         Bukkit.getScheduler().runTaskLater(plugin, () -> MessageUtils.broadcast(ghost, format, output), totalDelay);
     }
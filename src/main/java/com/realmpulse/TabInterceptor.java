@@ -5,46 +5,96 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.server.TabCompleteEvent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
 
 public class TabInterceptor implements Listener {
 
+    private static final List<String> DEFAULT_COMMANDS = List.of(
+        "tpa", "tpahere", "etpa", "etpahere", "msg", "w", "tell",
+        "cmi tpa", "cmi tpahere", "cmi msg"
+    );
+
+    private final RealmPulse plugin;
+    private volatile CommandNode commands = new CommandNode();
+    private volatile int maxDepth;
+
+    public TabInterceptor(RealmPulse plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        List<String> configured = plugin.getSettings().contains("tab.complete-commands")
+            ? plugin.getSettings().getStringList("tab.complete-commands")
+            : DEFAULT_COMMANDS;
+        CommandNode root = new CommandNode();
+        int depth = 0;
+        for (String entry : configured) {
+            List<String> path = tokenize(entry == null ? "" : entry, 0);
+            path.removeIf(String::isEmpty);
+            if (path.isEmpty()) {
+                continue;
+            }
+            CommandNode node = root;
+            for (String part : path) {
+                node = node.children.computeIfAbsent(part.toLowerCase(Locale.ROOT), ignored -> new CommandNode());
+            }
+            node.completesGhosts = true;
+            depth = Math.max(depth, path.size());
+        }
+        commands = root;
+        maxDepth = depth;
+    }
+
     @EventHandler
     public void onTabComplete(TabCompleteEvent event) {
         String buffer = event.getBuffer();
-        if (buffer.startsWith("/")) {
-            buffer = buffer.substring(1);
+        int start = buffer.startsWith("/") ? 1 : 0;
+        List<String> args = tokenize(buffer, start);
+        if (args.size() < 2 || args.size() > maxDepth + 1) {
+            return;
         }
-        
-        String[] args = buffer.split("\s+", -1);
-        if (args.length < 2) return;
-
-        String cmd = args[0].toLowerCase();
-        boolean shouldAddGhosts = false;
-
-        // Check if the command is one where we want to suggest ghost players
-        if (cmd.equals("tpa") || cmd.equals("tpahere") || cmd.equals("etpa") || cmd.equals("etpahere") || cmd.equals("msg") || cmd.equals("w") || cmd.equals("tell")) {
-            shouldAddGhosts = args.length == 2;
-        } else if (cmd.equals("cmi") && args.length >= 2) {
-            String sub = args[1].toLowerCase();
-            if (sub.equals("tpa") || sub.equals("tpahere") || sub.equals("msg")) {
-                shouldAddGhosts = args.length == 3;
-            }
+
+        // The ghost name is always the argument right after a configured command path
+        CommandNode node = commands;
+        for (int i = 0; i < args.size() - 1 && node != null; i++) {
+            node = node.children.get(args.get(i).toLowerCase(Locale.ROOT));
+        }
+        if (node == null || !node.completesGhosts) {
+            return;
+        }
+
+        List<String> ghostNames = GhostManager.getOnlineNameIndex().complete(args.get(args.size() - 1));
+        if (!ghostNames.isEmpty()) {
+            List<String> completions = new ArrayList<>(event.getCompletions());
+            completions.addAll(ghostNames);
+            event.setCompletions(completions);
         }
+    }
 
-        if (shouldAddGhosts) {
-            String lastToken = args[args.length - 1].toLowerCase();
-            List<String> ghostNames = GhostManager.getOnlineGhosts().stream()
-                .map(GhostPlayer::getName)
-                .filter(name -> name.toLowerCase().startsWith(lastToken))
-                .collect(Collectors.toList());
-            
-            if (!ghostNames.isEmpty()) {
-                List<String> completions = new ArrayList<>(event.getCompletions());
-                completions.addAll(ghostNames);
-                event.setCompletions(completions);
+    // Same tokens as split("\\s+", -1), including the trailing empty token while typing a new argument
+    private static List<String> tokenize(String buffer, int start) {
+        List<String> tokens = new ArrayList<>(4);
+        int length = buffer.length();
+        int tokenStart = start;
+        for (int i = start; i < length; i++) {
+            if (Character.isWhitespace(buffer.charAt(i))) {
+                tokens.add(buffer.substring(tokenStart, i));
+                while (i + 1 < length && Character.isWhitespace(buffer.charAt(i + 1))) {
+                    i++;
+                }
+                tokenStart = i + 1;
             }
         }
+        tokens.add(buffer.substring(tokenStart));
+        return tokens;
+    }
+
+    private static final class CommandNode {
+        private final Map<String, CommandNode> children = new HashMap<>();
+        private boolean completesGhosts;
     }
 }
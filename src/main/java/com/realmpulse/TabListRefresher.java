@@ -0,0 +1,93 @@
+package com.realmpulse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+public class TabListRefresher {
+
+    private final RealmPulse plugin;
+    private final PacketManager packetManager;
+    private final Deque<UUID> pendingViewers = new ArrayDeque<>();
+    private BukkitTask cycleTask;
+    private BukkitTask drainTask;
+
+    public TabListRefresher(RealmPulse plugin, PacketManager packetManager) {
+        this.plugin = plugin;
+        this.packetManager = packetManager;
+    }
+
+    public void start() {
+        stop();
+        long intervalTicks = Math.max(5L, plugin.getSettings().getLong("tab.refresh-interval-seconds", 30L)) * 20L;
+        cycleTask = Bukkit.getScheduler().runTaskTimer(plugin, this::beginCycle, intervalTicks, intervalTicks);
+    }
+
+    public void reload() {
+        start();
+    }
+
+    public void stop() {
+        if (cycleTask != null) {
+            cycleTask.cancel();
+            cycleTask = null;
+        }
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        pendingViewers.clear();
+    }
+
+    private void beginCycle() {
+        // Ping is jittered once per ghost, every viewer then gets the same value as a latency delta.
+        for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
+            ghost.setRandomPing();
+        }
+
+        pendingViewers.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            pendingViewers.add(player.getUniqueId());
+        }
+        if (pendingViewers.isEmpty() || drainTask != null) {
+            return;
+        }
+        drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drainTick, 1L, 1L);
+    }
+
+    private void drainTick() {
+        int viewersPerTick = Math.max(1, plugin.getSettings().getInt("tab.refresh-viewers-per-tick", 10));
+        List<GhostPlayer> online = GhostManager.getOnlineGhosts();
+        for (int i = 0; i < viewersPerTick && !pendingViewers.isEmpty(); i++) {
+            Player viewer = Bukkit.getPlayer(pendingViewers.pollFirst());
+            if (viewer == null || !viewer.isOnline()) {
+                continue;
+            }
+            syncViewer(viewer, online);
+        }
+        if (pendingViewers.isEmpty() && drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+    }
+
+    private void syncViewer(Player viewer, List<GhostPlayer> online) {
+        TabStateTracker tracker = packetManager.getTabStateTracker();
+        TabStateTracker.Delta delta = tracker.diff(viewer, online);
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        if (!delta.stale.isEmpty()) {
+            packetManager.sendTabListRemoveIds(viewer, delta.stale);
+            tracker.forgetGhosts(viewer, delta.stale);
+        }
+        packetManager.sendTabListAddBatch(viewer, delta.missing);
+        packetManager.sendTabListDisplayNameBatch(viewer, delta.displayNameChanged);
+        packetManager.sendTabListLatencyBatch(viewer, delta.latencyChanged);
+    }
+}
@@ -0,0 +1,116 @@
+package com.realmpulse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+
+public class TabStateTracker {
+
+    private final Map<UUID, Map<UUID, SentEntry>> sentByViewer = new ConcurrentHashMap<>();
+
+    public void recordAdded(Player viewer, Collection<GhostPlayer> ghosts) {
+        if (viewer == null || ghosts == null || ghosts.isEmpty()) {
+            return;
+        }
+        Map<UUID, SentEntry> sent = sentByViewer.computeIfAbsent(viewer.getUniqueId(), ignored -> new ConcurrentHashMap<>());
+        for (GhostPlayer ghost : ghosts) {
+            sent.put(ghost.getUuid(), new SentEntry(ghost.getPing(), ghost.getDisplayName()));
+        }
+    }
+
+    public boolean isTracked(Player viewer, UUID ghostId) {
+        Map<UUID, SentEntry> sent = viewer == null ? null : sentByViewer.get(viewer.getUniqueId());
+        return sent != null && sent.containsKey(ghostId);
+    }
+
+    public void forgetGhosts(Player viewer, Collection<UUID> ghostIds) {
+        Map<UUID, SentEntry> sent = viewer == null ? null : sentByViewer.get(viewer.getUniqueId());
+        if (sent == null) {
+            return;
+        }
+        for (UUID ghostId : ghostIds) {
+            sent.remove(ghostId);
+        }
+    }
+
+    public void forgetViewer(UUID viewerId) {
+        if (viewerId != null) {
+            sentByViewer.remove(viewerId);
+        }
+    }
+
+    public void clear() {
+        sentByViewer.clear();
+    }
+
+    public int trackedViewers() {
+        return sentByViewer.size();
+    }
+
+    public Delta diff(Player viewer, Collection<GhostPlayer> onlineGhosts) {
+        Map<UUID, SentEntry> sent = viewer == null ? null : sentByViewer.get(viewer.getUniqueId());
+        if (sent == null || sent.isEmpty()) {
+            return new Delta(new ArrayList<>(onlineGhosts), List.of(), List.of(), Set.of());
+        }
+
+        List<GhostPlayer> missing = new ArrayList<>();
+        List<GhostPlayer> latencyChanged = new ArrayList<>();
+        List<GhostPlayer> displayNameChanged = new ArrayList<>();
+        Set<UUID> stillOnline = new HashSet<>();
+        for (GhostPlayer ghost : onlineGhosts) {
+            stillOnline.add(ghost.getUuid());
+            SentEntry entry = sent.get(ghost.getUuid());
+            if (entry == null) {
+                missing.add(ghost);
+                continue;
+            }
+            if (!entry.displayName().equals(ghost.getDisplayName())) {
+                displayNameChanged.add(ghost);
+            }
+            if (entry.ping() != ghost.getPing()) {
+                latencyChanged.add(ghost);
+            }
+        }
+
+        Set<UUID> stale = new HashSet<>();
+        for (UUID ghostId : sent.keySet()) {
+            if (!stillOnline.contains(ghostId)) {
+                stale.add(ghostId);
+            }
+        }
+        return new Delta(missing, latencyChanged, displayNameChanged, stale);
+    }
+
+    private record SentEntry(int ping, String displayName) {
+    }
+
+    public static final class Delta {
+        public final List<GhostPlayer> missing;
+        public final List<GhostPlayer> latencyChanged;
+        public final List<GhostPlayer> displayNameChanged;
+        public final Set<UUID> stale;
+
+        private Delta(
+            List<GhostPlayer> missing,
+            List<GhostPlayer> latencyChanged,
+            List<GhostPlayer> displayNameChanged,
+            Set<UUID> stale
+        ) {
+            this.missing = Collections.unmodifiableList(missing);
+            this.latencyChanged = Collections.unmodifiableList(latencyChanged);
+            this.displayNameChanged = Collections.unmodifiableList(displayNameChanged);
+            this.stale = Collections.unmodifiableSet(stale);
+        }
+
+        public boolean isEmpty() {
+            return missing.isEmpty() && latencyChanged.isEmpty() && displayNameChanged.isEmpty() && stale.isEmpty();
+        }
+    }
+}
@@ -39,13 +39,10 @@ public class TeleportInterceptor implements Listener {
             return;
         }
 
-        for (GhostPlayer ghost : GhostManager.getOnlineGhosts()) {
-            if (ghost.getName().equalsIgnoreCase(targetName)) {
-                event.setCancelled(true);
-                String denyMessage = plugin.getConfig().getString("messages.prevent-tpa", "&cThat player is refusing teleport requests.");
-                event.getPlayer().sendMessage(ColorUtils.translate(denyMessage));
-                return;
-            }
+        if (GhostManager.findOnlineGhost(targetName) != null) {
+            event.setCancelled(true);
+            String denyMessage = plugin.getSettings().getString("messages.prevent-tpa", "&cThat player is refusing teleport requests.");
+            event.getPlayer().sendMessage(ColorUtils.translate(denyMessage));
         }
     }
 }
@@ -0,0 +1,210 @@
+package com.realmpulse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChatCompletionTransportTest {
+
+    private static final String COMPLETION = "{\"choices\":[{\"message\":{\"content\":\"first line\\nsecond line\"}}]}";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private HttpClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverThreads);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(2)).build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void returnsParsedCompletion() throws Exception {
+        serve(exchange -> respond(exchange, 200, "application/json", COMPLETION));
+
+        ChatCompletionTransport.Reply reply = send(false, 5000L);
+
+        assertEquals(200, reply.status());
+        assertEquals("first line\nsecond line", reply.text());
+    }
+
+    @Test
+    void firstLineOnlyKeepsFirstNonBlankLine() throws Exception {
+        serve(exchange -> respond(exchange, 200, "application/json", COMPLETION));
+
+        assertEquals("first line", send(true, 5000L).text());
+    }
+
+    @Test
+    void errorStatusYieldsEmptyText() throws Exception {
+        serve(exchange -> respond(exchange, 503, "application/json", "{\"error\":\"busy\"}"));
+
+        ChatCompletionTransport.Reply reply = send(false, 5000L);
+
+        assertEquals(503, reply.status());
+        assertEquals("", reply.text());
+    }
+
+    @Test
+    void stalledBodyCompletesEmptyAtDeadline() throws Exception {
+        serve(exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            body.write("{\"choices\":".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            awaitRelease();
+        });
+
+        long start = System.nanoTime();
+        ChatCompletionTransport.Reply reply = send(false, 300L);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals(200, reply.status());
+        assertEquals("", reply.text());
+        assertTrue(elapsedMs < 3000L, "deadline took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void streamDeliversFirstLineWhileStreamStaysOpen() throws Exception {
+        serve(exchange -> {
+            OutputStream body = startStream(exchange, 200);
+            writeEvent(body, delta("hello "));
+            writeEvent(body, delta("world\\nsecond"));
+            awaitRelease();
+        });
+
+        long start = System.nanoTime();
+        ChatCompletionTransport.Reply reply = send(true, 10000L, 5000L);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals("hello world", reply.text());
+        assertTrue(elapsedMs < 3000L, "first line took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void streamDoneWithoutNewlineYieldsPartialText() throws Exception {
+        serve(exchange -> {
+            OutputStream body = startStream(exchange, 200);
+            writeEvent(body, delta("only "));
+            writeEvent(body, delta("line"));
+            writeEvent(body, "[DONE]");
+            awaitRelease();
+        });
+
+        assertEquals("only line", send(true, 10000L, 5000L).text());
+    }
+
+    @Test
+    void streamErrorStatusYieldsEmptyText() throws Exception {
+        serve(exchange -> {
+            OutputStream body = startStream(exchange, 500);
+            writeEvent(body, delta("ignored\\n"));
+        });
+
+        ChatCompletionTransport.Reply reply = send(true, 10000L, 5000L);
+
+        assertEquals(500, reply.status());
+        assertEquals("", reply.text());
+    }
+
+    @Test
+    void stalledStreamFailsAtIdleTimeout() throws Exception {
+        serve(exchange -> {
+            OutputStream body = startStream(exchange, 200);
+            writeEvent(body, delta("no newline yet"));
+            awaitRelease();
+        });
+
+        long start = System.nanoTime();
+        ChatCompletionTransport.Reply reply = send(true, 20000L, 300L);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals("", reply.text());
+        assertTrue(elapsedMs < 3000L, "idle timeout took " + elapsedMs + " ms");
+    }
+
+    private ChatCompletionTransport.Reply send(boolean firstLineOnly, long deadlineMs) throws Exception {
+        return send(firstLineOnly, deadlineMs, 5000L);
+    }
+
+    private ChatCompletionTransport.Reply send(boolean firstLineOnly, long deadlineMs, long streamIdleMs) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat"))
+            .timeout(Duration.ofSeconds(5))
+            .POST(HttpRequest.BodyPublishers.ofString("{}"))
+            .build();
+        return ChatCompletionTransport.send(client, request, firstLineOnly, deadlineMs, streamIdleMs).get(10, TimeUnit.SECONDS);
+    }
+
+    private void serve(HttpHandler handler) {
+        server.createContext("/v1/chat", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OutputStream startStream(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(status, 0);
+        return exchange.getResponseBody();
+    }
+
+    private static void writeEvent(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    // content is inserted into the JSON as is, so escapes like \\n must already be written out
+    private static String delta(String content) {
+        return "{\"choices\":[{\"delta\":{\"content\":\"" + content + "\"}}]}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
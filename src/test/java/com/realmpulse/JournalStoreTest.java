@@ -0,0 +1,83 @@
+package com.realmpulse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JournalStoreTest {
+
+    private static final byte[] GARBAGE = "not a snapshot at all".getBytes(StandardCharsets.UTF_8);
+
+    private final Object lock = new Object();
+    private Path folder;
+
+    @BeforeEach
+    void createFolder() throws IOException {
+        folder = Files.createTempDirectory("journal-store");
+    }
+
+    @AfterEach
+    void deleteFolder() throws IOException {
+        try (var files = Files.list(folder)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(folder);
+    }
+
+    @Test
+    void replaysJournalOverReadableSnapshot() throws IOException {
+        PhraseSnapshot.write(folder.resolve("learned.bin"), List.of(encode("alpha"), encode("beta")), false);
+        Files.writeString(folder.resolve("learned.journal"), "+gamma\n-alpha\n", StandardCharsets.UTF_8);
+
+        List<String> lines = replay(newStore());
+
+        assertEquals(List.of("beta", "gamma"), lines);
+    }
+
+    @Test
+    void corruptSnapshotAndItsJournalAreMovedAsideNotReplayed() throws IOException {
+        Files.write(folder.resolve("learned.bin"), GARBAGE);
+        Files.writeString(folder.resolve("learned.journal"), "+gamma\n", StandardCharsets.UTF_8);
+
+        JournalStore store = newStore();
+        List<String> lines = replay(store);
+
+        assertTrue(lines.isEmpty(), "replayed " + lines);
+        assertTrue(store.needsSnapshot());
+        assertFalse(Files.exists(folder.resolve("learned.journal")));
+        assertEquals("+gamma\n", Files.readString(folder.resolve("learned.journal.corrupt"), StandardCharsets.UTF_8));
+
+        store.compact(() -> List.of(encode("delta")), false);
+
+        assertTrue(Arrays.equals(GARBAGE, Files.readAllBytes(folder.resolve("learned.bin.corrupt"))));
+        assertEquals(1, PhraseSnapshot.read(folder.resolve("learned.bin")).size());
+    }
+
+    private JournalStore newStore() {
+        return new JournalStore(folder.toFile(), "learned.yml", "phrases", JournalStoreTest::encode, lock, Logger.getAnonymousLogger());
+    }
+
+    private static List<String> replay(JournalStore store) {
+        List<String> lines = new ArrayList<>();
+        store.replay(entry -> lines.add(entry.text()), lines::remove);
+        return lines;
+    }
+
+    private static PhraseSnapshot.Entry encode(String line) {
+        return new PhraseSnapshot.Entry(line, LanguageClassifier.classify(line), SimilarityFingerprint.of(line));
+    }
+}
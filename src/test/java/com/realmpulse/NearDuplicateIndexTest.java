@@ -0,0 +1,103 @@
+package com.realmpulse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NearDuplicateIndexTest {
+
+    private static final String[] WORDS = {
+        "anyone", "farm", "iron", "nether", "portal", "trade", "villager", "base", "route", "boss",
+        "diamond", "gear", "need", "help", "later", "tonight", "spawn", "raid", "loot", "build"
+    };
+
+    @Test
+    void lowThresholdFindsEveryMatchTheExactScanFinds() {
+        assertTrue(NearDuplicateIndex.bandRecall(0.55) < 0.95);
+        assertMatchesExactScan(0.55);
+    }
+
+    @Test
+    void defaultThresholdUsesBucketsWithoutFalsePositives() {
+        assertTrue(NearDuplicateIndex.bandRecall(0.82) >= 0.95);
+        Random random = new Random(7L);
+        List<SimilarityFingerprint> stored = fill(random);
+        NearDuplicateIndex<SimilarityFingerprint> index = index(stored);
+        int expected = 0;
+        int found = 0;
+        for (int i = 0; i < 400; i++) {
+            SimilarityFingerprint query = SimilarityFingerprint.of(mutate(random, stored.get(random.nextInt(stored.size())).key()));
+            SimilarityFingerprint hit = index.findSimilar(query, 0.82, ignored -> true);
+            if (hit != null) {
+                assertTrue(query.isSimilar(hit, 0.82));
+                found++;
+            }
+            if (exactScan(stored, query, 0.82) != null) {
+                expected++;
+            }
+        }
+        assertTrue(found >= expected * 0.95, found + " of " + expected + " matches found");
+    }
+
+    private static void assertMatchesExactScan(double threshold) {
+        Random random = new Random(11L);
+        List<SimilarityFingerprint> stored = fill(random);
+        NearDuplicateIndex<SimilarityFingerprint> index = index(stored);
+        for (int i = 0; i < 400; i++) {
+            SimilarityFingerprint query = SimilarityFingerprint.of(mutate(random, stored.get(random.nextInt(stored.size())).key()));
+            boolean indexed = index.findSimilar(query, threshold, ignored -> true) != null;
+            boolean exact = exactScan(stored, query, threshold) != null;
+            assertEquals(exact, indexed);
+        }
+    }
+
+    private static List<SimilarityFingerprint> fill(Random random) {
+        List<SimilarityFingerprint> stored = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            stored.add(SimilarityFingerprint.of(sentence(random, 4 + random.nextInt(4))));
+        }
+        return stored;
+    }
+
+    private static NearDuplicateIndex<SimilarityFingerprint> index(List<SimilarityFingerprint> stored) {
+        NearDuplicateIndex<SimilarityFingerprint> index = new NearDuplicateIndex<>();
+        for (SimilarityFingerprint fingerprint : stored) {
+            index.put(fingerprint, fingerprint);
+        }
+        return index;
+    }
+
+    private static SimilarityFingerprint exactScan(List<SimilarityFingerprint> stored, SimilarityFingerprint query, double threshold) {
+        for (SimilarityFingerprint fingerprint : stored) {
+            if (query.isSimilar(fingerprint, threshold)) {
+                return fingerprint;
+            }
+        }
+        return null;
+    }
+
+    // Replaces up to two words, so queries range from near copies to unrelated lines
+    private static String mutate(Random random, String key) {
+        String[] words = key.split(" ");
+        int changes = random.nextInt(3);
+        for (int i = 0; i < changes; i++) {
+            words[random.nextInt(words.length)] = WORDS[random.nextInt(WORDS.length)];
+        }
+        return String.join(" ", words);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
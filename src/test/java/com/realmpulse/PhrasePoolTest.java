@@ -0,0 +1,83 @@
+package com.realmpulse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PhrasePoolTest {
+
+    @Test
+    void removalsLeaveEveryOtherPhrasePickable() {
+        PhrasePool pool = new PhrasePool();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            pool.add("need iron " + i);
+            expected.add("need iron " + i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            pool.remove("NEED IRON " + i);
+            expected.remove("need iron " + i);
+        }
+
+        assertEquals(expected, candidates(true, pool));
+    }
+
+    @Test
+    void laterCasingReplacesEarlierOne() {
+        PhrasePool pool = new PhrasePool();
+        pool.add("anyone farming tonight");
+        pool.add("Anyone Farming Tonight");
+
+        assertEquals(Set.of("Anyone Farming Tonight"), candidates(true, pool));
+    }
+
+    @Test
+    void filterAppliesToLaterAddsAndIsReappliedWhenReplaced() {
+        PhrasePool pool = new PhrasePool();
+        pool.add("boss raid later");
+        pool.setFilter((phrase, english) -> !phrase.contains("raid"));
+        pool.add("raid the nether base");
+        pool.add("trade with villager");
+
+        assertEquals(Set.of("trade with villager"), candidates(true, pool));
+
+        pool.setFilter((phrase, english) -> true);
+
+        assertEquals(Set.of("boss raid later", "raid the nether base", "trade with villager"), candidates(true, pool));
+    }
+
+    @Test
+    void replaceAllSwapsPhrasesAndFilterTogether() {
+        PhrasePool pool = new PhrasePool();
+        pool.add("old phrase stays out");
+        pool.replaceAll(List.of("boss raid later", "trade with villager", "Trade With Villager"),
+            (phrase, english) -> !phrase.contains("raid"));
+
+        assertEquals(Set.of("Trade With Villager"), candidates(true, pool));
+    }
+
+    @Test
+    void picksOnlyTheRequestedLanguageAcrossPools() {
+        PhrasePool first = new PhrasePool();
+        PhrasePool second = new PhrasePool();
+        first.replaceAll(List.of("gear up for the boss", "\u4eca\u665a\u4e00\u8d77\u5237\u526f\u672c"));
+        second.add("\u6709\u4eba\u5728\u7ebf\u5417");
+
+        assertEquals(Set.of("\u4eca\u665a\u4e00\u8d77\u5237\u526f\u672c", "\u6709\u4eba\u5728\u7ebf\u5417"), candidates(false, first, null, second));
+        assertEquals("gear up for the boss", PhrasePool.pick(true, phrase -> true, first, null, second));
+    }
+
+    // Rejects every candidate, so pick walks the whole bucket once
+    private static Set<String> candidates(boolean english, PhrasePool... pools) {
+        Set<String> seen = new HashSet<>();
+        assertEquals("", PhrasePool.pick(english, phrase -> {
+            assertTrue(seen.add(phrase), "picked twice: " + phrase);
+            return false;
+        }, pools));
+        return seen;
+    }
+}
@@ -0,0 +1,75 @@
+package com.realmpulse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RealmPulseSettingsTest {
+
+    @Test
+    void quotedNumbersAreReadAsNumbers() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("events.reply-chance", "0.5");
+        config.put("ai-dialogue.max-words-en", " 20 ");
+        config.put("events.ghost-followup-chance", "often");
+
+        RealmPulseSettings settings = compile(config, Map.of());
+
+        assertEquals(0.5, settings.events.replyChance);
+        assertEquals(20, settings.aiDialogue.maxWordsEn);
+        assertEquals(0.2, settings.events.ghostFollowupChance);
+        assertEquals(20L, settings.getLong("ai-dialogue.max-words-en", 0L));
+    }
+
+    @Test
+    void listsAndRawValuesFallBackToJarDefaults() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("ai-dialogue.styles-zh", List.of("own style"));
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("ai-dialogue.styles-en", List.of("brief teammate", "joker"));
+        defaults.put("ai-dialogue.styles-zh", List.of("default style"));
+        defaults.put("tab.complete-commands", List.of("tpa"));
+
+        RealmPulseSettings settings = compile(config, defaults);
+
+        assertEquals(List.of("brief teammate", "joker"), settings.aiDialogue.stylesEn);
+        assertEquals(List.of("own style"), settings.aiDialogue.stylesZh);
+        assertEquals(List.of("tpa"), settings.get("tab.complete-commands"));
+        assertFalse(settings.contains("tab.complete-commands"));
+    }
+
+    @Test
+    void legacyPathOnlyCountsWhenCurrentOneIsUnset() {
+        Map<String, Object> legacyOnly = new HashMap<>();
+        legacyOnly.put("events.english-dialogue-chance", 0.4);
+        Map<String, Object> both = new HashMap<>(legacyOnly);
+        both.put("events.group-dialogue-chance", 0.1);
+
+        assertEquals(0.4, compile(legacyOnly, Map.of()).events.groupDialogueChanceEn);
+        assertEquals(0.1, compile(both, Map.of()).events.groupDialogueChanceZh);
+    }
+
+    @Test
+    void typedFieldsCarryTheirClamps() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("events.idle-chat-ai-chance", 3.0);
+        config.put("ai-dialogue.idle-pool.low-water", 10);
+        config.put("ai-dialogue.idle-pool.high-water", 5);
+        config.put("chat.language", " English ");
+
+        RealmPulseSettings settings = compile(config, Map.of());
+
+        assertEquals(1.0, settings.events.idleChatAiChance);
+        assertEquals(11, settings.aiDialogue.idlePool.highWater);
+        assertTrue(settings.chat.english);
+    }
+
+    private static RealmPulseSettings compile(Map<String, Object> config, Map<String, Object> defaults) {
+        return RealmPulseSettings.compile(config, defaults, Map.of());
+    }
+}